@@ -0,0 +1,87 @@
+import java.util.Random;
+
+/*
+ Drives 1, 2, 4 and 8 receiver types through the same call site for each dispatcher in
+ 02_Datatypes_And_Variables/AnimalDispatch.java and reports ns per call, for both the
+ sound() rows (dispatch.*) and the eat() rows (eat.*). The batch.typeIdTable rows run the
+ batch dispatcher, which counts its calls in Metrics, with Metrics disabled and enabled.
+
+ Run:
+   javac -d out Bench.java ../02_Datatypes_And_Variables/AnimalDispatch.java ../02_Datatypes_And_Variables/Metrics.java AnimalDispatchBenchmark.java
+   java -cp out AnimalDispatchBenchmark --quick
+   java -cp out AnimalDispatchBenchmark --types=4      (one type count per JVM, for clean profiles)
+
+ The JIT remembers which classes a call site has seen for the life of the JVM, so the
+ counts run in increasing order: running 8 first would leave the site megamorphic for
+ the 1-type run too. Passing --types=N measures a single count in a fresh JVM, which
+ is what a JMH fork would do.
+*/
+public class AnimalDispatchBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("animaldispatch", args);
+        int calls = bench.sizes("calls", 1 << 16)[0];
+        for (int types : bench.sizes("types", 1, 2, 4, 8)) {
+            AnimalDispatch.Species[] animals = new AnimalDispatch.Species[calls];
+            Random random = new Random(42);
+            for (int i = 0; i < calls; i++) {
+                animals[i] = AnimalDispatch.create(random.nextInt(types));
+            }
+            String n = "types=" + types;
+            bench.run("dispatch.virtual", n, calls, () -> {
+                long length = 0;
+                for (AnimalDispatch.Species animal : animals) {
+                    length += AnimalDispatch.virtual(animal).length();
+                }
+                return length;
+            });
+            bench.run("dispatch.patternSwitch", n, calls, () -> {
+                long length = 0;
+                for (AnimalDispatch.Species animal : animals) {
+                    length += AnimalDispatch.patternSwitch(animal).length();
+                }
+                return length;
+            });
+            bench.run("dispatch.typeIdTable", n, calls, () -> {
+                long length = 0;
+                for (AnimalDispatch.Species animal : animals) {
+                    length += AnimalDispatch.typeIdTable(animal).length();
+                }
+                return length;
+            });
+            bench.run("eat.virtual", n, calls, () -> {
+                long length = 0;
+                for (AnimalDispatch.Species animal : animals) {
+                    length += AnimalDispatch.virtualEat(animal).length();
+                }
+                return length;
+            });
+            bench.run("eat.patternSwitch", n, calls, () -> {
+                long length = 0;
+                for (AnimalDispatch.Species animal : animals) {
+                    length += AnimalDispatch.patternSwitchEat(animal).length();
+                }
+                return length;
+            });
+            bench.run("eat.typeIdTable", n, calls, () -> {
+                long length = 0;
+                for (AnimalDispatch.Species animal : animals) {
+                    length += AnimalDispatch.typeIdTableEat(animal).length();
+                }
+                return length;
+            });
+            String[] sounds = new String[calls];
+            for (boolean on : new boolean[] { false, true }) {
+                if (on) {
+                    Metrics.enable();
+                }
+                bench.run("batch.typeIdTable", n + (on ? ",metrics=on" : ",metrics=off"), calls, () -> {
+                    AnimalDispatch.typeIdTable(animals, sounds);
+                    return sounds[calls - 1].length();
+                });
+                Metrics.disable();
+            }
+        }
+        bench.finish();
+    }
+}
@@ -0,0 +1,193 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/*
+ A tiny JMH-style benchmark harness with no dependencies.
+
+ Every benchmark in this folder follows the same shape:
+   1. Build a Bench with the suite name and the command-line args.
+   2. Call run(...) once per measured operation. The body returns a long, which
+      is consumed so the JIT cannot throw the work away (dead-code elimination).
+   3. Call finish() to print a table and write <suite>.csv / <suite>.json.
+
+ Common options (all optional):
+   --warmup=5        warmup iterations per benchmark
+   --iterations=5    measured iterations per benchmark
+   --time=200        milliseconds per iteration
+   --filter=text     only run benchmarks whose name contains the text
+   --out=dir         where the CSV/JSON results go (default: bench-results)
+   --quick           1 warmup, 3 iterations of 50 ms — good for a smoke run
+ Any other --key=value pair can be read by the benchmark with option()/sizes().
+*/
+public final class Bench {
+
+    /** One measured row: ns/op, throughput, allocation per op and spread. */
+    record Result(String suite, String name, String param, double nsPerOp, double errorNs,
+                  double opsPerSec, double bytesPerOp) {}
+
+    // Written by every run so the JIT has to keep the benchmark result alive
+    static volatile long blackhole;
+
+    private final String suite;
+    private final String[] args;
+    private final int warmups;
+    private final int iterations;
+    private final long iterationNanos;
+    private final String filter;
+    private final Path outDir;
+    private final List<Result> results = new ArrayList<>();
+
+    public Bench(String suite, String[] args) {
+        this.suite = suite;
+        this.args = args;
+        boolean quick = hasFlag("quick");
+        this.warmups = Integer.parseInt(option("warmup", quick ? "1" : "5"));
+        this.iterations = Integer.parseInt(option("iterations", quick ? "3" : "5"));
+        this.iterationNanos = Long.parseLong(option("time", quick ? "50" : "200")) * 1_000_000L;
+        this.filter = option("filter", "");
+        this.outDir = Path.of(option("out", "bench-results"));
+        System.out.printf(Locale.ROOT, "# %s: %d warmup, %d x %d ms iterations, %d cpus, %s%n",
+                suite, warmups, iterations, iterationNanos / 1_000_000,
+                Runtime.getRuntime().availableProcessors(), System.getProperty("java.vm.version"));
+    }
+
+    /** Reads a --key=value option, or returns the default. */
+    public String option(String key, String defaultValue) {
+        String prefix = "--" + key + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    /** True when --key was passed on its own. */
+    public boolean hasFlag(String key) {
+        for (String arg : args) {
+            if (arg.equals("--" + key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Reads a comma-separated list of sizes such as --sizes=1000,1000000. */
+    public int[] sizes(String key, int... defaults) {
+        String value = option(key, "");
+        if (value.isEmpty()) {
+            return defaults;
+        }
+        String[] parts = value.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        }
+        return sizes;
+    }
+
+    public Bench run(String name, LongSupplier body) {
+        return run(name, "", 1, body);
+    }
+
+    /**
+     Measures body. opsPerCall says how many logical operations a single call performs
+     (for example the array length of a scan) so the report is per element, not per call.
+    */
+    public Bench run(String name, String param, long opsPerCall, LongSupplier body) {
+        if (!filter.isEmpty() && !name.contains(filter)) {
+            return this;
+        }
+        for (int i = 0; i < warmups; i++) {
+            iteration(body);
+        }
+        double[] nsPerOp = new double[iterations];
+        double bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long[] timing = iteration(body);
+            long allocated = allocatedBytes() - allocatedBefore;
+            long ops = timing[1] * opsPerCall;
+            nsPerOp[i] = (double) timing[0] / ops;
+            bytes += (double) allocated / ops;
+        }
+        double mean = 0;
+        for (double v : nsPerOp) {
+            mean += v;
+        }
+        mean /= iterations;
+        double variance = 0;
+        for (double v : nsPerOp) {
+            variance += (v - mean) * (v - mean);
+        }
+        double error = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+        Result result = new Result(suite, name, param, mean, error, 1e9 / mean, bytes / iterations);
+        results.add(result);
+        System.out.printf(Locale.ROOT, "%-44s %-12s %12.3f +- %-9.3f ns/op %14.0f ops/s %10.2f B/op%n",
+                name, param, mean, error, result.opsPerSec(), result.bytesPerOp());
+        return this;
+    }
+
+    /** Runs body until the iteration time is used up; returns {elapsedNanos, calls}. */
+    private long[] iteration(LongSupplier body) {
+        long calls = 0;
+        long acc = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            acc += body.getAsLong();
+            calls++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        blackhole = acc;
+        return new long[] { elapsed, calls };
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean hotspot) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    public List<Result> results() {
+        return results;
+    }
+
+    /** Writes <suite>.csv and <suite>.json so two runs can be diffed for regressions. */
+    public void finish() {
+        try {
+            Files.createDirectories(outDir);
+            try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outDir.resolve(suite + ".csv")))) {
+                csv.println("suite,benchmark,param,ns_per_op,error_ns,ops_per_sec,bytes_per_op");
+                for (Result r : results) {
+                    csv.printf(Locale.ROOT, "%s,%s,%s,%.4f,%.4f,%.1f,%.3f%n", r.suite(), r.name(), r.param(),
+                            r.nsPerOp(), r.errorNs(), r.opsPerSec(), r.bytesPerOp());
+                }
+            }
+            try (PrintWriter json = new PrintWriter(Files.newBufferedWriter(outDir.resolve(suite + ".json")))) {
+                json.println("[");
+                for (int i = 0; i < results.size(); i++) {
+                    Result r = results.get(i);
+                    json.printf(Locale.ROOT,
+                            "  {\"suite\": \"%s\", \"benchmark\": \"%s\", \"param\": \"%s\", \"nsPerOp\": %.4f, "
+                                    + "\"errorNs\": %.4f, \"opsPerSec\": %.1f, \"bytesPerOp\": %.3f}%s%n",
+                            r.suite(), r.name(), r.param(), r.nsPerOp(), r.errorNs(), r.opsPerSec(),
+                            r.bytesPerOp(), i + 1 < results.size() ? "," : "");
+                }
+                json.println("]");
+            }
+            System.out.println("# results written to " + outDir.resolve(suite + ".csv") + " and .json");
+        } catch (IOException e) {
+            System.err.println("Could not write benchmark results: " + e.getMessage());
+        }
+    }
+}
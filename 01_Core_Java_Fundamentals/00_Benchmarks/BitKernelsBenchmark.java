@@ -0,0 +1,171 @@
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ Bulk bitset operations: java.util.BitSet, BitKernels' SCALAR and VECTOR paths
+ (03_Operators/BitKernels.java) and the compressed SparseBitmap (03_Operators/SparseBitmap.java),
+ on two random sets of 16M possible values at several densities.
+
+ Run:
+   javac --add-modules jdk.incubator.vector -d out Bench.java ../03_Operators/BitKernels.java ../03_Operators/SparseBitmap.java BitKernelsBenchmark.java
+   java --add-modules jdk.incubator.vector -cp out BitKernelsBenchmark
+   java --add-modules jdk.incubator.vector -cp out BitKernelsBenchmark --quick --densities=0.001,0.5
+
+ Options:
+   --bits=16777216                 size of the value range
+   --densities=0.0001,0.01,0.1,0.5 fraction of values present in each set
+
+ ns/op is per 64-bit word of the range for the bulk operations (and, andCardinality,
+ cardinality), per set bit for iteration, and per query for rank and select. BitSet has
+ no out = a & b, so its "and" copies a into a scratch set and then ANDs b into it.
+*/
+public class BitKernelsBenchmark {
+
+    static final int QUERIES = 1024;
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("bitkernels", args);
+        int bits = Integer.parseInt(bench.option("bits", String.valueOf(1 << 24)));
+        String[] densities = bench.option("densities", "0.0001,0.01,0.1,0.5").split(",");
+
+        for (String densityText : densities) {
+            double density = Double.parseDouble(densityText);
+            String n = "d=" + densityText;
+            Random random = new Random(42);
+            long[] a = BitKernels.create(bits);
+            long[] b = BitKernels.create(bits);
+            BitSet setA = new BitSet(bits);
+            BitSet setB = new BitSet(bits);
+            SparseBitmap sparseA = new SparseBitmap();
+            SparseBitmap sparseB = new SparseBitmap();
+            for (int i = 0; i < bits; i++) {
+                if (random.nextDouble() < density) {
+                    BitKernels.set(a, i);
+                    setA.set(i);
+                    sparseA.add(i);
+                }
+                if (random.nextDouble() < density) {
+                    BitKernels.set(b, i);
+                    setB.set(i);
+                    sparseB.add(i);
+                }
+            }
+            int words = a.length;
+            long setBits = Math.max(1, setA.cardinality());
+            System.out.printf(Locale.ROOT, "# density %s: %,d values set; BitSet %,d bytes, long[] %,d bytes, SparseBitmap %,d bytes%n",
+                    densityText, setA.cardinality(), setA.size() / 8, 8L * words, sparseA.bytes());
+
+            long[] out = new long[words];
+            BitSet scratch = new BitSet(bits);
+            bench.run("and.BitSet", n, words, () -> {
+                scratch.clear();
+                scratch.or(setA);
+                scratch.and(setB);
+                return scratch.length();
+            });
+            for (BitKernels.Mode mode : BitKernels.Mode.values()) {
+                bench.run("and.kernels." + mode.name().toLowerCase(), n, words, () -> {
+                    BitKernels.and(a, b, out, mode);
+                    return out[words - 1];
+                });
+            }
+            bench.run("and.sparse", n, words, () -> sparseA.and(sparseB).cardinality());
+
+            bench.run("andCardinality.BitSet", n, words, () -> {
+                scratch.clear();
+                scratch.or(setA);
+                scratch.and(setB);
+                return scratch.cardinality();
+            });
+            for (BitKernels.Mode mode : BitKernels.Mode.values()) {
+                bench.run("andCardinality.kernels." + mode.name().toLowerCase(), n, words,
+                        () -> BitKernels.andCardinality(a, b, mode));
+            }
+            bench.run("andCardinality.sparse", n, words, () -> sparseA.andCardinality(sparseB));
+
+            bench.run("or.BitSet", n, words, () -> {
+                scratch.clear();
+                scratch.or(setA);
+                scratch.or(setB);
+                return scratch.length();
+            });
+            bench.run("or.kernels.vector", n, words, () -> {
+                BitKernels.or(a, b, out, BitKernels.Mode.VECTOR);
+                return out[words - 1];
+            });
+            bench.run("or.sparse", n, words, () -> sparseA.or(sparseB).cardinality());
+
+            bench.run("cardinality.BitSet", n, words, setA::cardinality);
+            for (BitKernels.Mode mode : BitKernels.Mode.values()) {
+                bench.run("cardinality.kernels." + mode.name().toLowerCase(), n, words,
+                        () -> BitKernels.cardinality(a, mode));
+            }
+            bench.run("cardinality.sparse", n, words, sparseA::cardinality);
+
+            bench.run("iterate.BitSet", n, setBits, () -> {
+                long sum = 0;
+                for (int i = setA.nextSetBit(0); i >= 0; i = setA.nextSetBit(i + 1)) {
+                    sum += i;
+                }
+                return sum;
+            });
+            for (BitKernels.Mode mode : BitKernels.Mode.values()) {
+                bench.run("iterate.kernels.nextSetBit." + mode.name().toLowerCase(), n, setBits, () -> {
+                    long sum = 0;
+                    for (int i = BitKernels.nextSetBit(a, 0, mode); i >= 0; i = BitKernels.nextSetBit(a, i + 1, mode)) {
+                        sum += i;
+                    }
+                    return sum;
+                });
+            }
+            bench.run("iterate.kernels.forEach", n, setBits, () -> {
+                long[] sum = new long[1];
+                BitKernels.forEach(a, i -> sum[0] += i);
+                return sum[0];
+            });
+            bench.run("iterate.sparse", n, setBits, () -> {
+                long[] sum = new long[1];
+                sparseA.forEach(i -> sum[0] += i);
+                return sum[0];
+            });
+
+            int[] positions = random.ints(QUERIES, 0, bits).toArray();
+            int[] ranks = random.ints(QUERIES, 0, (int) setBits).toArray();
+            for (BitKernels.Mode mode : BitKernels.Mode.values()) {
+                bench.run("rank.kernels." + mode.name().toLowerCase(), n, QUERIES, () -> {
+                    long sum = 0;
+                    for (int position : positions) {
+                        sum += BitKernels.rank(a, position, mode);
+                    }
+                    return sum;
+                });
+            }
+            BitKernels.RankSelect index = new BitKernels.RankSelect(a);
+            bench.run("rank.rankSelect", n, QUERIES, () -> {
+                long sum = 0;
+                for (int position : positions) {
+                    sum += index.rank(position);
+                }
+                return sum;
+            });
+            for (BitKernels.Mode mode : BitKernels.Mode.values()) {
+                bench.run("select.kernels." + mode.name().toLowerCase(), n, QUERIES, () -> {
+                    long sum = 0;
+                    for (int k : ranks) {
+                        sum += BitKernels.select(a, k, mode);
+                    }
+                    return sum;
+                });
+            }
+            bench.run("select.rankSelect", n, QUERIES, () -> {
+                long sum = 0;
+                for (int k : ranks) {
+                    sum += index.select(k);
+                }
+                return sum;
+            });
+        }
+        bench.finish();
+    }
+}
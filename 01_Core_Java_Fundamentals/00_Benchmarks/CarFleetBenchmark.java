@@ -0,0 +1,105 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/*
+ Memory footprint and scan speed of CarFleet (02_Datatypes_And_Variables/CarFleet.java)
+ against ClassAndObjectDemo's one-object-per-car layout.
+
+ Run:
+   javac -d out Bench.java ../02_Datatypes_And_Variables/ClassAndObjectDemo.java ../02_Datatypes_And_Variables/CarFleet.java ../02_Datatypes_And_Variables/Metrics.java CarFleetBenchmark.java
+   java -Xmx2g -cp out CarFleetBenchmark --cars=10000000
+
+ The footprint report measures live heap after a full GC, before and after building each
+ layout, which is what a heap histogram would show for the new objects.
+*/
+public class CarFleetBenchmark {
+
+    static final String[] BRANDS = { "Toyota", "Hyundai", "Tata", "Mahindra", "Honda", "Kia", "Maruti", "Skoda" };
+    static final String[] MODELS = { "Fortuner", "Creta", "Nexon", "Thar", "City", "Seltos", "Swift", "Kushaq",
+            "Innova", "Venue", "Harrier", "XUV700", "Amaze", "Sonet", "Baleno", "Slavia" };
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("carfleet", args);
+        int cars = bench.sizes("cars", 1_000_000)[0];
+        String n = "cars=" + cars;
+
+        long before = liveHeap();
+        Car[] objects = new Car[cars];
+        Random random = new Random(42);
+        for (int i = 0; i < cars; i++) {
+            Car car = new Car();
+            car.brand = BRANDS[random.nextInt(BRANDS.length)];
+            car.model = MODELS[random.nextInt(MODELS.length)];
+            car.year = 1990 + random.nextInt(35);
+            objects[i] = car;
+        }
+        long objectBytes = liveHeap() - before;
+
+        before = liveHeap();
+        CarFleet fleet = new CarFleet(cars);
+        for (Car car : objects) {
+            fleet.add(car);
+        }
+        long fleetBytes = liveHeap() - before;
+
+        System.out.printf("# footprint for %,d cars%n", cars);
+        System.out.printf("#   Car[] + Car objects : %,14d bytes (%.1f bytes/car)%n", objectBytes, (double) objectBytes / cars);
+        System.out.printf("#   CarFleet columns    : %,14d bytes (%.1f bytes/car)%n", fleetBytes, (double) fleetBytes / cars);
+        System.out.printf("#   saving              : %.1fx%n", (double) objectBytes / Math.max(1, fleetBytes));
+
+        bench.run("scan.objects.countToyotaSince2015", n, cars, () -> {
+            int count = 0;
+            for (Car car : objects) {
+                if (car.brand.equals("Toyota") && car.year >= 2015) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        bench.run("scan.fleet.countToyotaSince2015", n, cars, () -> fleet.countByBrandSince("Toyota", 2015));
+        bench.run("scan.objects.sumYears", n, cars, () -> {
+            long years = 0;
+            for (Car car : objects) {
+                years += car.year;
+            }
+            return years;
+        });
+        CarFleet.CarView view = fleet.view();
+        bench.run("scan.fleetView.sumYears", n, cars, () -> {
+            long years = 0;
+            for (int row = 0; row < cars; row++) {
+                years += view.moveTo(row).year();
+            }
+            return years;
+        });
+
+        // Printing to a stream that discards bytes, to compare the cost of building each line
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        int lines = Math.min(cars, 100_000);
+        bench.run("display.objectConcat", n, lines, () -> {
+            for (int i = 0; i < lines; i++) {
+                Car car = objects[i];
+                discard.println("Car: " + car.brand + " " + car.model + " (" + car.year + ")");
+            }
+            return lines;
+        });
+        bench.run("display.fleetView", n, lines, () -> {
+            for (int row = 0; row < lines; row++) {
+                view.moveTo(row).displayDetails(discard);
+            }
+            return lines;
+        });
+
+        bench.finish();
+        Bench.blackhole = objects.length + fleet.size();
+    }
+
+    static long liveHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,112 @@
+import java.math.BigInteger;
+import java.util.Random;
+
+/*
+ Compares overflow-checked bulk arithmetic (02_Datatypes_And_Variables/CheckedMath.java)
+ with plain wrapping loops and with Math.addExact / Math.multiplyExact on every element.
+
+ Run:
+   javac -d out Bench.java ../02_Datatypes_And_Variables/CheckedMath.java CheckedMathBenchmark.java
+   java -cp out CheckedMathBenchmark
+   java -cp out CheckedMathBenchmark --quick --sizes=1000,1000000
+
+ The "fits" inputs never overflow, so every method returns the same number and the
+ difference is the price of checking. The "overflows" input goes past Long.MAX_VALUE;
+ there the comparison is widening per block against a BigInteger add per element.
+*/
+public class CheckedMathBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("checkedmath", args);
+        for (int size : bench.sizes("sizes", 1_000, 1_000_000, 10_000_000)) {
+            Random random = new Random(42);
+            int[] ints = new int[size];
+            long[] longs = new long[size];
+            long[] huge = new long[size];
+            long[] factors = new long[size];
+            for (int i = 0; i < size; i++) {
+                ints[i] = random.nextInt(2_000) - 1_000;
+                longs[i] = random.nextLong() >> 24;
+                huge[i] = random.nextLong(Long.MAX_VALUE / 2);
+                // Mostly ±1 with a few 2s: the product stays small however long the array is
+                factors[i] = random.nextInt(size) < 40 ? 2 : (random.nextBoolean() ? 1 : -1);
+            }
+            String n = "n=" + size;
+
+            bench.run("intSum.unchecked", n, size, () -> {
+                int sum = 0;
+                for (int value : ints) {
+                    sum += value;
+                }
+                return sum;
+            });
+            bench.run("intSum.addExactEach", n, size, () -> {
+                int sum = 0;
+                for (int value : ints) {
+                    sum = Math.addExact(sum, value);
+                }
+                return sum;
+            });
+            bench.run("intSum.checkedMath", n, size, () -> CheckedMath.sumExact(ints));
+
+            bench.run("longSum.unchecked", n, size, () -> {
+                long sum = 0;
+                for (long value : longs) {
+                    sum += value;
+                }
+                return sum;
+            });
+            bench.run("longSum.addExactEach", n, size, () -> {
+                long sum = 0;
+                for (long value : longs) {
+                    sum = Math.addExact(sum, value);
+                }
+                return sum;
+            });
+            CheckedMath.LongSum longSum = new CheckedMath.LongSum();
+            bench.run("longSum.checkedMath", n, size, () -> longSum.reset().add(longs).longValue());
+
+            bench.run("overflows.bigIntegerEach", n, size, () -> {
+                BigInteger sum = BigInteger.ZERO;
+                for (long value : huge) {
+                    sum = sum.add(BigInteger.valueOf(value));
+                }
+                return sum.bitLength();
+            });
+            bench.run("overflows.addExactThenWiden", n, size, () -> {
+                long sum = 0;
+                BigInteger wide = null;
+                for (long value : huge) {
+                    if (wide != null) {
+                        wide = wide.add(BigInteger.valueOf(value));
+                        continue;
+                    }
+                    try {
+                        sum = Math.addExact(sum, value);
+                    } catch (ArithmeticException e) {
+                        wide = BigInteger.valueOf(sum).add(BigInteger.valueOf(value));
+                    }
+                }
+                return wide != null ? wide.bitLength() : sum;
+            });
+            bench.run("overflows.checkedMath", n, size, () -> longSum.reset().add(huge).toBigInteger().bitLength());
+
+            bench.run("product.unchecked", n, size, () -> {
+                long product = 1;
+                for (long value : factors) {
+                    product *= value;
+                }
+                return product;
+            });
+            bench.run("product.multiplyExactEach", n, size, () -> {
+                long product = 1;
+                for (long value : factors) {
+                    product = Math.multiplyExact(product, value);
+                }
+                return product;
+            });
+            bench.run("product.checkedMath", n, size, () -> CheckedMath.productExact(factors));
+        }
+        bench.finish();
+    }
+}
@@ -0,0 +1,262 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ Benchmarks the core computation of every demo in 02_Datatypes_And_Variables.
+
+ Run:
+   javac -d out Bench.java DatatypesBenchmark.java
+   java -cp out DatatypesBenchmark --quick
+   java -cp out DatatypesBenchmark --sizes=1000,1000000 --filter=boxed
+
+ Each demo only prints a handful of values, so every benchmark below runs the same
+ operation over an array of --sizes elements (default 1000 and 1000000) and reports
+ the cost per element.
+*/
+public class DatatypesBenchmark {
+
+    // EnumDemo's Day, nested so it does not clash with the demo's top-level enum
+    enum Day { MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY }
+
+    // ClassAndObjectDemo's Car, without the println
+    static final class Car {
+        String brand;
+        String model;
+        int year;
+    }
+
+    // InterfaceDemo's Animal, returning a value instead of printing it
+    interface Animal { int sound(); }
+    static final class Dog implements Animal { public int sound() { return 1; } }
+    static final class Cat implements Animal { public int sound() { return 2; } }
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("datatypes", args);
+        for (int size : bench.sizes("sizes", 1_000, 1_000_000)) {
+            benchmark(bench, size);
+        }
+        bench.finish();
+    }
+
+    static void benchmark(Bench bench, int size) {
+        String n = "n=" + size;
+        Random random = new Random(42);
+
+        // ArrayDataTypeDemo: highest score scan
+        int[] scores = new int[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = random.nextInt(100);
+        }
+        bench.run("array.maxScan", n, size, () -> {
+            int max = scores[0];
+            for (int i = 1; i < scores.length; i++) {
+                if (scores[i] > max) {
+                    max = scores[i];
+                }
+            }
+            return max;
+        });
+
+        // Boxed vs primitive: the same sum over int[] and List<Integer>
+        List<Integer> boxedScores = new ArrayList<>(size);
+        for (int score : scores) {
+            boxedScores.add(score);
+        }
+        bench.run("boxed.sumPrimitive", n, size, () -> {
+            long sum = 0;
+            for (int score : scores) {
+                sum += score;
+            }
+            return sum;
+        });
+        bench.run("boxed.sumBoxed", n, size, () -> {
+            long sum = 0;
+            for (Integer score : boxedScores) {
+                sum += score;
+            }
+            return sum;
+        });
+        bench.run("boxed.accumulateInInteger", n, size, () -> {
+            Integer sum = 0; // every += unboxes and boxes again
+            for (int score : scores) {
+                sum += score;
+            }
+            return sum;
+        });
+
+        // BooleanDataTypeDemo: age >= 18 eligibility check
+        int[] ages = new int[size];
+        for (int i = 0; i < size; i++) {
+            ages[i] = random.nextInt(90);
+        }
+        bench.run("boolean.eligibleToVote", n, size, () -> {
+            long eligible = 0;
+            for (int age : ages) {
+                boolean isEligibleToVote = age >= 18;
+                if (isEligibleToVote) {
+                    eligible++;
+                }
+            }
+            return eligible;
+        });
+
+        // Byte/Short/Int/LongDataTypeDemo: wrapping ++ at each width
+        bench.run("overflow.byteIncrement", n, size, () -> {
+            byte counter = 0;
+            for (int i = 0; i < size; i++) {
+                counter++;
+            }
+            return counter;
+        });
+        bench.run("overflow.shortIncrement", n, size, () -> {
+            short counter = 0;
+            for (int i = 0; i < size; i++) {
+                counter++;
+            }
+            return counter;
+        });
+        bench.run("overflow.intSum", n, size, () -> {
+            int sum = Integer.MAX_VALUE - size; // wraps part way through
+            for (int score : scores) {
+                sum += score;
+            }
+            return sum;
+        });
+        bench.run("overflow.longSum", n, size, () -> {
+            long sum = Long.MAX_VALUE - size;
+            for (int score : scores) {
+                sum += score;
+            }
+            return sum;
+        });
+        bench.run("overflow.intAddExact", n, size, () -> {
+            int sum = 0;
+            for (int score : scores) {
+                sum = Math.addExact(sum, score);
+            }
+            return sum;
+        });
+
+        // CharDataTypeDemo: char arithmetic over seat labels
+        char[] labels = new char[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = (char) ('A' + random.nextInt(26));
+        }
+        bench.run("char.labelToRow", n, size, () -> {
+            long rows = 0;
+            for (char label : labels) {
+                rows += label - 'A';
+            }
+            return rows;
+        });
+
+        // ClassAndObjectDemo: reading fields across many Car objects
+        Car[] cars = new Car[size];
+        for (int i = 0; i < size; i++) {
+            cars[i] = new Car();
+            cars[i].brand = i % 2 == 0 ? "Toyota" : "Hyundai";
+            cars[i].model = i % 2 == 0 ? "Fortuner" : "Creta";
+            cars[i].year = 2000 + random.nextInt(25);
+        }
+        bench.run("object.carYearScan", n, size, () -> {
+            long years = 0;
+            for (Car car : cars) {
+                years += car.year;
+            }
+            return years;
+        });
+
+        // DoubleDataTypeDemo and FloatDataTypeDemo: gravity formula at both widths
+        double[] distances = new double[size];
+        float[] distancesF = new float[size];
+        for (int i = 0; i < size; i++) {
+            distances[i] = 3.0e8 + random.nextDouble() * 1.0e8;
+            distancesF[i] = (float) distances[i];
+        }
+        bench.run("floating.forceDouble", n, size, () -> {
+            double G = 6.67430e-11, m1 = 5.972e24, m2 = 7.348e22;
+            double total = 0;
+            for (double r : distances) {
+                total += G * (m1 * m2) / (r * r);
+            }
+            return Double.doubleToRawLongBits(total);
+        });
+        bench.run("floating.forceFloat", n, size, () -> {
+            // m1 * m2 overflows float, so scale the masses down by 1e20 each
+            float G = 6.67430e-11f, m1 = 5.972e4f, m2 = 7.348e2f;
+            float total = 0;
+            for (float r : distancesF) {
+                total += G * (m1 * m2) / (r * r);
+            }
+            return Float.floatToRawIntBits(total);
+        });
+
+        // EnumDemo: switch on Day
+        Day[] days = new Day[size];
+        Day[] values = Day.values();
+        for (int i = 0; i < size; i++) {
+            days[i] = values[random.nextInt(values.length)];
+        }
+        bench.run("enum.switch", n, size, () -> {
+            long score = 0;
+            for (Day today : days) {
+                switch (today) {
+                    case MONDAY:
+                        score += 1;
+                        break;
+                    case SATURDAY:
+                    case SUNDAY:
+                        score += 2;
+                        break;
+                    default:
+                        score += 3;
+                }
+            }
+            return score;
+        });
+        bench.run("enum.valuesLoop", n, size / 7 + 1, () -> {
+            long ordinals = 0;
+            for (int i = 0; i < size / 7 + 1; i++) {
+                for (Day d : Day.values()) { // values() clones the array on every call
+                    ordinals += d.ordinal();
+                }
+            }
+            return ordinals;
+        });
+
+        // InterfaceDemo: calls through the Animal interface
+        Animal[] animals = new Animal[size];
+        for (int i = 0; i < size; i++) {
+            animals[i] = random.nextBoolean() ? new Dog() : new Cat();
+        }
+        bench.run("interface.bimorphicCall", n, size, () -> {
+            long sounds = 0;
+            for (Animal animal : animals) {
+                sounds += animal.sound();
+            }
+            return sounds;
+        });
+
+        // StringDataTypeDemo: building a profile line with + and with a reused StringBuilder
+        int profiles = Math.min(size, 10_000);
+        bench.run("string.concat", n, profiles, () -> {
+            long length = 0;
+            for (int i = 0; i < profiles; i++) {
+                String fullProfile = "Aryan Sharma" + " from " + "Delhi" + " - " + i;
+                length += fullProfile.length();
+            }
+            return length;
+        });
+        StringBuilder builder = new StringBuilder(64);
+        bench.run("string.reusedBuilder", n, profiles, () -> {
+            long length = 0;
+            for (int i = 0; i < profiles; i++) {
+                builder.setLength(0);
+                builder.append("Aryan Sharma").append(" from ").append("Delhi").append(" - ").append(i);
+                length += builder.length();
+            }
+            return length;
+        });
+    }
+}
@@ -0,0 +1,171 @@
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/*
+ Compares DayTable, DaySet and DayIntMap (02_Datatypes_And_Variables/DayTable.java) against
+ EnumDemo's switch, EnumMap/EnumSet and HashMap/HashSet. lookup.actionTable.batch looks up
+ the whole stream at once, which counts it in Metrics, with Metrics disabled and enabled.
+
+ Run:
+   javac -d out Bench.java ../02_Datatypes_And_Variables/EnumDemo.java ../02_Datatypes_And_Variables/DayTable.java ../02_Datatypes_And_Variables/Metrics.java DayTableBenchmark.java
+   java -cp out DayTableBenchmark --quick
+*/
+public class DayTableBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("daytable", args);
+        int events = bench.sizes("events", 1_000_000)[0];
+        String n = "events=" + events;
+
+        Day[] stream = new Day[events];
+        Random random = new Random(42);
+        for (int i = 0; i < events; i++) {
+            stream[i] = DayTable.byOrdinal(random.nextInt(DayTable.COUNT));
+        }
+
+        // Lookup: message for the day of each event
+        Map<Day, String> enumMap = new EnumMap<>(Day.class);
+        Map<Day, String> hashMap = new HashMap<>();
+        for (Day day : DayTable.DAYS) {
+            enumMap.put(day, DayTable.PLANNER.get(day));
+            hashMap.put(day, DayTable.PLANNER.get(day));
+        }
+        bench.run("lookup.switch", n, events, () -> {
+            long length = 0;
+            for (Day today : stream) {
+                String message;
+                switch (today) {
+                    case MONDAY:
+                        message = "Back to work! 💼";
+                        break;
+                    case SATURDAY:
+                    case SUNDAY:
+                        message = "Weekend vibes! 🎉";
+                        break;
+                    default:
+                        message = "Keep grinding! 🚀";
+                }
+                length += message.length();
+            }
+            return length;
+        });
+        bench.run("lookup.actionTable", n, events, () -> {
+            long length = 0;
+            for (Day today : stream) {
+                length += DayTable.PLANNER.get(today).length();
+            }
+            return length;
+        });
+        String[] messages = new String[events];
+        for (boolean on : new boolean[] { false, true }) {
+            if (on) {
+                Metrics.enable();
+            }
+            bench.run("lookup.actionTable.batch", n + (on ? ",metrics=on" : ",metrics=off"), events, () -> {
+                DayTable.PLANNER.get(stream, messages);
+                return messages[events - 1].length();
+            });
+            Metrics.disable();
+        }
+        bench.run("lookup.enumMap", n, events, () -> {
+            long length = 0;
+            for (Day today : stream) {
+                length += enumMap.get(today).length();
+            }
+            return length;
+        });
+        bench.run("lookup.hashMap", n, events, () -> {
+            long length = 0;
+            for (Day today : stream) {
+                length += hashMap.get(today).length();
+            }
+            return length;
+        });
+
+        // Iteration: walk all days once per event
+        int walks = Math.max(1, events / DayTable.COUNT);
+        bench.run("iterate.valuesClone", n, walks, () -> {
+            long ordinals = 0;
+            for (int i = 0; i < walks; i++) {
+                for (Day d : Day.values()) {
+                    ordinals += d.ordinal() ^ i;
+                }
+            }
+            return ordinals;
+        });
+        bench.run("iterate.cachedValues", n, walks, () -> {
+            long ordinals = 0;
+            for (int i = 0; i < walks; i++) {
+                for (Day d : DayTable.DAYS) {
+                    ordinals += d.ordinal() ^ i;
+                }
+            }
+            return ordinals;
+        });
+
+        // Membership: is the event's day in a set of days?
+        byte weekendMask = DaySet.WEEKEND;
+        Set<Day> enumSet = EnumSet.of(Day.SATURDAY, Day.SUNDAY);
+        Set<Day> hashSet = new HashSet<>(enumSet);
+        bench.run("contains.daySet", n, events, () -> {
+            long hits = 0;
+            for (Day today : stream) {
+                if (DaySet.contains(weekendMask, today)) {
+                    hits++;
+                }
+            }
+            return hits;
+        });
+        bench.run("contains.enumSet", n, events, () -> {
+            long hits = 0;
+            for (Day today : stream) {
+                if (enumSet.contains(today)) {
+                    hits++;
+                }
+            }
+            return hits;
+        });
+        bench.run("contains.hashSet", n, events, () -> {
+            long hits = 0;
+            for (Day today : stream) {
+                if (hashSet.contains(today)) {
+                    hits++;
+                }
+            }
+            return hits;
+        });
+
+        // Counting: per-day counters
+        DayIntMap counts = new DayIntMap();
+        Map<Day, Integer> boxedCounts = new EnumMap<>(Day.class);
+        Map<Day, Integer> hashCounts = new HashMap<>();
+        bench.run("count.dayIntMap", n, events, () -> {
+            counts.clear();
+            for (Day today : stream) {
+                counts.add(today, 1);
+            }
+            return counts.get(Day.MONDAY);
+        });
+        bench.run("count.enumMapMerge", n, events, () -> {
+            boxedCounts.clear();
+            for (Day today : stream) {
+                boxedCounts.merge(today, 1, Integer::sum);
+            }
+            return boxedCounts.get(Day.MONDAY);
+        });
+        bench.run("count.hashMapMerge", n, events, () -> {
+            hashCounts.clear();
+            for (Day today : stream) {
+                hashCounts.merge(today, 1, Integer::sum);
+            }
+            return hashCounts.get(Day.MONDAY);
+        });
+
+        bench.finish();
+    }
+}
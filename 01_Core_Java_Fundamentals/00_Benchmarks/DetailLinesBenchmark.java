@@ -0,0 +1,82 @@
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ Emits Car.displayDetails-style lines ("Car: Toyota Fortuner (2022)") to a file three ways and
+ compares wall-clock time and allocation per line:
+
+   printlnConcat   what the demos do: + concatenation into a PrintStream set up like System.out
+                   (128-byte buffer, flush after every println)
+   sinkPrintStream the same concatenation, but System.out swapped for OutputSink.asPrintStream()
+                   (what OutputSink --run does to an unchanged demo)
+   sinkAppend      OutputSink.append() for every piece, no Strings at all
+
+ Run:
+   javac -d out Bench.java ../04_Input_Output/OutputSink.java DetailLinesBenchmark.java
+   java -cp out DetailLinesBenchmark --quick                 (10M lines per call)
+   java -cp out DetailLinesBenchmark --lines=1000000
+*/
+public class DetailLinesBenchmark {
+
+    static final String[] BRANDS = { "Toyota", "Hyundai", "Tata", "Mahindra" };
+    static final String[] MODELS = { "Fortuner", "Creta", "Nexon", "Thar" };
+
+    public static void main(String[] args) throws IOException {
+        Bench bench = new Bench("detaillines", args);
+        int lines = bench.sizes("lines", 10_000_000)[0];
+        String n = "lines=" + lines;
+        Path file = Files.createTempFile("car-details", ".txt");
+        try {
+            bench.run("printlnConcat", n, lines, () -> {
+                try (PrintStream out = new PrintStream(
+                        new BufferedOutputStream(new FileOutputStream(file.toFile()), 128), true, StandardCharsets.UTF_8)) {
+                    for (int i = 0; i < lines; i++) {
+                        out.println("Car: " + BRANDS[i & 3] + " " + MODELS[i & 3] + " (" + (2000 + (i & 31)) + ")");
+                    }
+                    return fileSize(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            bench.run("sinkPrintStream", n, lines, () -> {
+                try (OutputSink sink = OutputSink.toFile(file); PrintStream out = sink.asPrintStream()) {
+                    for (int i = 0; i < lines; i++) {
+                        out.println("Car: " + BRANDS[i & 3] + " " + MODELS[i & 3] + " (" + (2000 + (i & 31)) + ")");
+                    }
+                    out.flush();
+                    return sink.bytesWritten();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            bench.run("sinkAppend", n, lines, () -> {
+                try (OutputSink out = OutputSink.toFile(file)) {
+                    for (int i = 0; i < lines; i++) {
+                        out.append("Car: ").append(BRANDS[i & 3]).append(' ').append(MODELS[i & 3])
+                                .append(" (").append(2000 + (i & 31)).append(')').newLine();
+                    }
+                    return out.bytesWritten();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        bench.finish();
+    }
+
+    static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.Random;
+
+/*
+ Evaluates LogicalOperatorDemo-style rules over many users three ways:
+
+   userObjects   one object per user with boolean fields, && / || per user
+   booleanArrays one boolean[] per flag, && / || per user
+   flagStore     FlagStore (03_Operators/FlagStore.java): one long[] bitmap per flag, 64 users per word
+
+ Run:
+   javac -d out Bench.java ../03_Operators/FlagStore.java FlagStoreBenchmark.java
+   java -Xmx4g -cp out FlagStoreBenchmark --users=100000000
+   java -cp out FlagStoreBenchmark --quick
+*/
+public class FlagStoreBenchmark {
+
+    static final class User {
+        boolean isLoggedIn;
+        boolean hasID;
+        boolean isAdult;
+        boolean isMember;
+    }
+
+    static final String[] RULES = {
+            "hasID && isAdult",
+            "isAdult || isMember",
+            "hasID && (isAdult || isMember) && !isLoggedIn",
+    };
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("flagstore", args);
+        int users = bench.sizes("users", 10_000_000)[0];
+        String n = "users=" + users;
+
+        User[] objects = new User[users];
+        boolean[] isLoggedIn = new boolean[users];
+        boolean[] hasID = new boolean[users];
+        boolean[] isAdult = new boolean[users];
+        boolean[] isMember = new boolean[users];
+        FlagStore store = new FlagStore(users, "isLoggedIn", "hasID", "isAdult", "isMember");
+        Random random = new Random(42);
+        for (int u = 0; u < users; u++) {
+            User user = new User();
+            user.isLoggedIn = isLoggedIn[u] = random.nextInt(4) == 0;
+            user.hasID = hasID[u] = random.nextInt(10) < 8;
+            user.isAdult = isAdult[u] = random.nextInt(10) < 7;
+            user.isMember = isMember[u] = random.nextInt(10) < 3;
+            objects[u] = user;
+            store.set(0, u, user.isLoggedIn);
+            store.set(1, u, user.hasID);
+            store.set(2, u, user.isAdult);
+            store.set(3, u, user.isMember);
+        }
+
+        // 16-byte objects (12-byte header + 4 booleans) plus a 4-byte compressed reference each
+        long objectBytes = (long) users * (16 + 4);
+        long arrayBytes = (long) users * 4;
+        System.out.printf("# memory for 4 flags x %,d users%n", users);
+        System.out.printf("#   User objects  : %,d bytes%n", objectBytes);
+        System.out.printf("#   boolean[]     : %,d bytes%n", arrayBytes);
+        System.out.printf("#   FlagStore     : %,d bytes (%.1fx smaller than boolean[])%n",
+                store.bitmapBytes(), (double) arrayBytes / store.bitmapBytes());
+
+        for (int r = 0; r < RULES.length; r++) {
+            String rule = RULES[r];
+            int which = r;
+            FlagStore.Rule parsed = FlagStore.Rule.parse(rule);
+            long expected = store.count(parsed);
+            bench.run("rule" + r + ".userObjects", n, users, () -> {
+                long count = 0;
+                for (User user : objects) {
+                    boolean match = switch (which) {
+                        case 0 -> user.hasID && user.isAdult;
+                        case 1 -> user.isAdult || user.isMember;
+                        default -> user.hasID && (user.isAdult || user.isMember) && !user.isLoggedIn;
+                    };
+                    if (match) {
+                        count++;
+                    }
+                }
+                return check(count, expected, rule);
+            });
+            bench.run("rule" + r + ".booleanArrays", n, users, () -> {
+                long count = 0;
+                for (int u = 0; u < users; u++) {
+                    boolean match = switch (which) {
+                        case 0 -> hasID[u] && isAdult[u];
+                        case 1 -> isAdult[u] || isMember[u];
+                        default -> hasID[u] && (isAdult[u] || isMember[u]) && !isLoggedIn[u];
+                    };
+                    if (match) {
+                        count++;
+                    }
+                }
+                return check(count, expected, rule);
+            });
+            bench.run("rule" + r + ".flagStore", n, users, () -> check(store.count(parsed), expected, rule));
+        }
+        bench.finish();
+    }
+
+    static long check(long count, long expected, String rule) {
+        if (count != expected) {
+            throw new IllegalStateException(rule + ": got " + count + ", expected " + expected);
+        }
+        return count;
+    }
+}
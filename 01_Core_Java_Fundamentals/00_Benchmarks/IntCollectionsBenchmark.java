@@ -0,0 +1,212 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/*
+ Memory, insert and lookup cost of IntCollections (05_Type_Casting/IntCollections.java)
+ against ArrayList<Integer>, HashMap<Integer, Integer> and HashSet<Integer>.
+
+ Run:
+   javac -d out Bench.java ../05_Type_Casting/IntCollections.java IntCollectionsBenchmark.java
+   java -Xmx4g -cp out IntCollectionsBenchmark                 (1M and 10M entries)
+   java -cp out IntCollectionsBenchmark --quick --sizes=1000000
+
+ Keys are random ints, so most are outside the Integer cache (-128..127) and every boxed
+ key or value really is its own object. The footprint report measures live heap after a
+ full GC, before and after building each collection, the same way CarFleetBenchmark does.
+ Lookups are half hits and half misses, in random order.
+*/
+public class IntCollectionsBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("intcollections", args);
+        for (int size : bench.sizes("sizes", 1_000_000, 10_000_000)) {
+            String n = "n=" + size;
+            Random random = new Random(42);
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = random.nextInt();
+            }
+            // Every other probe is a stored key, the rest are (almost certainly) absent
+            int[] probes = new int[size];
+            for (int i = 0; i < size; i++) {
+                probes[i] = (i & 1) == 0 ? keys[random.nextInt(size)] : random.nextInt();
+            }
+
+            footprint(keys);
+
+            bench.run("list.insert.ArrayList<Integer>", n, size, () -> {
+                List<Integer> list = new ArrayList<>();
+                for (int key : keys) {
+                    list.add(key);
+                }
+                return list.size();
+            });
+            bench.run("list.insert.IntArrayList", n, size, () -> {
+                IntArrayList list = new IntArrayList();
+                for (int key : keys) {
+                    list.add(key);
+                }
+                return list.size();
+            });
+            List<Integer> boxedList = new ArrayList<>();
+            IntArrayList intList = new IntArrayList(size);
+            for (int key : keys) {
+                boxedList.add(key);
+                intList.add(key);
+            }
+            bench.run("list.sum.ArrayList<Integer>", n, size, () -> {
+                long sum = 0;
+                for (int i = 0; i < boxedList.size(); i++) {
+                    sum += boxedList.get(i);
+                }
+                return sum;
+            });
+            bench.run("list.sum.IntArrayList", n, size, () -> {
+                long sum = 0;
+                for (int i = 0; i < intList.size(); i++) {
+                    sum += intList.get(i);
+                }
+                return sum;
+            });
+            bench.run("list.sum.IntArrayList.stream", n, size, () -> intList.stream().asLongStream().sum());
+
+            bench.run("map.insert.HashMap<Integer,Integer>", n, size, () -> {
+                Map<Integer, Integer> map = new HashMap<>();
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], i);
+                }
+                return map.size();
+            });
+            bench.run("map.insert.IntIntHashMap", n, size, () -> {
+                IntIntHashMap map = new IntIntHashMap(-1);
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], i);
+                }
+                return map.size();
+            });
+            Map<Integer, Integer> boxedMap = new HashMap<>();
+            IntIntHashMap intMap = new IntIntHashMap(-1, size);
+            for (int i = 0; i < keys.length; i++) {
+                boxedMap.put(keys[i], i);
+                intMap.put(keys[i], i);
+            }
+            bench.run("map.lookup.HashMap<Integer,Integer>", n, size, () -> {
+                long sum = 0;
+                for (int probe : probes) {
+                    Integer value = boxedMap.get(probe);
+                    sum += value == null ? -1 : value;
+                }
+                return sum;
+            });
+            bench.run("map.lookup.IntIntHashMap", n, size, () -> {
+                long sum = 0;
+                for (int probe : probes) {
+                    sum += intMap.get(probe);
+                }
+                return sum;
+            });
+
+            bench.run("set.insert.HashSet<Integer>", n, size, () -> {
+                Set<Integer> set = new HashSet<>();
+                for (int key : keys) {
+                    set.add(key);
+                }
+                return set.size();
+            });
+            bench.run("set.insert.IntHashSet", n, size, () -> {
+                IntHashSet set = new IntHashSet();
+                for (int key : keys) {
+                    set.add(key);
+                }
+                return set.size();
+            });
+            Set<Integer> boxedSet = new HashSet<>(boxedMap.keySet());
+            IntHashSet intSet = IntHashSet.from(intMap.keys());
+            bench.run("set.contains.HashSet<Integer>", n, size, () -> {
+                int hits = 0;
+                for (int probe : probes) {
+                    if (boxedSet.contains(probe)) {
+                        hits++;
+                    }
+                }
+                return hits;
+            });
+            bench.run("set.contains.IntHashSet", n, size, () -> {
+                int hits = 0;
+                for (int probe : probes) {
+                    if (intSet.contains(probe)) {
+                        hits++;
+                    }
+                }
+                return hits;
+            });
+            Bench.blackhole = boxedList.size() + intList.size() + boxedSet.size() + intSet.size();
+        }
+        bench.finish();
+    }
+
+    // Builds each collection once, keeps it reachable, and reports the live heap it added
+    static void footprint(int[] keys) {
+        int size = keys.length;
+        System.out.printf("# footprint for %,d entries%n", size);
+
+        long before = liveHeap();
+        List<Integer> boxedList = new ArrayList<>();
+        for (int key : keys) {
+            boxedList.add(key);
+        }
+        report("ArrayList<Integer>", liveHeap() - before, size);
+        before = liveHeap();
+        IntArrayList intList = new IntArrayList();
+        for (int key : keys) {
+            intList.add(key);
+        }
+        report("IntArrayList", liveHeap() - before, size);
+
+        before = liveHeap();
+        Map<Integer, Integer> boxedMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            boxedMap.put(keys[i], i);
+        }
+        report("HashMap<Integer,Integer>", liveHeap() - before, size);
+        before = liveHeap();
+        IntIntHashMap intMap = new IntIntHashMap(-1);
+        for (int i = 0; i < size; i++) {
+            intMap.put(keys[i], i);
+        }
+        report("IntIntHashMap", liveHeap() - before, size);
+
+        before = liveHeap();
+        Set<Integer> boxedSet = new HashSet<>();
+        for (int key : keys) {
+            boxedSet.add(key);
+        }
+        report("HashSet<Integer>", liveHeap() - before, size);
+        before = liveHeap();
+        IntHashSet intSet = new IntHashSet();
+        for (int key : keys) {
+            intSet.add(key);
+        }
+        report("IntHashSet", liveHeap() - before, size);
+
+        Bench.blackhole = boxedList.size() + intList.size() + boxedMap.size() + intMap.size()
+                + boxedSet.size() + intSet.size();
+    }
+
+    static void report(String name, long bytes, int entries) {
+        System.out.printf("#   %-26s: %,14d bytes (%.1f bytes/entry)%n", name, bytes, (double) bytes / entries);
+    }
+
+    static long liveHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,102 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/*
+ Measures the off-heap IntColumn (02_Datatypes_And_Variables/IntColumn.java) against loading the
+ same scores into an on-heap int[].
+
+ Run:
+   javac --add-modules jdk.incubator.vector -d out Bench.java ../02_Datatypes_And_Variables/IntStats.java ../02_Datatypes_And_Variables/IntColumn.java ../02_Datatypes_And_Variables/Metrics.java IntColumnBenchmark.java
+   java --add-modules jdk.incubator.vector -Xmx1g -cp out IntColumnBenchmark
+   java --add-modules jdk.incubator.vector -cp out IntColumnBenchmark --ints=1000000000 --dir=/data   (a 4 GB column)
+
+ --ints   number of scores in the column (default 50M, 200 MB on disk)
+ --dir    where the column file is created (default: the temp directory)
+*/
+public class IntColumnBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Bench bench = new Bench("intcolumn", args);
+        long ints = Long.parseLong(bench.option("ints", "50000000").replace("_", ""));
+        Path dir = Path.of(bench.option("dir", System.getProperty("java.io.tmpdir")));
+        Path file = Files.createTempFile(dir, "scores", ".intc");
+        Files.delete(file); // IntColumn.open creates it with a header
+
+        try {
+            long start = System.nanoTime();
+            try (IntColumn column = IntColumn.open(file)) {
+                int[] batch = new int[1 << 16];
+                Random random = new Random(42);
+                for (long written = 0; written < ints; written += batch.length) {
+                    int n = (int) Math.min(batch.length, ints - written);
+                    for (int i = 0; i < n; i++) {
+                        batch[i] = random.nextInt(1_000);
+                    }
+                    column.appendAll(batch, 0, n);
+                }
+            }
+            System.out.printf("# wrote %,d ints (%,d MB) in %d ms%n", ints, Files.size(file) >> 20,
+                    (System.nanoTime() - start) / 1_000_000);
+
+            String n = "n=" + ints;
+            bench.run("reopen.intColumn", n, 1, () -> {
+                try (IntColumn column = IntColumn.open(file)) {
+                    return column.size();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            long heapBefore = usedHeap();
+            try (IntColumn column = IntColumn.open(file)) {
+                System.out.printf("# heap growth after opening the column: %,d KB%n", (usedHeap() - heapBefore) >> 10);
+                bench.run("scanMax.intColumn", n, ints, () -> column.scan(new IntStats()).max());
+                Random random = new Random(1);
+                bench.run("randomGet.intColumn", n, 1_000, () -> {
+                    long total = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        total += column.get((long) (random.nextDouble() * ints));
+                    }
+                    return total;
+                });
+            }
+
+            // The on-heap alternative: parse the ints back into an int[] on every start
+            if (ints <= Integer.MAX_VALUE - 8 && ints * 4 < Runtime.getRuntime().maxMemory() / 2) {
+                long loadStart = System.nanoTime();
+                int[] heapScores = loadIntoHeap(file, (int) ints);
+                System.out.printf("# loading the same scores into an int[] took %d ms and %,d MB of heap%n",
+                        (System.nanoTime() - loadStart) / 1_000_000, (ints * 4) >> 20);
+                bench.run("scanMax.heapArray", n, ints, () -> IntStats.of(heapScores, IntStats.Mode.AUTO).max());
+            } else {
+                System.out.println("# skipping the on-heap comparison: the column does not fit in half the heap");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        bench.finish();
+    }
+
+    static int[] loadIntoHeap(Path file, int count) throws IOException {
+        int[] values = new int[count];
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+            in.skipNBytes(IntColumn.HEADER_BYTES);
+            for (int i = 0; i < count; i++) {
+                values[i] = Integer.reverseBytes(in.readInt()); // the column is little-endian
+            }
+        }
+        return values;
+    }
+
+    static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ Where streams, a plain loop and IntPipeline's modes (07_Arrays/IntPipeline.java) win,
+ from 10 to 10M elements.
+
+ Run:
+   javac -d out Bench.java ../07_Arrays/IntPipeline.java IntPipelineBenchmark.java
+   java -cp out IntPipelineBenchmark
+   java -cp out IntPipelineBenchmark --quick --sizes=100,100000
+
+ Two pipelines over random ints in [-1000, 1000), so filters pass about half the values
+ in no predictable order:
+   guide    filter(x > 7).map(x * 2).sum(): the example from 01_Arrays.md
+   lambdas  filter(x % 3 == 0).map(x + 1).filter(x > 0).sum() with lambdas, as user
+            code would write it; FUSED then calls the lambdas once per element
+ Each is run as a hand-written loop, Arrays.stream, Arrays.stream().parallel() and
+ IntPipeline in STREAM, SEQUENTIAL, FUSED, PARALLEL and AUTO. At the end the fastest
+ variant per size is printed next to the mode advise() would have chosen.
+*/
+public class IntPipelineBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("intpipeline", args);
+        IntPipeline guide = IntPipeline.start().filterGreaterThan(7).multiply(2);
+        IntPipeline lambdas = IntPipeline.start().filter(x -> x % 3 == 0).map(x -> x + 1).filter(x -> x > 0);
+
+        for (int size : bench.sizes("sizes", 10, 100, 10_000, 1_000_000, 10_000_000)) {
+            String n = "n=" + size;
+            int[] nums = new Random(42).ints(size, -1000, 1000).toArray();
+
+            bench.run("guide.loop", n, size, () -> {
+                long sum = 0;
+                for (int x : nums) {
+                    if (x > 7) {
+                        sum += x * 2;
+                    }
+                }
+                return sum;
+            });
+            bench.run("guide.stream", n, size,
+                    () -> java.util.Arrays.stream(nums).filter(x -> x > 7).map(x -> x * 2).asLongStream().sum());
+            bench.run("guide.streamParallel", n, size,
+                    () -> java.util.Arrays.stream(nums).parallel().filter(x -> x > 7).map(x -> x * 2).asLongStream().sum());
+            for (IntPipeline.Mode mode : IntPipeline.Mode.values()) {
+                bench.run("guide.pipeline." + mode.name().toLowerCase(), n, size, () -> guide.sum(nums, mode));
+            }
+
+            bench.run("lambdas.loop", n, size, () -> {
+                long sum = 0;
+                for (int x : nums) {
+                    if (x % 3 == 0 && x + 1 > 0) {
+                        sum += x + 1;
+                    }
+                }
+                return sum;
+            });
+            bench.run("lambdas.stream", n, size, () -> java.util.Arrays.stream(nums)
+                    .filter(x -> x % 3 == 0).map(x -> x + 1).filter(x -> x > 0).asLongStream().sum());
+            bench.run("lambdas.streamParallel", n, size, () -> java.util.Arrays.stream(nums).parallel()
+                    .filter(x -> x % 3 == 0).map(x -> x + 1).filter(x -> x > 0).asLongStream().sum());
+            for (IntPipeline.Mode mode : IntPipeline.Mode.values()) {
+                bench.run("lambdas.pipeline." + mode.name().toLowerCase(), n, size, () -> lambdas.sum(nums, mode));
+            }
+        }
+        bench.finish();
+        report(bench.results());
+    }
+
+    // Fastest variant per pipeline and size, and what advise() picks for that size
+    static void report(List<Bench.Result> results) {
+        Map<String, Bench.Result> best = new LinkedHashMap<>();
+        for (Bench.Result r : results) {
+            String key = r.name().substring(0, r.name().indexOf('.')) + " " + r.param();
+            best.merge(key, r, (a, b) -> a.nsPerOp() <= b.nsPerOp() ? a : b);
+        }
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        System.out.println("# fastest per size (advise() with parallelism " + parallelism + ")");
+        for (Map.Entry<String, Bench.Result> entry : best.entrySet()) {
+            Bench.Result r = entry.getValue();
+            int size = Integer.parseInt(r.param().substring("n=".length()));
+            System.out.printf("#   %-20s %-32s %8.3f ns/op   advise: %s%n", entry.getKey(), r.name(), r.nsPerOp(),
+                    IntPipeline.advise(size, parallelism));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import java.util.Random;
+
+/*
+ Compares the IntStats scan paths (02_Datatypes_And_Variables/IntStats.java) at 1K, 1M and 100M scores.
+
+ Run (100M ints need about 400 MB of heap):
+   javac --add-modules jdk.incubator.vector -d out Bench.java ../02_Datatypes_And_Variables/IntStats.java ../02_Datatypes_And_Variables/Metrics.java IntStatsBenchmark.java
+   java --add-modules jdk.incubator.vector -Xmx1g -cp out IntStatsBenchmark
+   java --add-modules jdk.incubator.vector -cp out IntStatsBenchmark --quick --sizes=1000,1000000
+*/
+public class IntStatsBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("intstats", args);
+        for (int size : bench.sizes("sizes", 1_000, 1_000_000, 100_000_000)) {
+            int[] scores = new int[size];
+            Random random = new Random(42);
+            for (int i = 0; i < size; i++) {
+                scores[i] = random.nextInt();
+            }
+            String n = "n=" + size;
+
+            // ArrayDataTypeDemo's loop as the baseline
+            bench.run("maxLoop.demo", n, size, () -> {
+                int max = scores[0];
+                for (int i = 1; i < scores.length; i++) {
+                    if (scores[i] > max) {
+                        max = scores[i];
+                    }
+                }
+                return max;
+            });
+            for (IntStats.Mode mode : IntStats.Mode.values()) {
+                IntStats stats = new IntStats(mode);
+                bench.run("intStats." + mode.name().toLowerCase(), n, size, () -> {
+                    stats.reset();
+                    stats.accept(scores);
+                    return stats.sum() + stats.max();
+                });
+            }
+            // Feeding the same data in 64K chunks, as a streaming reader would
+            IntStats streaming = new IntStats(IntStats.Mode.VECTOR);
+            int chunk = 1 << 16;
+            bench.run("intStats.vectorChunked64k", n, size, () -> {
+                streaming.reset();
+                for (int from = 0; from < size; from += chunk) {
+                    streaming.accept(scores, from, Math.min(size, from + chunk));
+                }
+                return streaming.sum() + streaming.max();
+            });
+        }
+        bench.finish();
+    }
+}
@@ -0,0 +1,238 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToLongFunction;
+
+/*
+ AssignmentOperatorDemo's balance updated from 1 to 64 threads at once: a synchronized
+ balance, AtomicLong, LongAdder and Ledger (03_Operators/Ledger.java).
+
+ Run:
+   javac -d out Bench.java ../03_Operators/Ledger.java LedgerBenchmark.java
+   java -cp out LedgerBenchmark
+   java -cp out LedgerBenchmark --quick --threads=1,8,64
+
+ Options:
+   --threads=1,2,4,8,16,32,64   thread counts
+   --ops=20000                  updates per thread per call
+   --accounts=16,1024           account counts for the transfers workload
+
+ Bench itself times one thread, so each call hands the same work to a fixed pool of N
+ threads and waits for all of them. ns/op is wall time divided by N x ops: it is the cost
+ of one update with the whole pool running, and it only falls as threads are added when
+ the updates really run in parallel. Past the machine's CPU count the threads take turns,
+ so compare the columns up to the "cpus" printed at the top. B/op only counts the
+ benchmark thread and is not meaningful here.
+
+ hot.*        every thread does balance += 1 on the same balance
+ mixed.*      the same, plus balance %= 1_000_003 every 100th update (AtomicLong needs
+              updateAndGet for that, Ledger uses remainder)
+ transfers.*  random transfers between 16 or 1024 accounts: two locks taken in account
+              order, AtomicLongArray, Ledger.subtract + add, and Ledger batches of 64
+              transfers. A batch only saves work when its transfers keep hitting the same
+              accounts: 64 transfers between 16 accounts net to at most 16 adds, between
+              1024 accounts to nearly 128, plus the bookkeeping.
+*/
+public class LedgerBenchmark {
+
+    static final int BATCH = 64;
+
+    public static void main(String[] args) throws Exception {
+        Bench bench = new Bench("ledger", args);
+        int ops = Integer.parseInt(bench.option("ops", "20000"));
+
+        for (int threads : bench.sizes("threads", 1, 2, 4, 8, 16, 32, 64)) {
+            String n = "threads=" + threads;
+            long opsPerCall = (long) threads * ops;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                // hot: one balance
+                Object lock = new Object();
+                long[] locked = new long[1];
+                run(bench, pool, threads, "hot.synchronized", n, opsPerCall, worker -> {
+                    for (int i = 0; i < ops; i++) {
+                        synchronized (lock) {
+                            locked[0] += 1;
+                        }
+                    }
+                    return locked[0];
+                });
+                AtomicLong atomic = new AtomicLong();
+                run(bench, pool, threads, "hot.atomicLong", n, opsPerCall, worker -> {
+                    for (int i = 0; i < ops; i++) {
+                        atomic.addAndGet(1);
+                    }
+                    return atomic.get();
+                });
+                LongAdder adder = new LongAdder();
+                run(bench, pool, threads, "hot.longAdder", n, opsPerCall, worker -> {
+                    for (int i = 0; i < ops; i++) {
+                        adder.add(1);
+                    }
+                    return adder.sum();
+                });
+                Ledger hot = new Ledger(1);
+                run(bench, pool, threads, "hot.ledger", n, opsPerCall, worker -> {
+                    for (int i = 0; i < ops; i++) {
+                        hot.add(0, 1);
+                    }
+                    return hot.balance(0);
+                });
+
+                // mixed: += with an occasional %=
+                run(bench, pool, threads, "mixed.synchronized", n, opsPerCall, worker -> {
+                    for (int i = 1; i <= ops; i++) {
+                        synchronized (lock) {
+                            locked[0] = i % 100 == 0 ? locked[0] % 1_000_003 : locked[0] + 1;
+                        }
+                    }
+                    return locked[0];
+                });
+                run(bench, pool, threads, "mixed.atomicLong", n, opsPerCall, worker -> {
+                    for (int i = 1; i <= ops; i++) {
+                        if (i % 100 == 0) {
+                            atomic.updateAndGet(balance -> balance % 1_000_003);
+                        } else {
+                            atomic.addAndGet(1);
+                        }
+                    }
+                    return atomic.get();
+                });
+                Ledger mixed = new Ledger(1);
+                run(bench, pool, threads, "mixed.ledger", n, opsPerCall, worker -> {
+                    for (int i = 1; i <= ops; i++) {
+                        if (i % 100 == 0) {
+                            mixed.remainder(0, 1_000_003);
+                        } else {
+                            mixed.add(0, 1);
+                        }
+                    }
+                    return mixed.balance(0);
+                });
+
+                // transfers: each worker has its own random (from, to, amount) script
+                for (int accountCount : bench.sizes("accounts", 16, 1024)) {
+                    String m = n + ",accounts=" + accountCount;
+                    int[][] froms = new int[threads][ops];
+                    int[][] tos = new int[threads][ops];
+                    int[][] amounts = new int[threads][ops];
+                    for (int t = 0; t < threads; t++) {
+                        Random random = new Random(42 + t);
+                        for (int i = 0; i < ops; i++) {
+                            froms[t][i] = random.nextInt(accountCount);
+                            tos[t][i] = random.nextInt(accountCount);
+                            amounts[t][i] = 1 + random.nextInt(100);
+                        }
+                    }
+                    Object[] locks = new Object[accountCount];
+                    for (int a = 0; a < accountCount; a++) {
+                        locks[a] = new Object();
+                    }
+                    long[] balances = new long[accountCount];
+                    run(bench, pool, threads, "transfers.synchronized", m, opsPerCall, worker -> {
+                        int[] from = froms[worker];
+                        int[] to = tos[worker];
+                        int[] amount = amounts[worker];
+                        for (int i = 0; i < ops; i++) {
+                            // Lock the lower account first, so two opposite transfers cannot deadlock
+                            Object first = locks[Math.min(from[i], to[i])];
+                            Object second = locks[Math.max(from[i], to[i])];
+                            synchronized (first) {
+                                synchronized (second) {
+                                    balances[from[i]] -= amount[i];
+                                    balances[to[i]] += amount[i];
+                                }
+                            }
+                        }
+                        return balances[0];
+                    });
+                    AtomicLongArray atomics = new AtomicLongArray(accountCount);
+                    run(bench, pool, threads, "transfers.atomicLongArray", m, opsPerCall, worker -> {
+                        int[] from = froms[worker];
+                        int[] to = tos[worker];
+                        int[] amount = amounts[worker];
+                        for (int i = 0; i < ops; i++) {
+                            atomics.addAndGet(from[i], -amount[i]);
+                            atomics.addAndGet(to[i], amount[i]);
+                        }
+                        return atomics.get(0);
+                    });
+                    Ledger accounts = new Ledger(accountCount);
+                    run(bench, pool, threads, "transfers.ledger", m, opsPerCall, worker -> {
+                        int[] from = froms[worker];
+                        int[] to = tos[worker];
+                        int[] amount = amounts[worker];
+                        for (int i = 0; i < ops; i++) {
+                            accounts.subtract(from[i], amount[i]);
+                            accounts.add(to[i], amount[i]);
+                        }
+                        return accounts.balance(0);
+                    });
+                    Ledger batched = new Ledger(accountCount);
+                    Ledger.Batch[] batches = new Ledger.Batch[threads];
+                    for (int t = 0; t < threads; t++) {
+                        batches[t] = batched.newBatch();
+                    }
+                    run(bench, pool, threads, "transfers.ledger.batch", m, opsPerCall, worker -> {
+                        int[] from = froms[worker];
+                        int[] to = tos[worker];
+                        int[] amount = amounts[worker];
+                        Ledger.Batch batch = batches[worker];
+                        for (int i = 0; i < ops; i++) {
+                            batch.transfer(from[i], to[i], amount[i]);
+                            if (i % BATCH == BATCH - 1) {
+                                batched.apply(batch);
+                            }
+                        }
+                        batched.apply(batch);
+                        return batched.balance(0);
+                    });
+                    long lockedTotal = 0;
+                    for (long balance : balances) {
+                        lockedTotal += balance;
+                    }
+                    // Transfers move money around; every version must still add up to zero
+                    if (lockedTotal != 0 || accounts.total() != 0 || batched.total() != 0) {
+                        throw new IllegalStateException("Transfers did not add up: " + lockedTotal + ", "
+                                + accounts.total() + ", " + batched.total());
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        bench.finish();
+    }
+
+    // One call = every worker runs the body once, in parallel
+    static void run(Bench bench, ExecutorService pool, int threads, String name, String param, long opsPerCall,
+                    IntToLongFunction body) {
+        List<Callable<Long>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            workers.add(() -> body.applyAsLong(worker));
+        }
+        bench.run(name, param, opsPerCall, () -> {
+            long sum = 0;
+            try {
+                for (Future<Long> result : pool.invokeAll(workers)) {
+                    sum += result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            return sum;
+        });
+    }
+}
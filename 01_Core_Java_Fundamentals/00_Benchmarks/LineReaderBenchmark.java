@@ -0,0 +1,96 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ Reads the same generated log file through every LineReader backend
+ (04_Input_Output/LineReader.java) and reports time and allocation per line, plus MB/s.
+
+ Run (the default file is 1 GB; it is generated once and reused until --keep is dropped):
+   javac -d out Bench.java ../04_Input_Output/LineReader.java LineReaderBenchmark.java
+   java -cp out LineReaderBenchmark --keep
+   java -cp out LineReaderBenchmark --quick --mb=64 --dir=/tmp
+
+ The file is read many times, so after the first pass it comes from the OS page cache:
+ the numbers compare the CPU cost of each backend, not the speed of the disk. To include
+ the disk, drop the page cache between runs (Linux: echo 1 > /proc/sys/vm/drop_caches).
+*/
+public class LineReaderBenchmark {
+
+    static final String[] LEVELS = { "INFO ", "INFO ", "INFO ", "DEBUG", "WARN ", "ERROR" };
+    static final String[] USERS = { "alice", "bob", "chandra", "Jürgen", "Zoë", "राहुल", "李雷" };
+
+    public static void main(String[] args) throws IOException {
+        Bench bench = new Bench("linereader", args);
+        int megabytes = bench.sizes("mb", 1024)[0];
+        Path dir = Path.of(bench.option("dir", System.getProperty("java.io.tmpdir")));
+        Path file = dir.resolve("linereader-" + megabytes + "mb.log");
+        long size = (long) megabytes << 20;
+        if (!Files.exists(file) || Files.size(file) < size) {
+            System.out.println("# generating " + file);
+            generate(file, size);
+        }
+        long bytes = Files.size(file);
+        long lines = new LineReader(LineReader.Backend.MAPPED).read(file, line -> { });
+        double bytesPerLine = (double) bytes / lines;
+        System.out.printf(Locale.ROOT, "# %s: %,d bytes, %,d lines, %.1f bytes/line%n", file, bytes, lines, bytesPerLine);
+
+        String n = megabytes + "MB";
+        for (LineReader.Backend backend : LineReader.Backend.values()) {
+            LineReader reader = new LineReader(backend);
+            // The consumer touches every line so no backend can skip decoding
+            long[] checksum = { 0 };
+            bench.run("read." + backend.name().toLowerCase(), n, lines, () -> {
+                try {
+                    reader.read(file, line -> {
+                        int length = line.length();
+                        checksum[0] += length == 0 ? 0 : length + line.charAt(length - 1);
+                    });
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return checksum[0];
+            });
+            if (!bench.results().isEmpty()) {
+                Bench.Result result = bench.results().get(bench.results().size() - 1);
+                if (result.name().equals("read." + backend.name().toLowerCase())) {
+                    System.out.printf(Locale.ROOT, "#   %.0f MB/s%n", bytesPerLine / result.nsPerOp() * 1e9 / (1 << 20));
+                }
+            }
+        }
+        bench.finish();
+        if (!bench.hasFlag("keep")) {
+            Files.delete(file);
+        }
+    }
+
+    // Log-ingest style lines: mostly ASCII, with some Latin, Devanagari and CJK user names
+    static void generate(Path file, long size) throws IOException {
+        Random random = new Random(42);
+        StringBuilder batch = new StringBuilder(1 << 20);
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            while (written < size) {
+                batch.setLength(0);
+                while (batch.length() < (1 << 20) - 256) {
+                    int second = random.nextInt(86_400);
+                    batch.append("2024-03-").append(10 + random.nextInt(20)).append(' ')
+                            .append(second / 3600 + 10).append(':').append(second / 60 % 60 + 10).append(':')
+                            .append(second % 60 + 10).append('.').append(100 + random.nextInt(900)).append(' ')
+                            .append(LEVELS[random.nextInt(LEVELS.length)])
+                            .append(" [worker-").append(random.nextInt(32)).append("] GET /api/orders/")
+                            .append(random.nextInt(1_000_000)).append(" user=").append(USERS[random.nextInt(USERS.length)])
+                            .append(" status=").append(random.nextInt(10) == 0 ? 500 : 200)
+                            .append(" took=").append(random.nextInt(2_000)).append("ms\n");
+                }
+                byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                written += bytes.length;
+            }
+        }
+    }
+}
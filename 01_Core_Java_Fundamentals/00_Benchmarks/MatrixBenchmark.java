@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ Matrix multiply and transpose (07_Arrays/Matrix.java) against the guide's int[][] nested
+ loops, at 256 x 256, 1024 x 1024 and 4096 x 4096, plus how PARALLEL scales with threads.
+
+ Run (two 4096 x 4096 matrices and the result need about 400 MB):
+   javac --add-modules jdk.incubator.vector -d out Bench.java ../07_Arrays/Matrix.java MatrixBenchmark.java
+   java --add-modules jdk.incubator.vector -Xmx2g -cp out MatrixBenchmark
+   java --add-modules jdk.incubator.vector -cp out MatrixBenchmark --quick --sizes=256,1024 --threads=1,2,4
+
+ Options:
+   --sizes=256,1024,4096     matrix sizes (n x n)
+   --naive-max=1024          largest size for the two naive loops; a naive 4096 multiply
+                             takes minutes per call, so pass --naive-max=4096 to include it
+   --threads=1,2,4,...       ForkJoin pool sizes for the scaling runs (default: powers of
+                             two up to the number of cores)
+
+ ns/op is per multiply-add, so a 4096 result is comparable with a 256 one; GFLOP/s
+ (2 flops per multiply-add) and the speed-up over one thread are printed at the end.
+*/
+public class MatrixBenchmark {
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("matrix", args);
+        int naiveMax = Integer.parseInt(bench.option("naive-max", "1024"));
+        int[] threads = bench.sizes("threads", defaultThreads());
+        List<ForkJoinPool> pools = new ArrayList<>();
+        for (int t : threads) {
+            pools.add(new ForkJoinPool(t));
+        }
+
+        for (int size : bench.sizes("sizes", 256, 1024, 4096)) {
+            String n = "n=" + size;
+            long multiplyAdds = (long) size * size * size;
+            long elements = (long) size * size;
+            int[][] left = randomInts(size, 1);
+            int[][] right = randomInts(size, 2);
+            Matrix a = Matrix.of(left);
+            Matrix b = Matrix.of(right);
+
+            if (size <= naiveMax) {
+                // The guide's nested loops over int[][], grown into a multiply
+                bench.run("multiply.int[][].naive", n, multiplyAdds, () -> {
+                    int[][] c = new int[size][size];
+                    for (int i = 0; i < size; i++) {
+                        for (int j = 0; j < size; j++) {
+                            int sum = 0;
+                            for (int k = 0; k < size; k++) {
+                                sum += left[i][k] * right[k][j];
+                            }
+                            c[i][j] = sum;
+                        }
+                    }
+                    return c[size - 1][size - 1];
+                });
+                bench.run("multiply.matrix.naive", n, multiplyAdds, () -> checksum(a.multiply(b, Matrix.Mode.NAIVE)));
+            }
+            bench.run("multiply.matrix.blocked", n, multiplyAdds, () -> checksum(a.multiply(b, Matrix.Mode.BLOCKED)));
+            bench.run("multiply.matrix.vector", n, multiplyAdds, () -> checksum(a.multiply(b, Matrix.Mode.VECTOR)));
+            for (int p = 0; p < threads.length; p++) {
+                ForkJoinPool pool = pools.get(p);
+                bench.run("multiply.matrix.parallel.threads=" + threads[p], n, multiplyAdds,
+                        () -> checksum(a.multiply(b, Matrix.Mode.PARALLEL, pool)));
+            }
+
+            bench.run("transpose.int[][].naive", n, elements, () -> {
+                int[][] t = new int[size][size];
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        t[j][i] = left[i][j];
+                    }
+                }
+                return t[size - 1][0];
+            });
+            bench.run("transpose.matrix.naive", n, elements, () -> checksum(a.transpose(Matrix.Mode.NAIVE, pools.get(0))));
+            bench.run("transpose.matrix.blocked", n, elements, () -> checksum(a.transpose(Matrix.Mode.BLOCKED, pools.get(0))));
+            for (int p = 0; p < threads.length; p++) {
+                ForkJoinPool pool = pools.get(p);
+                bench.run("transpose.matrix.parallel.threads=" + threads[p], n, elements,
+                        () -> checksum(a.transpose(Matrix.Mode.PARALLEL, pool)));
+            }
+        }
+        bench.finish();
+        report(bench.results());
+        pools.forEach(ForkJoinPool::shutdown);
+    }
+
+    static int[] defaultThreads() {
+        List<Integer> counts = new ArrayList<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t < cores; t *= 2) {
+            counts.add(t);
+        }
+        counts.add(cores);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Small values so the int[][] products cannot overflow
+    static int[][] randomInts(int size, long seed) {
+        Random random = new Random(seed);
+        int[][] grid = new int[size][size];
+        for (int[] row : grid) {
+            for (int j = 0; j < size; j++) {
+                row[j] = random.nextInt(201) - 100;
+            }
+        }
+        return grid;
+    }
+
+    static long checksum(Matrix m) {
+        return (long) (m.get(0, 0) + m.get(m.rows() - 1, m.cols() - 1));
+    }
+
+    // GFLOP/s for every multiply; parallel rows also show the speed-up over the first pool size
+    static void report(List<Bench.Result> results) {
+        System.out.println("# multiply throughput");
+        for (Bench.Result r : results) {
+            if (r.name().startsWith("multiply.")) {
+                double first = firstPool(results, r);
+                String scaling = Double.isNaN(first) ? "" : String.format(Locale.ROOT, "  %5.2fx", first / r.nsPerOp());
+                System.out.printf(Locale.ROOT, "#   %-40s %-8s %8.2f GFLOP/s%s%n",
+                        r.name(), r.param(), 2 / r.nsPerOp(), scaling);
+            }
+        }
+    }
+
+    private static double firstPool(List<Bench.Result> results, Bench.Result r) {
+        int at = r.name().indexOf(".threads=");
+        if (at < 0) {
+            return Double.NaN;
+        }
+        String prefix = r.name().substring(0, at + ".threads=".length());
+        for (Bench.Result first : results) {
+            if (first.name().startsWith(prefix) && first.param().equals(r.param())) {
+                return first.nsPerOp();
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ DoubleDataTypeDemo's gravity over whole clusters of bodies: NBody
+ (02_Datatypes_And_Variables/NBody.java) in every mode, in double and in float, at 1K, 100K
+ and 1M bodies.
+
+ Run:
+   javac --add-modules jdk.incubator.vector -d out Bench.java ../02_Datatypes_And_Variables/NBody.java NBodyBenchmark.java
+   java --add-modules jdk.incubator.vector -cp out NBodyBenchmark
+   java --add-modules jdk.incubator.vector -cp out NBodyBenchmark --quick --bodies=1000,100000
+
+ Options:
+   --bodies=1000,100000,1000000   cluster sizes
+   --budget=16777216              pairs per call for the n^2 modes
+   --theta=0.5                    Barnes-Hut opening angle
+   --steps=100                    leapfrog steps for the energy drift check
+
+ All n^2 of 1M bodies is 10^12 pairs, far too long for one call. So each call computes the
+ accelerations of the first "targets" bodies against all n, with targets = budget / n
+ (all n at 1K). ns/op is per pair, so ops/s is interactions per second. The tree rows count
+ the same n pairs per target body that the direct sum would have done, which makes their
+ ops/s "direct-equivalent" interactions per second; tree.build is per body.
+
+ Accuracy is printed after each size: the RMS relative error of each mode's accelerations
+ against DIRECT in double on 64 sampled target bodies. Energy drift is the relative change
+ of total energy after --steps leapfrog steps on a 1,000-body cluster (the energy check is
+ itself n^2, so it is not run at the big sizes).
+*/
+public class NBodyBenchmark {
+
+    static final int SAMPLE = 64;
+    static final int TREE_TARGETS = 4096;
+    static final int DRIFT_BODIES = 1000;
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("nbody", args);
+        long budget = Long.parseLong(bench.option("budget", String.valueOf(1 << 24)));
+        double theta = Double.parseDouble(bench.option("theta", "0.5"));
+        int steps = Integer.parseInt(bench.option("steps", "100"));
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        for (int n : bench.sizes("bodies", 1000, 100_000, 1_000_000)) {
+            NBody bodies = NBody.cluster(n, 42);
+            int targets = (int) Math.max(1, Math.min(n, budget / n));
+            int treeTargets = Math.min(n, TREE_TARGETS);
+            String p = "n=" + n + ",targets=" + targets;
+            long pairs = (long) targets * n;
+            StringBuilder accuracy = new StringBuilder();
+
+            for (NBody.Mode mode : new NBody.Mode[] { NBody.Mode.DIRECT, NBody.Mode.VECTOR, NBody.Mode.PARALLEL }) {
+                for (NBody.Precision precision : NBody.Precision.values()) {
+                    String name = mode.name().toLowerCase(Locale.ROOT) + "." + precision.name().toLowerCase(Locale.ROOT);
+                    bench.run(name, p, pairs, () -> {
+                        bodies.accelerations(0, targets, mode, precision, pool);
+                        return Double.doubleToRawLongBits(bodies.ax[targets - 1]);
+                    });
+                    bodies.accelerations(0, targets, mode, precision, pool);
+                    accuracy.append(String.format(Locale.ROOT, " %s %.1e", name, bodies.relativeError(sample(targets))));
+                }
+            }
+
+            bench.run("tree.build", "n=" + n, n, () -> bodies.buildTree(theta).nodes());
+            NBody.Tree tree = bodies.buildTree(theta);
+            for (NBody.Precision precision : NBody.Precision.values()) {
+                String name = "tree.walk." + precision.name().toLowerCase(Locale.ROOT);
+                bench.run(name, "n=" + n + ",targets=" + treeTargets, (long) treeTargets * n, () -> {
+                    tree.accelerations(0, treeTargets, precision, pool);
+                    return Double.doubleToRawLongBits(bodies.ax[treeTargets - 1]);
+                });
+                tree.accelerations(0, treeTargets, precision, pool);
+                accuracy.append(String.format(Locale.ROOT, " %s %.1e", name, bodies.relativeError(sample(treeTargets))));
+            }
+            System.out.println("# n=" + n + " relative error vs direct.double:" + accuracy);
+        }
+
+        StringBuilder drift = new StringBuilder();
+        for (NBody.Mode mode : new NBody.Mode[] { NBody.Mode.VECTOR, NBody.Mode.TREE }) {
+            for (NBody.Precision precision : NBody.Precision.values()) {
+                NBody bodies = NBody.cluster(DRIFT_BODIES, 42);
+                double before = bodies.energy();
+                for (int s = 0; s < steps; s++) {
+                    bodies.step(0.001, mode, precision);
+                }
+                drift.append(String.format(Locale.ROOT, " %s.%s %.2e", mode.name().toLowerCase(Locale.ROOT),
+                        precision.name().toLowerCase(Locale.ROOT), Math.abs((bodies.energy() - before) / before)));
+            }
+        }
+        System.out.println("# energy drift after " + steps + " steps of " + DRIFT_BODIES + " bodies:" + drift);
+        bench.finish();
+    }
+
+    // Target bodies to check, the same every run
+    static int[] sample(int targets) {
+        return new Random(7).ints(SAMPLE, 0, targets).toArray();
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.Random;
+
+/*
+ Benchmarks the core computation of every demo in 03_Operators.
+
+ Run:
+   javac -d out Bench.java OperatorsBenchmark.java
+   java -cp out OperatorsBenchmark --quick
+   java -cp out OperatorsBenchmark --sizes=1000000 --filter=instanceof
+*/
+public class OperatorsBenchmark {
+
+    // InstanceofOperatorDemo's Vehicle hierarchy, with a virtual method added for comparison
+    abstract static class Vehicle { abstract int wheels(); }
+    static final class Car extends Vehicle { int wheels() { return 4; } }
+    static final class Bike extends Vehicle { int wheels() { return 2; } }
+    static final class Truck extends Vehicle { int wheels() { return 6; } }
+
+    // Read from a field so the JIT cannot fold "/ 8" into a shift on its own
+    static int divisor = 8;
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("operators", args);
+        for (int size : bench.sizes("sizes", 1_000, 1_000_000)) {
+            benchmark(bench, size);
+        }
+        bench.finish();
+    }
+
+    static void benchmark(Bench bench, int size) {
+        String n = "n=" + size;
+        Random random = new Random(7);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1_000_000); // non-negative, so x / 8 == x >> 3
+        }
+
+        // ArithmeticOperatorDemo: / and % against shift and mask for a power-of-two divisor
+        bench.run("arithmetic.divideRemainder", n, size, () -> {
+            int d = divisor;
+            long acc = 0;
+            for (int v : values) {
+                acc += v / d + v % d;
+            }
+            return acc;
+        });
+        bench.run("arithmetic.shiftMask", n, size, () -> {
+            int shift = Integer.numberOfTrailingZeros(divisor);
+            int mask = divisor - 1;
+            long acc = 0;
+            for (int v : values) {
+                acc += (v >> shift) + (v & mask);
+            }
+            return acc;
+        });
+        bench.run("arithmetic.addSubMul", n, size, () -> {
+            long acc = 0;
+            for (int v : values) {
+                acc += (v + 4) - (v - 4) * 3;
+            }
+            return acc;
+        });
+
+        // AssignmentOperatorDemo: the compound assignment chain on a running balance
+        bench.run("assignment.compoundChain", n, size, () -> {
+            long total = 0;
+            for (int v : values) {
+                int balance = v;
+                balance += 500;
+                balance -= 200;
+                balance *= 2;
+                balance /= 4;
+                balance %= 3;
+                total += balance;
+            }
+            return total;
+        });
+
+        // BitwiseOperatorDemo: &, |, ^, ~, <<, >> on neighbouring values
+        bench.run("bitwise.allOperators", n, size, () -> {
+            long acc = 0;
+            for (int i = 1; i < values.length; i++) {
+                int a = values[i - 1];
+                int b = values[i];
+                acc += (a & b) + (a | b) + (a ^ b) + ~a + (a << 1) + (a >> 1);
+            }
+            return acc;
+        });
+
+        // LogicalOperatorDemo: short-circuit && / || against branch-free & / |
+        boolean[] hasID = new boolean[size];
+        boolean[] isAdult = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            hasID[i] = random.nextBoolean();
+            isAdult[i] = random.nextBoolean();
+        }
+        bench.run("logical.shortCircuit", n, size, () -> {
+            long allowed = 0;
+            for (int i = 0; i < size; i++) {
+                if (hasID[i] && isAdult[i]) {
+                    allowed++;
+                }
+            }
+            return allowed;
+        });
+        bench.run("logical.nonShortCircuit", n, size, () -> {
+            long allowed = 0;
+            for (int i = 0; i < size; i++) {
+                if (hasID[i] & isAdult[i]) {
+                    allowed++;
+                }
+            }
+            return allowed;
+        });
+
+        // RelationalOperatorDemo and TernaryOperatorDemo: comparisons feeding a decision
+        bench.run("relational.ageChecks", n, size, () -> {
+            long count = 0;
+            for (int v : values) {
+                int age = v % 100;
+                if (age >= 18) count++;
+                if (age < 13) count += 2;
+                if (age == 18) count += 3;
+                if (age != 15) count += 4;
+            }
+            return count;
+        });
+        bench.run("ternary.outfit", n, size, () -> {
+            long jackets = 0;
+            for (int v : values) {
+                int temperature = v % 40;
+                jackets += (temperature < 20) ? 1 : 0;
+            }
+            return jackets;
+        });
+
+        // UnaryOperatorDemo: pre/post increment and decrement
+        bench.run("unary.incrementDecrement", n, size, () -> {
+            int score = 10;
+            long acc = 0;
+            for (int i = 0; i < size; i++) {
+                acc += ++score;
+                acc += score--;
+                acc += -score;
+            }
+            return acc;
+        });
+
+        // InstanceofOperatorDemo: instanceof chain against a virtual call on the same objects
+        Vehicle[] vehicles = new Vehicle[size];
+        for (int i = 0; i < size; i++) {
+            int kind = random.nextInt(3);
+            vehicles[i] = kind == 0 ? new Car() : kind == 1 ? new Bike() : new Truck();
+        }
+        bench.run("instanceof.chain", n, size, () -> {
+            long wheels = 0;
+            for (Vehicle v : vehicles) {
+                if (v instanceof Car) {
+                    wheels += 4;
+                } else if (v instanceof Bike) {
+                    wheels += 2;
+                } else if (v instanceof Truck) {
+                    wheels += 6;
+                }
+            }
+            return wheels;
+        });
+        bench.run("instanceof.virtualDispatch", n, size, () -> {
+            long wheels = 0;
+            for (Vehicle v : vehicles) {
+                wheels += v.wheels();
+            }
+            return wheels;
+        });
+    }
+}
@@ -0,0 +1,207 @@
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/*
+ RangeTable (06_Control_Statements/RangeTable.java) against if-else ladders and switch
+ statements, from the guide's 5-grade ladder up to 1024 rules.
+
+ Run (needs a JDK, not just a JRE: the literal ladders are generated and compiled at start-up):
+   javac -d out Bench.java ../06_Control_Statements/RangeTable.java RangeTableBenchmark.java
+   java -cp out RangeTableBenchmark
+   java -cp out RangeTableBenchmark --quick --rules=4,64,1024
+
+ grades.*  the guide's score ladder on random scores 0..100: the if-else chain, the classic
+           switch (score / 10), and RangeTable
+ rules.*   N ranges with uneven widths (1 to 19 values each) and random inputs across them:
+           ifElse.literal   generated source: if (x < 7) return 0; if (x < 19) return 1; ...
+           switch.literal   generated source: switch (x) { case 0, 1, ..., 6 -> 0; ... },
+                            which javac turns into one jump table (tableswitch)
+           ifElse.loop      the same ladder as a loop over an int[] of bounds
+           binarySearch     Arrays.binarySearch over the bounds
+           rangeTable.search / rangeTable.dense
+
+ HotSpot does not JIT-compile methods with more than 8000 bytes of bytecode
+ (-XX:-DontCompileHugeMethods lifts that), so the literal methods for the biggest rule
+ counts stay interpreted. That is what a generated 1000-arm ladder really costs.
+*/
+public class RangeTableBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Bench bench = new Bench("rangetable", args);
+        Random random = new Random(42);
+
+        int[] scores = random.ints(4096, 0, 101).toArray();
+        RangeTable<Character> grades = RangeTable.<Character>builder()
+                .atLeast(90, 'A').atLeast(80, 'B').atLeast(70, 'C').atLeast(60, 'D')
+                .otherwise('F')
+                .build();
+        bench.run("grades.ifElse", "rules=5", scores.length, () -> {
+            long sum = 0;
+            for (int score : scores) {
+                char grade;
+                if (score >= 90) {
+                    grade = 'A';
+                } else if (score >= 80) {
+                    grade = 'B';
+                } else if (score >= 70) {
+                    grade = 'C';
+                } else if (score >= 60) {
+                    grade = 'D';
+                } else {
+                    grade = 'F';
+                }
+                sum += grade;
+            }
+            return sum;
+        });
+        bench.run("grades.switchDiv10", "rules=5", scores.length, () -> {
+            long sum = 0;
+            for (int score : scores) {
+                char grade = switch (score / 10) {
+                    case 10, 9 -> 'A';
+                    case 8 -> 'B';
+                    case 7 -> 'C';
+                    case 6 -> 'D';
+                    default -> 'F';
+                };
+                sum += grade;
+            }
+            return sum;
+        });
+        bench.run("grades.rangeTable", "rules=5", scores.length, () -> {
+            long sum = 0;
+            for (int score : scores) {
+                sum += grades.get(score);
+            }
+            return sum;
+        });
+
+        Path generated = Files.createTempDirectory("rangetable");
+        for (int rules : bench.sizes("rules", 4, 16, 64, 256, 1024)) {
+            String n = "rules=" + rules;
+            // bounds[i] is the exclusive upper end of range i; values past the last bound get rules
+            int[] bounds = new int[rules];
+            for (int i = 0, at = 0; i < rules; i++) {
+                at += 1 + random.nextInt(19);
+                bounds[i] = at;
+            }
+            int[] inputs = random.ints(4096, -5, bounds[rules - 1] + 5).toArray();
+
+            RangeTable.Builder<Integer> builder = RangeTable.builder();
+            for (int i = 0; i < rules; i++) {
+                builder.lessThan(bounds[i], i);
+            }
+            builder.otherwise(rules);
+            RangeTable<Integer> search = builder.build(RangeTable.Mode.SEARCH);
+            RangeTable<Integer> dense = bounds[rules - 1] + 1 <= RangeTable.DENSE_LIMIT
+                    ? builder.build(RangeTable.Mode.DENSE) : null;
+
+            IntUnaryOperator ladder = compile(generated, "Ladder" + rules, ladderSource("Ladder" + rules, bounds));
+            IntUnaryOperator table = compile(generated, "Switch" + rules, switchSource("Switch" + rules, bounds));
+            if (ladder != null) {
+                bench.run("rules.ifElse.literal", n, inputs.length, () -> {
+                    long sum = 0;
+                    for (int x : inputs) {
+                        sum += ladder.applyAsInt(x);
+                    }
+                    return sum;
+                });
+                bench.run("rules.switch.literal", n, inputs.length, () -> {
+                    long sum = 0;
+                    for (int x : inputs) {
+                        sum += table.applyAsInt(x);
+                    }
+                    return sum;
+                });
+            }
+            bench.run("rules.ifElse.loop", n, inputs.length, () -> {
+                long sum = 0;
+                for (int x : inputs) {
+                    int range = rules;
+                    for (int i = 0; i < rules; i++) {
+                        if (x < bounds[i]) {
+                            range = i;
+                            break;
+                        }
+                    }
+                    sum += range;
+                }
+                return sum;
+            });
+            bench.run("rules.binarySearch", n, inputs.length, () -> {
+                long sum = 0;
+                for (int x : inputs) {
+                    // First bound greater than x: that is the range x falls in
+                    int at = Arrays.binarySearch(bounds, x);
+                    sum += at >= 0 ? at + 1 : -at - 1;
+                }
+                return sum;
+            });
+            bench.run("rules.rangeTable.search", n, inputs.length, () -> {
+                long sum = 0;
+                for (int x : inputs) {
+                    sum += search.get(x);
+                }
+                return sum;
+            });
+            if (dense != null) {
+                bench.run("rules.rangeTable.dense", n, inputs.length, () -> {
+                    long sum = 0;
+                    for (int x : inputs) {
+                        sum += dense.get(x);
+                    }
+                    return sum;
+                });
+            }
+        }
+        bench.finish();
+    }
+
+    static String ladderSource(String name, int[] bounds) {
+        StringBuilder java = new StringBuilder("public final class " + name
+                + " implements java.util.function.IntUnaryOperator {\n    public int applyAsInt(int x) {\n");
+        for (int i = 0; i < bounds.length; i++) {
+            java.append("        if (x < ").append(bounds[i]).append(") return ").append(i).append(";\n");
+        }
+        return java.append("        return ").append(bounds.length).append(";\n    }\n}\n").toString();
+    }
+
+    static String switchSource(String name, int[] bounds) {
+        StringBuilder java = new StringBuilder("public final class " + name
+                + " implements java.util.function.IntUnaryOperator {\n    public int applyAsInt(int x) {\n"
+                + "        return switch (x) {\n");
+        for (int i = 0, from = 0; i < bounds.length; from = bounds[i], i++) {
+            java.append("            case ");
+            for (int v = from; v < bounds[i]; v++) {
+                java.append(v == from ? "" : ", ").append(v);
+            }
+            java.append(" -> ").append(i).append(";\n");
+        }
+        return java.append("            default -> x < 0 ? 0 : ").append(bounds.length).append(";\n        };\n    }\n}\n")
+                .toString();
+    }
+
+    // Compiles one generated class and loads it; null when no compiler is available (a JRE)
+    static IntUnaryOperator compile(Path dir, String name, String source) throws IOException, ReflectiveOperationException {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) {
+            System.out.println("# no system Java compiler: skipping the literal if-else and switch variants");
+            return null;
+        }
+        Path file = Files.writeString(dir.resolve(name + ".java"), source);
+        if (javac.run(null, null, null, "-d", dir.toString(), file.toString()) != 0) {
+            throw new IllegalStateException("Generated " + name + " did not compile");
+        }
+        URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() });
+        return (IntUnaryOperator) loader.loadClass(name).getDeclaredConstructor().newInstance();
+    }
+}
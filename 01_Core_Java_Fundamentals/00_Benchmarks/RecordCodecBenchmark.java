@@ -0,0 +1,212 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ Round-trips a batch of ClassAndObjectDemo-style cars (brand, model, year) through
+ four encodings and reports time and allocation per record, plus encoded bytes per record:
+
+   objectStream      ObjectOutputStream / ObjectInputStream, the guide's serialization example
+   dataStream        DataOutputStream.writeUTF / writeInt, read back into new Car objects
+   reflection        a generic codec that walks the class's fields with java.lang.reflect
+   recordCodec       RecordCodec (04_Input_Output/RecordCodec.java), read back into new Car objects
+   recordCodecView   RecordCodec read through the flyweight View, without creating Cars or Strings
+
+ The cars reuse a handful of brand and model String objects, as cars loaded from one
+ catalogue would. ObjectOutputStream writes a repeated object as a short back-reference,
+ which is why its bytes/record look small here; with distinct strings it grows quickly.
+
+ Run:
+   javac -d out Bench.java ../04_Input_Output/RecordCodec.java RecordCodecBenchmark.java
+   java -cp out RecordCodecBenchmark
+   java -cp out RecordCodecBenchmark --quick --records=1000
+*/
+public class RecordCodecBenchmark {
+
+    static final class Car implements Serializable {
+        private static final long serialVersionUID = 1L;
+        String brand;
+        String model;
+        int year;
+
+        Car() {
+        }
+
+        Car(String brand, String model, int year) {
+            this.brand = brand;
+            this.model = model;
+            this.year = year;
+        }
+    }
+
+    static final String[][] MODELS = {
+            { "Toyota", "Fortuner", "Innova", "Corolla" },
+            { "Hyundai", "Creta", "Verna", "i20" },
+            { "Mahindra", "Thar", "XUV700", "Scorpio" },
+            { "Škoda", "Kushaq", "Slavia", "Octavia" },
+    };
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("recordcodec", args);
+        int count = bench.sizes("records", 10_000)[0];
+        Random random = new Random(42);
+        Car[] cars = new Car[count];
+        for (int i = 0; i < count; i++) {
+            String[] brand = MODELS[random.nextInt(MODELS.length)];
+            cars[i] = new Car(brand[0], brand[1 + random.nextInt(brand.length - 1)], 1990 + random.nextInt(35));
+        }
+        String n = "records=" + count;
+
+        ReflectionCodec reflection = new ReflectionCodec(Car.class);
+        RecordCodec.Schema schema = RecordCodec.Schema.builder().string("brand").string("model").varint("year").build();
+        RecordCodec.Writer writer = new RecordCodec.Writer(schema, 1 << 16);
+        RecordCodec.View view = new RecordCodec.View(schema);
+
+        measure(bench, "roundTrip.objectStream", n, count, () -> objectStream(cars));
+        measure(bench, "roundTrip.dataStream", n, count, () -> dataStream(cars));
+        measure(bench, "roundTrip.reflection", n, count, () -> reflection.roundTrip(cars));
+        measure(bench, "roundTrip.recordCodec", n, count, () -> {
+            ByteBuffer encoded = encode(writer, cars);
+            int offset = 0;
+            long check = 0;
+            for (int i = 0; i < cars.length; i++) {
+                offset = view.wrap(encoded, offset);
+                Car car = new Car(view.getString(0), view.getString(1), view.getInt(2));
+                check += car.year + car.brand.length() + car.model.length();
+            }
+            return new long[] { encoded.limit(), check };
+        });
+        measure(bench, "roundTrip.recordCodecView", n, count, () -> {
+            ByteBuffer encoded = encode(writer, cars);
+            int offset = 0;
+            long check = 0;
+            for (int i = 0; i < cars.length; i++) {
+                offset = view.wrap(encoded, offset);
+                check += view.getInt(2) + view.stringLength(0) + view.stringLength(1);
+            }
+            return new long[] { encoded.limit(), check };
+        });
+        bench.finish();
+    }
+
+    interface RoundTrip {
+        /** Returns {encoded bytes, checksum}. */
+        long[] run() throws IOException, ReflectiveOperationException;
+    }
+
+    static void measure(Bench bench, String name, String n, int count, RoundTrip roundTrip) {
+        long[] once = call(roundTrip);
+        bench.run(name, n, count, () -> call(roundTrip)[1]);
+        System.out.printf(Locale.ROOT, "#   %.1f bytes/record%n", (double) once[0] / count);
+    }
+
+    static long[] call(RoundTrip roundTrip) {
+        try {
+            return roundTrip.run();
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static ByteBuffer encode(RecordCodec.Writer writer, Car[] cars) {
+        writer.clear();
+        for (Car car : cars) {
+            writer.writeString(car.brand).writeString(car.model).writeInt(car.year);
+        }
+        return writer.flip();
+    }
+
+    static long[] objectStream(Car[] cars) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (Car car : cars) {
+                out.writeObject(car);
+            }
+        }
+        long check = 0;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int i = 0; i < cars.length; i++) {
+                Car car = (Car) in.readObject();
+                check += car.year + car.brand.length() + car.model.length();
+            }
+        }
+        return new long[] { bytes.size(), check };
+    }
+
+    static long[] dataStream(Car[] cars) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (Car car : cars) {
+                out.writeUTF(car.brand);
+                out.writeUTF(car.model);
+                out.writeInt(car.year);
+            }
+        }
+        long check = 0;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int i = 0; i < cars.length; i++) {
+                Car car = new Car(in.readUTF(), in.readUTF(), in.readInt());
+                check += car.year + car.brand.length() + car.model.length();
+            }
+        }
+        return new long[] { bytes.size(), check };
+    }
+
+    /** A typical hand-rolled generic codec: finds the fields once, then reads and writes them reflectively. */
+    static final class ReflectionCodec {
+        private final Class<Car> type;
+        private final List<Field> fields = new ArrayList<>();
+
+        ReflectionCodec(Class<Car> type) {
+            this.type = type;
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+
+        long[] roundTrip(Car[] cars) throws IOException, ReflectiveOperationException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                for (Car car : cars) {
+                    for (Field field : fields) {
+                        if (field.getType() == int.class) {
+                            out.writeInt(field.getInt(car));
+                        } else {
+                            out.writeUTF((String) field.get(car));
+                        }
+                    }
+                }
+            }
+            long check = 0;
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                for (int i = 0; i < cars.length; i++) {
+                    Car car = type.getDeclaredConstructor().newInstance();
+                    for (Field field : fields) {
+                        if (field.getType() == int.class) {
+                            field.setInt(car, in.readInt());
+                        } else {
+                            field.set(car, in.readUTF());
+                        }
+                    }
+                    check += car.year + car.brand.length() + car.model.length();
+                }
+            }
+            return new long[] { bytes.size(), check };
+        }
+    }
+}
@@ -0,0 +1,192 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/*
+ Growing an int buffer (07_Arrays/SegmentedIntArray.java): a doubling int[], ArrayList<Integer>
+ and SegmentedIntArray with and without a shared SegmentPool, at 1M and 10M elements.
+
+ Run (10M boxed Integers need about 300 MB):
+   javac -d out Bench.java ../07_Arrays/SegmentedIntArray.java SegmentedIntArrayBenchmark.java
+   java -Xmx2g -cp out SegmentedIntArrayBenchmark
+   java -cp out SegmentedIntArrayBenchmark --quick --sizes=1000000
+
+ Workloads (ns/op and B/op are per element appended):
+   append     add() one value at a time into an empty buffer
+   appendBulk addAll() in batches of 1000, as a reader filling from a socket would
+   mixed      an ingestion buffer: append batches of 1000, read 100 random elements
+              after each batch, and every 64K elements drain the buffer into an int[]
+              and empty it. The pooled array reuses its segments after every drain.
+*/
+public class SegmentedIntArrayBenchmark {
+
+    static final int BATCH = 1000;
+    static final int DRAIN_EVERY = 1 << 16;
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("segmentedintarray", args);
+        for (int size : bench.sizes("sizes", 1_000_000, 10_000_000)) {
+            String n = "n=" + size;
+            int[] values = new int[size];
+            Random random = new Random(42);
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt();
+            }
+            int[] batch = Arrays.copyOf(values, BATCH);
+            SegmentedIntArray.SegmentPool pool = new SegmentedIntArray.SegmentPool(SegmentedIntArray.DEFAULT_SEGMENT_SIZE,
+                    size / SegmentedIntArray.DEFAULT_SEGMENT_SIZE + 1);
+
+            bench.run("append.doublingArray", n, size, () -> {
+                DoublingIntArray buffer = new DoublingIntArray();
+                for (int value : values) {
+                    buffer.add(value);
+                }
+                return buffer.size;
+            });
+            bench.run("append.ArrayList<Integer>", n, size, () -> {
+                List<Integer> buffer = new ArrayList<>();
+                for (int value : values) {
+                    buffer.add(value);
+                }
+                return buffer.size();
+            });
+            bench.run("append.segmented", n, size, () -> {
+                SegmentedIntArray buffer = new SegmentedIntArray();
+                for (int value : values) {
+                    buffer.add(value);
+                }
+                return buffer.size();
+            });
+            bench.run("append.segmentedPooled", n, size, () -> {
+                SegmentedIntArray buffer = new SegmentedIntArray(pool);
+                for (int value : values) {
+                    buffer.add(value);
+                }
+                int filled = buffer.size();
+                buffer.clear();
+                return filled;
+            });
+
+            bench.run("appendBulk.doublingArray", n, size, () -> {
+                DoublingIntArray buffer = new DoublingIntArray();
+                for (int from = 0; from < size; from += BATCH) {
+                    buffer.addAll(values, from, Math.min(BATCH, size - from));
+                }
+                return buffer.size;
+            });
+            bench.run("appendBulk.ArrayList<Integer>", n, size, () -> {
+                List<Integer> buffer = new ArrayList<>();
+                for (int from = 0; from < size; from += BATCH) {
+                    // addAll needs a Collection, so each batch is boxed first
+                    int to = Math.min(size, from + BATCH);
+                    for (int i = from; i < to; i++) {
+                        buffer.add(values[i]);
+                    }
+                }
+                return buffer.size();
+            });
+            bench.run("appendBulk.segmented", n, size, () -> {
+                SegmentedIntArray buffer = new SegmentedIntArray();
+                for (int from = 0; from < size; from += BATCH) {
+                    buffer.addAll(values, from, Math.min(BATCH, size - from));
+                }
+                return buffer.size();
+            });
+            bench.run("appendBulk.segmentedPooled", n, size, () -> {
+                SegmentedIntArray buffer = new SegmentedIntArray(pool);
+                for (int from = 0; from < size; from += BATCH) {
+                    buffer.addAll(values, from, Math.min(BATCH, size - from));
+                }
+                int filled = buffer.size();
+                buffer.clear();
+                return filled;
+            });
+
+            int[] readIndexes = new int[100];
+            for (int i = 0; i < readIndexes.length; i++) {
+                readIndexes[i] = random.nextInt(DRAIN_EVERY);
+            }
+            bench.run("mixed.doublingArray", n, size, () -> {
+                DoublingIntArray buffer = new DoublingIntArray();
+                long sum = 0;
+                for (int appended = 0; appended < size; appended += BATCH) {
+                    buffer.addAll(batch, 0, BATCH);
+                    for (int index : readIndexes) {
+                        sum += buffer.data[index % buffer.size];
+                    }
+                    if (buffer.size >= DRAIN_EVERY) {
+                        sum += Arrays.copyOf(buffer.data, buffer.size)[0];
+                        // Emptying a doubling array means starting a fresh one, or keeping the big one forever
+                        buffer = new DoublingIntArray();
+                    }
+                }
+                return sum;
+            });
+            bench.run("mixed.ArrayList<Integer>", n, size, () -> {
+                List<Integer> buffer = new ArrayList<>();
+                long sum = 0;
+                for (int appended = 0; appended < size; appended += BATCH) {
+                    for (int value : batch) {
+                        buffer.add(value);
+                    }
+                    for (int index : readIndexes) {
+                        sum += buffer.get(index % buffer.size());
+                    }
+                    if (buffer.size() >= DRAIN_EVERY) {
+                        int[] drained = new int[buffer.size()];
+                        for (int i = 0; i < drained.length; i++) {
+                            drained[i] = buffer.get(i);
+                        }
+                        sum += drained[0];
+                        buffer = new ArrayList<>();
+                    }
+                }
+                return sum;
+            });
+            // A pool that keeps nothing: every drain drops its segments and the next batch allocates new ones
+            SegmentedIntArray.SegmentPool noPool = new SegmentedIntArray.SegmentPool(SegmentedIntArray.DEFAULT_SEGMENT_SIZE, 0);
+            bench.run("mixed.segmented", n, size, () -> mixed(new SegmentedIntArray(noPool), batch, readIndexes, size));
+            SegmentedIntArray pooled = new SegmentedIntArray(pool);
+            bench.run("mixed.segmentedPooled", n, size, () -> mixed(pooled, batch, readIndexes, size));
+        }
+        bench.finish();
+    }
+
+    static long mixed(SegmentedIntArray buffer, int[] batch, int[] readIndexes, int size) {
+        long sum = 0;
+        for (int appended = 0; appended < size; appended += BATCH) {
+            buffer.addAll(batch, 0, BATCH);
+            for (int index : readIndexes) {
+                sum += buffer.get(index % buffer.size());
+            }
+            if (buffer.size() >= DRAIN_EVERY) {
+                sum += buffer.toArray()[0];
+                buffer.clear();
+            }
+        }
+        buffer.clear();
+        return sum;
+    }
+
+    /** The guide's raw-array growth: when full, allocate twice the length and copy everything. */
+    static final class DoublingIntArray {
+        int[] data = new int[10];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+
+        void addAll(int[] values, int from, int length) {
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            }
+            System.arraycopy(values, from, data, size, length);
+            size += length;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ StringDataTypeDemo's profile work (build with +, toUpperCase, contains) against StringKit
+ (02_Datatypes_And_Variables/StringKit.java), on profiles in one script and in many.
+
+ Run:
+   javac -d out Bench.java ../02_Datatypes_And_Variables/StringKit.java StringKitBenchmark.java
+   java -cp out StringKitBenchmark
+   java -cp out StringKitBenchmark --quick --keywords=4,64
+
+ Options:
+   --keywords=4,16,64   how many keywords to look for in each bio
+   --vocab=1000,100000  distinct city names in the intern workload (the cache holds 4096)
+
+ Inputs (4096 profiles per call, ns/op is per profile or per token):
+   ascii   every name, city and bio in plain ASCII, like the demo
+   mixed   a third ASCII, the rest Latin with accents, Devanagari, Greek, Cyrillic, CJK,
+           with © and emoji, like CharDataTypeDemo's characters
+
+ build.*     name + " from " + city + " - " + bio: concatenation, a new StringBuilder,
+             StringKit.scratch() with toString(), and scratch() kept as a CharSequence
+ upper.*     String.toUpperCase() (default Locale), toUpperCase(Locale.ROOT), StringKit's
+             toUpperCase and appendUpperCase into the scratch builder
+ contains.*  does the bio mention any keyword (almost none do): one contains() per
+             keyword against MultiMatcher.containsAny; then the same ignoring case,
+             upper-casing the bio once against StringKit.containsIgnoreCase per keyword
+             against MultiMatcher.ignoringCase
+ intern.*    comma-separated city names read from a char[]: new String per token, then
+             String.intern(), a ConcurrentHashMap, and InternCache from the String and
+             straight from the chars
+*/
+public class StringKitBenchmark {
+
+    static final int PROFILES = 4096;
+    static final int TOKENS = 4096;
+
+    static final String[] ASCII_NAMES = { "Aryan Sharma", "Priya Nair", "John Smith", "Mei Lin", "Omar Haddad" };
+    static final String[] ASCII_CITIES = { "Delhi", "Mumbai", "London", "Singapore", "Dubai" };
+    static final String[] ASCII_BIOS = {
+        "Java Developer & Tech Enthusiast",
+        "Backend engineer who writes about databases and distributed systems",
+        "Product designer, coffee lover, weekend cyclist",
+        "Data scientist working on forecasting for retail supply chains",
+    };
+    static final String[] OTHER_NAMES = { "José Müller", "आर्यन शर्मा", "Γιώργος Παπαδόπουλος", "Дмитрий Иванов", "王伟" };
+    static final String[] OTHER_CITIES = { "München", "दिल्ली", "Αθήνα", "Москва", "北京" };
+    static final String[] OTHER_BIOS = {
+        "Java डेवलपर और टेक उत्साही 💻",
+        "Ingénieur logiciel © 2024, spécialisé en systèmes distribués",
+        "Προγραμματιστής Java και λάτρης της τεχνολογίας",
+        "Разработчик на Java, люблю велосипед 🚴",
+        "软件工程师，喜欢咖啡和骑自行车 ☕",
+        "Straße-Fußball Trainer und Backend-Entwickler",
+    };
+    // Keywords in several scripts; none of them appears in the bios above
+    static final String[] KEYWORD_POOL = {
+        "kotlin", "scala", "haskell", "erlang", "elixir", "clojure", "fortran", "cobol",
+        "पायथन", "रस्ट", "Ruby", "Perl", "Φορτράν", "Котлин", "数据库", "区块链",
+        "quantum", "embedded", "firmware", "blockchain", "kubernetes", "terraform", "ansible", "grafana",
+    };
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("stringkit", args);
+        for (String script : new String[] { "ascii", "mixed" }) {
+            Random random = new Random(42);
+            String[] names = new String[PROFILES];
+            String[] cities = new String[PROFILES];
+            String[] bios = new String[PROFILES];
+            for (int i = 0; i < PROFILES; i++) {
+                boolean ascii = script.equals("ascii") || random.nextInt(3) == 0;
+                names[i] = pick(random, ascii ? ASCII_NAMES : OTHER_NAMES);
+                cities[i] = pick(random, ascii ? ASCII_CITIES : OTHER_CITIES);
+                bios[i] = pick(random, ascii ? ASCII_BIOS : OTHER_BIOS);
+            }
+            String n = "text=" + script;
+
+            bench.run("build.concat", n, PROFILES, () -> {
+                long sum = 0;
+                for (int i = 0; i < PROFILES; i++) {
+                    String profile = names[i] + " from " + cities[i] + " - " + bios[i];
+                    sum += profile.length();
+                }
+                return sum;
+            });
+            bench.run("build.newBuilder", n, PROFILES, () -> {
+                long sum = 0;
+                for (int i = 0; i < PROFILES; i++) {
+                    String profile = new StringBuilder().append(names[i]).append(" from ").append(cities[i])
+                            .append(" - ").append(bios[i]).toString();
+                    sum += profile.length();
+                }
+                return sum;
+            });
+            bench.run("build.scratch.toString", n, PROFILES, () -> {
+                long sum = 0;
+                for (int i = 0; i < PROFILES; i++) {
+                    String profile = StringKit.scratch().append(names[i]).append(" from ").append(cities[i])
+                            .append(" - ").append(bios[i]).toString();
+                    sum += profile.length();
+                }
+                return sum;
+            });
+            bench.run("build.scratch", n, PROFILES, () -> {
+                long sum = 0;
+                for (int i = 0; i < PROFILES; i++) {
+                    StringBuilder profile = StringKit.scratch().append(names[i]).append(" from ").append(cities[i])
+                            .append(" - ").append(bios[i]);
+                    sum += profile.length() + profile.charAt(profile.length() - 1);
+                }
+                return sum;
+            });
+
+            bench.run("upper.String", n, PROFILES, () -> {
+                long sum = 0;
+                for (String bio : bios) {
+                    sum += bio.toUpperCase().length();
+                }
+                return sum;
+            });
+            bench.run("upper.String.root", n, PROFILES, () -> {
+                long sum = 0;
+                for (String bio : bios) {
+                    sum += bio.toUpperCase(Locale.ROOT).length();
+                }
+                return sum;
+            });
+            bench.run("upper.kit", n, PROFILES, () -> {
+                long sum = 0;
+                for (String bio : bios) {
+                    sum += StringKit.toUpperCase(bio).length();
+                }
+                return sum;
+            });
+            bench.run("upper.kit.append", n, PROFILES, () -> {
+                long sum = 0;
+                for (String bio : bios) {
+                    sum += StringKit.appendUpperCase(StringKit.scratch(), bio).length();
+                }
+                return sum;
+            });
+
+            for (int count : bench.sizes("keywords", 4, 16, 64)) {
+                String k = n + ",keywords=" + count;
+                String[] keywords = new String[count];
+                String[] upperKeywords = new String[count];
+                for (int i = 0; i < count; i++) {
+                    keywords[i] = KEYWORD_POOL[i % KEYWORD_POOL.length] + (i < KEYWORD_POOL.length ? "" : i);
+                    upperKeywords[i] = keywords[i].toUpperCase(Locale.ROOT);
+                }
+                StringKit.MultiMatcher exact = StringKit.MultiMatcher.of(keywords);
+                StringKit.MultiMatcher anyCase = StringKit.MultiMatcher.ignoringCase(keywords);
+
+                bench.run("contains.loop", k, PROFILES, () -> {
+                    long hits = 0;
+                    for (String bio : bios) {
+                        for (String keyword : keywords) {
+                            if (bio.contains(keyword)) {
+                                hits++;
+                                break;
+                            }
+                        }
+                    }
+                    return hits;
+                });
+                bench.run("contains.multiMatcher", k, PROFILES, () -> {
+                    long hits = 0;
+                    for (String bio : bios) {
+                        hits += exact.containsAny(bio) ? 1 : 0;
+                    }
+                    return hits;
+                });
+                bench.run("containsIgnoreCase.upperLoop", k, PROFILES, () -> {
+                    long hits = 0;
+                    for (String bio : bios) {
+                        String upper = bio.toUpperCase(Locale.ROOT);
+                        for (String keyword : upperKeywords) {
+                            if (upper.contains(keyword)) {
+                                hits++;
+                                break;
+                            }
+                        }
+                    }
+                    return hits;
+                });
+                bench.run("containsIgnoreCase.kitLoop", k, PROFILES, () -> {
+                    long hits = 0;
+                    for (String bio : bios) {
+                        for (String keyword : keywords) {
+                            if (StringKit.containsIgnoreCase(bio, keyword)) {
+                                hits++;
+                                break;
+                            }
+                        }
+                    }
+                    return hits;
+                });
+                bench.run("containsIgnoreCase.multiMatcher", k, PROFILES, () -> {
+                    long hits = 0;
+                    for (String bio : bios) {
+                        hits += anyCase.containsAny(bio) ? 1 : 0;
+                    }
+                    return hits;
+                });
+            }
+        }
+
+        for (int vocab : bench.sizes("vocab", 1000, 100_000)) {
+            String n = "vocab=" + vocab;
+            Random random = new Random(42);
+            String[] words = new String[vocab];
+            for (int i = 0; i < vocab; i++) {
+                String base = i % 3 == 0 ? pick(random, ASCII_CITIES) : pick(random, OTHER_CITIES);
+                words[i] = base + "-" + i;
+            }
+            // One buffer of comma-separated tokens, as a parser would see them
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < TOKENS; i++) {
+                text.append(words[random.nextInt(vocab)]).append(',');
+            }
+            char[] chars = text.toString().toCharArray();
+            ConcurrentHashMap<String, String> map = new ConcurrentHashMap<>();
+            StringKit.InternCache cache = new StringKit.InternCache(4096);
+
+            bench.run("intern.newString", n, TOKENS, () -> {
+                long sum = 0;
+                for (int from = 0, to; from < chars.length; from = to + 1) {
+                    to = comma(chars, from);
+                    sum += new String(chars, from, to - from).hashCode();
+                }
+                return sum;
+            });
+            bench.run("intern.String.intern", n, TOKENS, () -> {
+                long sum = 0;
+                for (int from = 0, to; from < chars.length; from = to + 1) {
+                    to = comma(chars, from);
+                    sum += System.identityHashCode(new String(chars, from, to - from).intern());
+                }
+                return sum;
+            });
+            bench.run("intern.concurrentHashMap", n, TOKENS, () -> {
+                long sum = 0;
+                for (int from = 0, to; from < chars.length; from = to + 1) {
+                    to = comma(chars, from);
+                    String s = new String(chars, from, to - from);
+                    String canonical = map.putIfAbsent(s, s);
+                    sum += System.identityHashCode(canonical != null ? canonical : s);
+                }
+                return sum;
+            });
+            bench.run("intern.cache.string", n, TOKENS, () -> {
+                long sum = 0;
+                for (int from = 0, to; from < chars.length; from = to + 1) {
+                    to = comma(chars, from);
+                    sum += System.identityHashCode(cache.intern(new String(chars, from, to - from)));
+                }
+                return sum;
+            });
+            bench.run("intern.cache.chars", n, TOKENS, () -> {
+                long sum = 0;
+                for (int from = 0, to; from < chars.length; from = to + 1) {
+                    to = comma(chars, from);
+                    sum += System.identityHashCode(cache.intern(chars, from, to));
+                }
+                return sum;
+            });
+            if (!map.isEmpty()) {
+                System.out.printf(Locale.ROOT, "# %s: ConcurrentHashMap holds %,d Strings, InternCache %,d of %,d slots%n",
+                        n, map.size(), cache.size(), cache.capacity());
+            }
+        }
+        bench.finish();
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    static int comma(char[] chars, int from) {
+        int to = from;
+        while (chars[to] != ',') {
+            to++;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,422 @@
+import java.util.Random;
+
+/*
+ Routes messages drawn from 3 up to 64 subtypes three ways and reports ns per message:
+
+   instanceofChain  if (m instanceof M00) ... else if (m instanceof M01) ... for all 64 types
+   sealedSwitch     an exhaustive pattern-matching switch over the sealed Message hierarchy
+   typeRouter       TypeRouter (03_Operators/TypeRouter.java), cached per class in a ClassValue
+
+ With k subtypes in play, a chain needs k/2 checks on average, so its cost grows with k.
+ TypeRouter should stay flat.
+
+ Run:
+   javac -d out Bench.java ../03_Operators/InstanceofOperatorDemo.java ../03_Operators/TypeRouter.java TypeRouterBenchmark.java
+   java -cp out TypeRouterBenchmark --quick
+   java -cp out TypeRouterBenchmark --subtypes=3,64
+*/
+public class TypeRouterBenchmark {
+
+    // 64 empty message types; each handler just returns the type's number
+    abstract static sealed class Message permits
+            M00, M01, M02, M03, M04, M05, M06, M07, M08, M09, M10, M11, M12, M13, M14, M15, M16, M17, M18, M19,
+            M20, M21, M22, M23, M24, M25, M26, M27, M28, M29, M30, M31, M32, M33, M34, M35, M36, M37, M38, M39,
+            M40, M41, M42, M43, M44, M45, M46, M47, M48, M49, M50, M51, M52, M53, M54, M55, M56, M57, M58, M59,
+            M60, M61, M62, M63 {
+    }
+
+    static final class M00 extends Message {}
+    static final class M01 extends Message {}
+    static final class M02 extends Message {}
+    static final class M03 extends Message {}
+    static final class M04 extends Message {}
+    static final class M05 extends Message {}
+    static final class M06 extends Message {}
+    static final class M07 extends Message {}
+    static final class M08 extends Message {}
+    static final class M09 extends Message {}
+    static final class M10 extends Message {}
+    static final class M11 extends Message {}
+    static final class M12 extends Message {}
+    static final class M13 extends Message {}
+    static final class M14 extends Message {}
+    static final class M15 extends Message {}
+    static final class M16 extends Message {}
+    static final class M17 extends Message {}
+    static final class M18 extends Message {}
+    static final class M19 extends Message {}
+    static final class M20 extends Message {}
+    static final class M21 extends Message {}
+    static final class M22 extends Message {}
+    static final class M23 extends Message {}
+    static final class M24 extends Message {}
+    static final class M25 extends Message {}
+    static final class M26 extends Message {}
+    static final class M27 extends Message {}
+    static final class M28 extends Message {}
+    static final class M29 extends Message {}
+    static final class M30 extends Message {}
+    static final class M31 extends Message {}
+    static final class M32 extends Message {}
+    static final class M33 extends Message {}
+    static final class M34 extends Message {}
+    static final class M35 extends Message {}
+    static final class M36 extends Message {}
+    static final class M37 extends Message {}
+    static final class M38 extends Message {}
+    static final class M39 extends Message {}
+    static final class M40 extends Message {}
+    static final class M41 extends Message {}
+    static final class M42 extends Message {}
+    static final class M43 extends Message {}
+    static final class M44 extends Message {}
+    static final class M45 extends Message {}
+    static final class M46 extends Message {}
+    static final class M47 extends Message {}
+    static final class M48 extends Message {}
+    static final class M49 extends Message {}
+    static final class M50 extends Message {}
+    static final class M51 extends Message {}
+    static final class M52 extends Message {}
+    static final class M53 extends Message {}
+    static final class M54 extends Message {}
+    static final class M55 extends Message {}
+    static final class M56 extends Message {}
+    static final class M57 extends Message {}
+    static final class M58 extends Message {}
+    static final class M59 extends Message {}
+    static final class M60 extends Message {}
+    static final class M61 extends Message {}
+    static final class M62 extends Message {}
+    static final class M63 extends Message {}
+
+    static final Class<?>[] TYPES = {
+            M00.class, M01.class, M02.class, M03.class, M04.class, M05.class, M06.class, M07.class,
+            M08.class, M09.class, M10.class, M11.class, M12.class, M13.class, M14.class, M15.class,
+            M16.class, M17.class, M18.class, M19.class, M20.class, M21.class, M22.class, M23.class,
+            M24.class, M25.class, M26.class, M27.class, M28.class, M29.class, M30.class, M31.class,
+            M32.class, M33.class, M34.class, M35.class, M36.class, M37.class, M38.class, M39.class,
+            M40.class, M41.class, M42.class, M43.class, M44.class, M45.class, M46.class, M47.class,
+            M48.class, M49.class, M50.class, M51.class, M52.class, M53.class, M54.class, M55.class,
+            M56.class, M57.class, M58.class, M59.class, M60.class, M61.class, M62.class, M63.class,
+    };
+
+    static Message create(int type) {
+        return switch (type) {
+            case 0 -> new M00();
+            case 1 -> new M01();
+            case 2 -> new M02();
+            case 3 -> new M03();
+            case 4 -> new M04();
+            case 5 -> new M05();
+            case 6 -> new M06();
+            case 7 -> new M07();
+            case 8 -> new M08();
+            case 9 -> new M09();
+            case 10 -> new M10();
+            case 11 -> new M11();
+            case 12 -> new M12();
+            case 13 -> new M13();
+            case 14 -> new M14();
+            case 15 -> new M15();
+            case 16 -> new M16();
+            case 17 -> new M17();
+            case 18 -> new M18();
+            case 19 -> new M19();
+            case 20 -> new M20();
+            case 21 -> new M21();
+            case 22 -> new M22();
+            case 23 -> new M23();
+            case 24 -> new M24();
+            case 25 -> new M25();
+            case 26 -> new M26();
+            case 27 -> new M27();
+            case 28 -> new M28();
+            case 29 -> new M29();
+            case 30 -> new M30();
+            case 31 -> new M31();
+            case 32 -> new M32();
+            case 33 -> new M33();
+            case 34 -> new M34();
+            case 35 -> new M35();
+            case 36 -> new M36();
+            case 37 -> new M37();
+            case 38 -> new M38();
+            case 39 -> new M39();
+            case 40 -> new M40();
+            case 41 -> new M41();
+            case 42 -> new M42();
+            case 43 -> new M43();
+            case 44 -> new M44();
+            case 45 -> new M45();
+            case 46 -> new M46();
+            case 47 -> new M47();
+            case 48 -> new M48();
+            case 49 -> new M49();
+            case 50 -> new M50();
+            case 51 -> new M51();
+            case 52 -> new M52();
+            case 53 -> new M53();
+            case 54 -> new M54();
+            case 55 -> new M55();
+            case 56 -> new M56();
+            case 57 -> new M57();
+            case 58 -> new M58();
+            case 59 -> new M59();
+            case 60 -> new M60();
+            case 61 -> new M61();
+            case 62 -> new M62();
+            case 63 -> new M63();
+            default -> throw new IllegalArgumentException("Unknown message type: " + type);
+        };
+    }
+
+    static int instanceofChain(Message m) {
+        if (m instanceof M00) {
+            return 0;
+        } else if (m instanceof M01) {
+            return 1;
+        } else if (m instanceof M02) {
+            return 2;
+        } else if (m instanceof M03) {
+            return 3;
+        } else if (m instanceof M04) {
+            return 4;
+        } else if (m instanceof M05) {
+            return 5;
+        } else if (m instanceof M06) {
+            return 6;
+        } else if (m instanceof M07) {
+            return 7;
+        } else if (m instanceof M08) {
+            return 8;
+        } else if (m instanceof M09) {
+            return 9;
+        } else if (m instanceof M10) {
+            return 10;
+        } else if (m instanceof M11) {
+            return 11;
+        } else if (m instanceof M12) {
+            return 12;
+        } else if (m instanceof M13) {
+            return 13;
+        } else if (m instanceof M14) {
+            return 14;
+        } else if (m instanceof M15) {
+            return 15;
+        } else if (m instanceof M16) {
+            return 16;
+        } else if (m instanceof M17) {
+            return 17;
+        } else if (m instanceof M18) {
+            return 18;
+        } else if (m instanceof M19) {
+            return 19;
+        } else if (m instanceof M20) {
+            return 20;
+        } else if (m instanceof M21) {
+            return 21;
+        } else if (m instanceof M22) {
+            return 22;
+        } else if (m instanceof M23) {
+            return 23;
+        } else if (m instanceof M24) {
+            return 24;
+        } else if (m instanceof M25) {
+            return 25;
+        } else if (m instanceof M26) {
+            return 26;
+        } else if (m instanceof M27) {
+            return 27;
+        } else if (m instanceof M28) {
+            return 28;
+        } else if (m instanceof M29) {
+            return 29;
+        } else if (m instanceof M30) {
+            return 30;
+        } else if (m instanceof M31) {
+            return 31;
+        } else if (m instanceof M32) {
+            return 32;
+        } else if (m instanceof M33) {
+            return 33;
+        } else if (m instanceof M34) {
+            return 34;
+        } else if (m instanceof M35) {
+            return 35;
+        } else if (m instanceof M36) {
+            return 36;
+        } else if (m instanceof M37) {
+            return 37;
+        } else if (m instanceof M38) {
+            return 38;
+        } else if (m instanceof M39) {
+            return 39;
+        } else if (m instanceof M40) {
+            return 40;
+        } else if (m instanceof M41) {
+            return 41;
+        } else if (m instanceof M42) {
+            return 42;
+        } else if (m instanceof M43) {
+            return 43;
+        } else if (m instanceof M44) {
+            return 44;
+        } else if (m instanceof M45) {
+            return 45;
+        } else if (m instanceof M46) {
+            return 46;
+        } else if (m instanceof M47) {
+            return 47;
+        } else if (m instanceof M48) {
+            return 48;
+        } else if (m instanceof M49) {
+            return 49;
+        } else if (m instanceof M50) {
+            return 50;
+        } else if (m instanceof M51) {
+            return 51;
+        } else if (m instanceof M52) {
+            return 52;
+        } else if (m instanceof M53) {
+            return 53;
+        } else if (m instanceof M54) {
+            return 54;
+        } else if (m instanceof M55) {
+            return 55;
+        } else if (m instanceof M56) {
+            return 56;
+        } else if (m instanceof M57) {
+            return 57;
+        } else if (m instanceof M58) {
+            return 58;
+        } else if (m instanceof M59) {
+            return 59;
+        } else if (m instanceof M60) {
+            return 60;
+        } else if (m instanceof M61) {
+            return 61;
+        } else if (m instanceof M62) {
+            return 62;
+        } else if (m instanceof M63) {
+            return 63;
+        }
+        return -1;
+    }
+
+    static int sealedSwitch(Message m) {
+        return switch (m) {
+            case M00 x -> 0;
+            case M01 x -> 1;
+            case M02 x -> 2;
+            case M03 x -> 3;
+            case M04 x -> 4;
+            case M05 x -> 5;
+            case M06 x -> 6;
+            case M07 x -> 7;
+            case M08 x -> 8;
+            case M09 x -> 9;
+            case M10 x -> 10;
+            case M11 x -> 11;
+            case M12 x -> 12;
+            case M13 x -> 13;
+            case M14 x -> 14;
+            case M15 x -> 15;
+            case M16 x -> 16;
+            case M17 x -> 17;
+            case M18 x -> 18;
+            case M19 x -> 19;
+            case M20 x -> 20;
+            case M21 x -> 21;
+            case M22 x -> 22;
+            case M23 x -> 23;
+            case M24 x -> 24;
+            case M25 x -> 25;
+            case M26 x -> 26;
+            case M27 x -> 27;
+            case M28 x -> 28;
+            case M29 x -> 29;
+            case M30 x -> 30;
+            case M31 x -> 31;
+            case M32 x -> 32;
+            case M33 x -> 33;
+            case M34 x -> 34;
+            case M35 x -> 35;
+            case M36 x -> 36;
+            case M37 x -> 37;
+            case M38 x -> 38;
+            case M39 x -> 39;
+            case M40 x -> 40;
+            case M41 x -> 41;
+            case M42 x -> 42;
+            case M43 x -> 43;
+            case M44 x -> 44;
+            case M45 x -> 45;
+            case M46 x -> 46;
+            case M47 x -> 47;
+            case M48 x -> 48;
+            case M49 x -> 49;
+            case M50 x -> 50;
+            case M51 x -> 51;
+            case M52 x -> 52;
+            case M53 x -> 53;
+            case M54 x -> 54;
+            case M55 x -> 55;
+            case M56 x -> 56;
+            case M57 x -> 57;
+            case M58 x -> 58;
+            case M59 x -> 59;
+            case M60 x -> 60;
+            case M61 x -> 61;
+            case M62 x -> 62;
+            case M63 x -> 63;
+        };
+    }
+
+    static TypeRouter<Message, Integer> router() {
+        TypeRouter.Builder<Message, Integer> builder = TypeRouter.builder();
+        for (int i = 0; i < TYPES.length; i++) {
+            Integer id = i; // boxed once here, so routing itself does not allocate
+            @SuppressWarnings("unchecked")
+            Class<Message> type = (Class<Message>) TYPES[i];
+            builder.on(type, m -> id);
+        }
+        return builder.build();
+    }
+
+    public static void main(String[] args) {
+        Bench bench = new Bench("typerouter", args);
+        int messages = bench.sizes("messages", 1 << 16)[0];
+        TypeRouter<Message, Integer> router = router();
+        for (int subtypes : bench.sizes("subtypes", 3, 8, 16, 32, 64)) {
+            Message[] stream = new Message[messages];
+            Random random = new Random(42);
+            for (int i = 0; i < messages; i++) {
+                stream[i] = create(random.nextInt(subtypes));
+            }
+            String n = "subtypes=" + subtypes;
+            bench.run("route.instanceofChain", n, messages, () -> {
+                long sum = 0;
+                for (Message m : stream) {
+                    sum += instanceofChain(m);
+                }
+                return sum;
+            });
+            bench.run("route.sealedSwitch", n, messages, () -> {
+                long sum = 0;
+                for (Message m : stream) {
+                    sum += sealedSwitch(m);
+                }
+                return sum;
+            });
+            bench.run("route.typeRouter", n, messages, () -> {
+                long sum = 0;
+                for (Message m : stream) {
+                    sum += router.route(m);
+                }
+                return sum;
+            });
+        }
+        bench.finish();
+    }
+}
@@ -0,0 +1,305 @@
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/*
+ DemoLauncher runs the demos' main methods one after another in a single JVM, so the whole
+ suite pays for JVM start-up once instead of once per demo, and reports how long each demo
+ took to load and to run.
+
+ Build (each folder gets its own jar: two folders both define a class Car, so the demos
+ cannot share one class path):
+   cd 01_Core_Java_Fundamentals
+   for d in 01_Introduction 02_Datatypes_And_Variables 03_Operators 04_Input_Output \
+            05_Type_Casting 06_Control_Statements 07_Arrays; do
+     javac --add-modules jdk.incubator.vector -d out/classes/$d $d/*.java
+     jar --create --file out/$d.jar -C out/classes/$d .
+   done
+
+ Run:
+   java -cp out/01_Introduction.jar DemoLauncher                    HelloWorld and the 21 *Demo classes
+   java -cp out/01_Introduction.jar DemoLauncher --quiet --rounds=3
+   java -cp out/01_Introduction.jar DemoLauncher --mode=forked      one JVM per demo, for comparison
+   java --add-modules jdk.incubator.vector -cp out/01_Introduction.jar DemoLauncher --all
+
+ Options:
+   --dir=out          where the folder jars (or class directories) are; by default the
+                      directory the launcher itself was loaded from
+   --match=REGEX      which classes to run (default HelloWorld|.*Demo); --all runs every
+                      class with a main, skipping classes the JVM cannot load
+   --mode=in-process  one class loader per folder, created once: a demo's classes load the
+                      first time it runs and stay loaded, so --rounds=2 shows warm runs
+   --mode=isolated    a fresh class loader for every run of every demo: its classes and
+                      static fields start over as in a new JVM, but the JDK and the JIT stay warm
+   --mode=forked      a new java process per demo, the way the guides run them
+   --rounds=1         run the suite this many times
+   --quiet            discard the demos' output and print only the timings
+
+ Start-up with AppCDS: class data sharing keeps the classes a run loaded, already parsed and
+ verified, in an archive the JVM maps into memory at start-up. The archive only fits the
+ exact JDK build that wrote it, so it is made as the last build step, not checked in:
+   java -XX:ArchiveClassesAtExit=out/demos.jsa -cp out/01_Introduction.jar DemoLauncher --quiet
+   java -XX:SharedArchiveFile=out/demos.jsa -cp out/01_Introduction.jar DemoLauncher
+ (On JDK 19+, -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=out/demos.jsa writes the
+ archive on the first run and uses it afterwards.) CDS only archives classes that come from
+ jar files, which is the other reason the build makes jars.
+*/
+public final class DemoLauncher {
+
+    enum Mode { IN_PROCESS, ISOLATED, FORKED }
+
+    static final String DEFAULT_MATCH = "HelloWorld|.*Demo";
+
+    /** A candidate main class and the jar or directory it comes from. */
+    record Demo(String name, Path folder) {
+        String folderName() {
+            return folder.getFileName().toString().replaceFirst("\\.jar$", "");
+        }
+    }
+
+    /** One run of one demo; loadNanos is -1 when it is not measured separately (forked). */
+    record Timing(Demo demo, long loadNanos, long runNanos, String failure) {
+    }
+
+    private final Mode mode;
+    private final boolean quiet;
+    private final PrintStream report;
+    // IN_PROCESS keeps one loader per folder for the whole session
+    private final Map<Path, URLClassLoader> folderLoaders = new HashMap<>();
+
+    DemoLauncher(Mode mode, boolean quiet, PrintStream report) {
+        this.mode = mode;
+        this.quiet = quiet;
+        this.report = report;
+    }
+
+    /** Every jar, and every directory holding .class files, directly inside dir. */
+    static List<Path> folders(Path dir) throws IOException {
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.filter(path -> path.toString().endsWith(".jar") || hasClassFiles(path)).sorted().toList();
+        }
+    }
+
+    private static boolean hasClassFiles(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.anyMatch(file -> file.toString().endsWith(".class"));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Top-level default-package classes in a folder whose names match, without loading them. */
+    static List<Demo> candidates(Path folder, Pattern match) throws IOException {
+        List<String> names = new ArrayList<>();
+        if (folder.toString().endsWith(".jar")) {
+            try (JarFile jar = new JarFile(folder.toFile())) {
+                jar.stream().map(entry -> entry.getName()).forEach(names::add);
+            }
+        } else {
+            try (Stream<Path> files = Files.list(folder)) {
+                files.map(file -> file.getFileName().toString()).forEach(names::add);
+            }
+        }
+        return names.stream()
+                .filter(name -> name.endsWith(".class") && name.indexOf('/') < 0 && name.indexOf('$') < 0)
+                .map(name -> name.substring(0, name.length() - ".class".length()))
+                .filter(name -> !name.equals("DemoLauncher") && match.matcher(name).matches())
+                .sorted()
+                .map(name -> new Demo(name, folder))
+                .toList();
+    }
+
+    /** Runs one demo; null when the class turns out to have no main (a helper like Car). */
+    Timing run(Demo demo) throws IOException, InterruptedException {
+        if (mode == Mode.FORKED) {
+            return runForked(demo);
+        }
+        URLClassLoader loader = mode == Mode.IN_PROCESS
+                ? folderLoaders.computeIfAbsent(demo.folder(), DemoLauncher::newLoader)
+                : newLoader(demo.folder());
+        try {
+            long start = System.nanoTime();
+            Method main;
+            try {
+                // Load, link and initialize the class, then find its main
+                Class<?> type = Class.forName(demo.name(), true, loader);
+                main = type.getMethod("main", String[].class);
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                return null;
+            } catch (LinkageError e) {
+                return new Timing(demo, System.nanoTime() - start, 0, "cannot load: " + e);
+            }
+            if (!Modifier.isStatic(main.getModifiers())) {
+                return null;
+            }
+            long loaded = System.nanoTime();
+            String failure = null;
+            try {
+                main.invoke(null, (Object) new String[0]);
+            } catch (InvocationTargetException e) {
+                failure = String.valueOf(e.getCause());
+            } catch (IllegalAccessException e) {
+                failure = "main is not accessible: " + e.getMessage();
+            }
+            return new Timing(demo, loaded - start, System.nanoTime() - loaded, failure);
+        } finally {
+            if (mode == Mode.ISOLATED) {
+                loader.close();
+            }
+        }
+    }
+
+    // The platform loader as parent: the demos see the JDK, but not the launcher's class path
+    private static URLClassLoader newLoader(Path folder) {
+        try {
+            return new URLClassLoader(folder.getFileName().toString(), new URL[] { folder.toUri().toURL() },
+                    ClassLoader.getPlatformClassLoader());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Bad folder " + folder, e);
+        }
+    }
+
+    private Timing runForked(Demo demo) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        // Pass on --add-modules, so the children can load what this JVM can
+        List<String> flags = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        for (String flag : flags) {
+            if (flag.startsWith("--add-modules")) {
+                command.add(flag);
+            }
+        }
+        command.add("-cp");
+        command.add(demo.folder().toString());
+        command.add(demo.name());
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        builder.redirectOutput(quiet ? ProcessBuilder.Redirect.DISCARD : ProcessBuilder.Redirect.INHERIT);
+        long start = System.nanoTime();
+        int exit = builder.start().waitFor();
+        long nanos = System.nanoTime() - start;
+        return new Timing(demo, -1, nanos, exit == 0 ? null : "exit code " + exit);
+    }
+
+    /** Runs every demo once, with System.out swapped for a batched (or discarding) stream. */
+    List<Timing> runAll(List<Demo> demos) throws IOException, InterruptedException {
+        PrintStream original = System.out;
+        OutputStream sink = quiet ? OutputStream.nullOutputStream()
+                : new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16);
+        PrintStream batched = new PrintStream(sink, false, original.charset());
+        List<Timing> timings = new ArrayList<>();
+        System.setOut(batched);
+        try {
+            for (Demo demo : demos) {
+                if (!quiet) {
+                    batched.println("=== " + demo.name() + " (" + demo.folderName() + ") ===");
+                    // A forked demo writes straight to the terminal, so our lines must be out first
+                    batched.flush();
+                }
+                Timing timing = run(demo);
+                batched.flush();
+                if (timing != null) {
+                    timings.add(timing);
+                }
+            }
+        } finally {
+            batched.flush();
+            System.setOut(original);
+        }
+        return timings;
+    }
+
+    void printReport(List<Timing> timings, int round, int rounds) {
+        report.printf(Locale.ROOT, "%n# round %d of %d, %s mode%n", round, rounds, mode.name().toLowerCase().replace('_', '-'));
+        report.printf(Locale.ROOT, "%-28s %-28s %10s %10s%n", "demo", "folder", "load ms", "run ms");
+        long load = 0;
+        long run = 0;
+        int failed = 0;
+        for (Timing timing : timings) {
+            report.printf(Locale.ROOT, "%-28s %-28s %10s %10.2f%s%n", timing.demo().name(), timing.demo().folderName(),
+                    timing.loadNanos() < 0 ? "-" : String.format(Locale.ROOT, "%.2f", timing.loadNanos() / 1e6),
+                    timing.runNanos() / 1e6, timing.failure() == null ? "" : "  FAILED: " + timing.failure());
+            load += Math.max(0, timing.loadNanos());
+            run += timing.runNanos();
+            failed += timing.failure() == null ? 0 : 1;
+        }
+        report.printf(Locale.ROOT, "# %d demos, %d failed: load %.1f ms + run %.1f ms = %.1f ms%n",
+                timings.size(), failed, load / 1e6, run / 1e6, (load + run) / 1e6);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Milliseconds from the JVM's own start-up record to here
+        long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "" : arg.substring(eq + 1));
+        }
+        Path dir = options.containsKey("dir") ? Path.of(options.get("dir"))
+                : Path.of(DemoLauncher.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getParent();
+        Pattern match = Pattern.compile(options.containsKey("all") ? ".*" : options.getOrDefault("match", DEFAULT_MATCH));
+        Mode mode = Mode.valueOf(options.getOrDefault("mode", "in-process").toUpperCase(Locale.ROOT).replace('-', '_'));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "1"));
+        boolean quiet = options.containsKey("quiet");
+
+        List<Demo> demos = new ArrayList<>();
+        for (Path folder : folders(dir)) {
+            demos.addAll(candidates(folder, match));
+        }
+        if (demos.isEmpty()) {
+            System.out.println("No demos matching " + match + " in " + dir.toAbsolutePath() + " (see the build steps in DemoLauncher.java)");
+            return;
+        }
+
+        DemoLauncher launcher = new DemoLauncher(mode, quiet, System.out);
+        long suiteStart = System.nanoTime();
+        List<List<Timing>> results = new ArrayList<>();
+        for (int round = 1; round <= rounds; round++) {
+            results.add(launcher.runAll(demos));
+        }
+        long suiteNanos = System.nanoTime() - suiteStart;
+        for (int round = 1; round <= rounds; round++) {
+            launcher.printReport(results.get(round - 1), round, rounds);
+        }
+        System.out.printf(Locale.ROOT, "%n# JVM start-up before main: %d ms; all rounds: %.1f ms; since the JVM started: %d ms%n",
+                startupMillis, suiteNanos / 1e6, ManagementFactory.getRuntimeMXBean().getUptime());
+
+        /*
+         🧠 Real-Life Analogy:
+         Running each demo with its own `java` command is opening the cinema 🎬, showing one short
+         film and closing it again 22 times. DemoLauncher opens the doors once and plays them back
+         to back; AppCDS is keeping the projector threaded between shows 📽️.
+        */
+
+        // Explanation:
+        // 1. The launcher finds classes in each folder's jar or directory and calls their main methods by reflection.
+        // 2. Each folder gets its own class loader, so two folders can both have a class called Car.
+        // 3. "load ms" is loading, linking and static initialization; "run ms" is main itself.
+        // 4. An AppCDS archive made after one run lets the next JVM start with those classes already prepared.
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ A dispatch study that grows InterfaceDemo's Animal into eight animals.
+
+ Run:
+   javac AnimalDispatch.java Metrics.java
+   java AnimalDispatch
+
+ When a call site like animal.sound() has only ever seen one or two classes, the JIT
+ inlines the method bodies behind a cheap type check (monomorphic / bimorphic).
+ Once it sees three or more, it gives up and makes a real virtual call through the
+ class's method table (megamorphic): no inlining, and no optimisations that depend on it.
+
+ This file gives the same animals three ways to answer "what sound do you make?" and
+ "what do you eat?" (InterfaceDemo's two call sites):
+   virtual        animal.sound() / animal.eat(), the InterfaceDemo way
+   patternSwitch  a switch over a sealed hierarchy; the compiler knows every case
+   typeIdTable    each animal carries a small int id; the answer is SOUNDS[id] / FOODS[id]
+ patternSwitch never makes a virtual call, but on JDK 21 the switch tests the cases in
+ order, so it still slows down as types are added. typeIdTable is one field read and
+ one array read for any number of types.
+
+ The single-call dispatchers are not instrumented: a call that takes 1 to 20 ns cannot
+ afford even a plain store per call. typeIdTable(animals, sounds) answers a whole batch
+ and counts it in Metrics (Metrics.java) once: the batch size into animaldispatch.calls,
+ and the type of one animal in SAMPLE_EVERY into animaldispatch.sampled.<Animal>, which
+ shows the mix of types reaching the call site. While Metrics is disabled the counting
+ compiles away.
+*/
+public final class AnimalDispatch {
+
+    /**
+     Sealed: the compiler knows these eight classes are the only animals. It is called Species
+     rather than Animal because InterfaceDemo's Animal lives in the same default package.
+    */
+    abstract static sealed class Species permits Dog, Cat, Cow, Duck, Lion, Sheep, Horse, Frog {
+        // Fixed per class and stored in the object, so reading it is a field load, not a call
+        final int typeId;
+
+        Species(int typeId) {
+            this.typeId = typeId;
+        }
+
+        abstract String sound();
+
+        abstract String eat();
+    }
+
+    static final class Dog extends Species {
+        Dog() { super(0); }
+        String sound() { return "Woof Woof!"; }
+        String eat() { return "pedigree"; }
+    }
+
+    static final class Cat extends Species {
+        Cat() { super(1); }
+        String sound() { return "Meow!"; }
+        String eat() { return "fish"; }
+    }
+
+    static final class Cow extends Species {
+        Cow() { super(2); }
+        String sound() { return "Moo!"; }
+        String eat() { return "grass"; }
+    }
+
+    static final class Duck extends Species {
+        Duck() { super(3); }
+        String sound() { return "Quack!"; }
+        String eat() { return "bread"; }
+    }
+
+    static final class Lion extends Species {
+        Lion() { super(4); }
+        String sound() { return "Roar!"; }
+        String eat() { return "meat"; }
+    }
+
+    static final class Sheep extends Species {
+        Sheep() { super(5); }
+        String sound() { return "Baa!"; }
+        String eat() { return "hay"; }
+    }
+
+    static final class Horse extends Species {
+        Horse() { super(6); }
+        String sound() { return "Neigh!"; }
+        String eat() { return "oats"; }
+    }
+
+    static final class Frog extends Species {
+        Frog() { super(7); }
+        String sound() { return "Ribbit!"; }
+        String eat() { return "flies"; }
+    }
+
+    static final int TYPE_COUNT = 8;
+
+    // The type-id table: one row per animal, filled from the classes themselves
+    static final String[] SOUNDS = new String[TYPE_COUNT];
+    static final String[] FOODS = new String[TYPE_COUNT];
+
+    // The batch dispatcher counts every call, and samples the type of the first animal
+    // in each run of SAMPLE_EVERY, one counter per type id
+    static final int SAMPLE_EVERY = 1024;
+    static final Metrics.Counter CALLS = Metrics.counter("animaldispatch.calls");
+    static final Metrics.Counter[] SAMPLED = new Metrics.Counter[TYPE_COUNT];
+
+    static {
+        for (int id = 0; id < TYPE_COUNT; id++) {
+            Species animal = create(id);
+            SOUNDS[id] = animal.sound();
+            FOODS[id] = animal.eat();
+            SAMPLED[id] = Metrics.counter("animaldispatch.sampled." + animal.getClass().getSimpleName());
+        }
+    }
+
+    private AnimalDispatch() {
+    }
+
+    static Species create(int typeId) {
+        return switch (typeId) {
+            case 0 -> new Dog();
+            case 1 -> new Cat();
+            case 2 -> new Cow();
+            case 3 -> new Duck();
+            case 4 -> new Lion();
+            case 5 -> new Sheep();
+            case 6 -> new Horse();
+            case 7 -> new Frog();
+            default -> throw new IllegalArgumentException("Unknown animal type: " + typeId);
+        };
+    }
+
+    static String virtual(Species animal) {
+        return animal.sound();
+    }
+
+    // No default branch: if a ninth animal is added to the permits list, this stops compiling
+    static String patternSwitch(Species animal) {
+        return switch (animal) {
+            case Dog d -> "Woof Woof!";
+            case Cat c -> "Meow!";
+            case Cow c -> "Moo!";
+            case Duck d -> "Quack!";
+            case Lion l -> "Roar!";
+            case Sheep s -> "Baa!";
+            case Horse h -> "Neigh!";
+            case Frog f -> "Ribbit!";
+        };
+    }
+
+    static String typeIdTable(Species animal) {
+        return SOUNDS[animal.typeId];
+    }
+
+    /** typeIdTable() for a whole batch: sounds[i] is the sound of animals[i]. Counted once per batch. */
+    static void typeIdTable(Species[] animals, String[] sounds) {
+        if (sounds.length < animals.length) {
+            throw new IllegalArgumentException("sounds has room for " + sounds.length + " of " + animals.length + " animals");
+        }
+        for (int i = 0; i < animals.length; i++) {
+            sounds[i] = SOUNDS[animals[i].typeId];
+        }
+        if (Metrics.enabled()) {
+            CALLS.add(animals.length);
+            for (int i = 0; i < animals.length; i += SAMPLE_EVERY) {
+                SAMPLED[animals[i].typeId].increment();
+            }
+        }
+    }
+
+    static String virtualEat(Species animal) {
+        return animal.eat();
+    }
+
+    static String patternSwitchEat(Species animal) {
+        return switch (animal) {
+            case Dog d -> "pedigree";
+            case Cat c -> "fish";
+            case Cow c -> "grass";
+            case Duck d -> "bread";
+            case Lion l -> "meat";
+            case Sheep s -> "hay";
+            case Horse h -> "oats";
+            case Frog f -> "flies";
+        };
+    }
+
+    static String typeIdTableEat(Species animal) {
+        return FOODS[animal.typeId];
+    }
+
+    public static void main(String[] args) {
+        Species[] zoo = new Species[TYPE_COUNT];
+        for (int id = 0; id < TYPE_COUNT; id++) {
+            zoo[id] = create(id);
+        }
+        for (Species animal : zoo) {
+            String name = animal.getClass().getSimpleName();
+            System.out.println(name + " says: " + virtual(animal) + " / " + patternSwitch(animal) + " / "
+                    + typeIdTable(animal) + " and eats " + virtualEat(animal) + " / " + patternSwitchEat(animal)
+                    + " / " + typeIdTableEat(animal) + ".");
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         A virtual call is asking each animal "what do you say?" and waiting for it to answer.
+         When the zookeeper only ever meets dogs, they learn to expect "Woof" and stop asking.
+         With eight kinds of animals that shortcut stops working. A type-id table is a
+         laminated card 🪧 on every cage with the answer printed on it — same speed for any animal.
+        */
+
+        // Explanation:
+        // 1. Species is sealed, so the compiler knows every subclass and checks the switch covers them all.
+        // 2. virtual() and virtualEat() are normal interface-style calls; they slow down once a call site sees 3+ classes.
+        // 3. patternSwitch() is resolved by type checks instead of a call, but checks the cases one by one.
+        // 4. typeIdTable() reads a final int field and indexes an array, so no call is made at all.
+    }
+}
@@ -0,0 +1,296 @@
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ CarFleet stores ClassAndObjectDemo's cars column by column instead of one object per car.
+
+ Run (Car lives in ClassAndObjectDemo.java, so compile them together):
+   javac ClassAndObjectDemo.java CarFleet.java Metrics.java
+   java CarFleet
+
+ One Car object costs a 12-byte header, three fields and a reference from the array
+ that holds it: about 28 bytes per car before counting the Strings. With tens of
+ millions of cars, the same few brands and models are repeated over and over.
+
+ CarFleet keeps three parallel arrays instead (a "struct of arrays"):
+   brandIds  char[]   index into a dictionary of distinct brand names
+   modelIds  char[]   index into a dictionary of distinct model names
+   years     short[]  the model year
+ That is 6 bytes per car. A CarView is a flyweight: one reusable object that points
+ at a row, so reading or printing a car never creates a Car. Printed lines are counted,
+ and one in 64 is timed, in Metrics (Metrics.java) while it is enabled.
+*/
+public final class CarFleet {
+
+    private static final byte[] CAR_PREFIX = "Car: ".getBytes(StandardCharsets.UTF_8);
+
+    private static final Metrics.Counter LINES = Metrics.counter("carfleet.display.lines");
+    private static final Metrics.Histogram DISPLAY = Metrics.histogram("carfleet.display.ns", 64);
+
+    private final Dictionary brands = new Dictionary("brand");
+    private final Dictionary models = new Dictionary("model");
+    private char[] brandIds;
+    private char[] modelIds;
+    private short[] years;
+    private int size;
+
+    public CarFleet() {
+        this(16);
+    }
+
+    public CarFleet(int initialCapacity) {
+        brandIds = new char[initialCapacity];
+        modelIds = new char[initialCapacity];
+        years = new short[initialCapacity];
+    }
+
+    /** Adds a car and returns its row number. Brand and model must not be null. */
+    public int add(String brand, String model, int year) {
+        Objects.requireNonNull(brand, "brand");
+        Objects.requireNonNull(model, "model");
+        if (year < 0 || year > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Year out of range: " + year);
+        }
+        if (size == years.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            brandIds = Arrays.copyOf(brandIds, capacity);
+            modelIds = Arrays.copyOf(modelIds, capacity);
+            years = Arrays.copyOf(years, capacity);
+        }
+        brandIds[size] = brands.idOf(brand);
+        modelIds[size] = models.idOf(model);
+        years[size] = (short) year;
+        return size++;
+    }
+
+    public int add(Car car) {
+        return add(car.brand, car.model, car.year);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String brand(int row) {
+        return brands.name(brandIds[checkRow(row)]);
+    }
+
+    public String model(int row) {
+        return models.name(modelIds[checkRow(row)]);
+    }
+
+    public int year(int row) {
+        return years[checkRow(row)];
+    }
+
+    /** Copies a row back into a regular Car, for code that still needs one. */
+    public Car toCar(int row) {
+        Car car = new Car();
+        car.brand = brand(row);
+        car.model = model(row);
+        car.year = year(row);
+        return car;
+    }
+
+    /** A reusable flyweight; call moveTo(row) to point it at another car. */
+    public CarView view() {
+        return new CarView(this);
+    }
+
+    /** How many cars of this brand were built in or after the given year. Scans two arrays, no objects. */
+    public int countByBrandSince(String brand, int sinceYear) {
+        int id = brands.find(brand);
+        if (id < 0) {
+            return 0;
+        }
+        char[] brandColumn = brandIds;
+        short[] yearColumn = years;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (brandColumn[i] == id && yearColumn[i] >= sinceYear) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int distinctBrands() {
+        return brands.size();
+    }
+
+    public int distinctModels() {
+        return models.size();
+    }
+
+    /** Bytes used by the columns, not counting the dictionaries. */
+    public long columnBytes() {
+        return (long) brandIds.length * Character.BYTES + (long) modelIds.length * Character.BYTES
+                + (long) years.length * Short.BYTES;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        return row;
+    }
+
+    /** A flyweight view of one row. Printing goes through a reused byte buffer, so it allocates nothing. */
+    public static final class CarView {
+        private final CarFleet fleet;
+        private byte[] line = new byte[256];
+        private int row = -1;
+
+        private CarView(CarFleet fleet) {
+            this.fleet = fleet;
+        }
+
+        public CarView moveTo(int row) {
+            this.row = fleet.checkRow(row);
+            return this;
+        }
+
+        public String brand() {
+            return fleet.brands.name(fleet.brandIds[row]);
+        }
+
+        public String model() {
+            return fleet.models.name(fleet.modelIds[row]);
+        }
+
+        public int year() {
+            return fleet.years[row];
+        }
+
+        public void displayDetails() {
+            displayDetails(System.out);
+        }
+
+        /** Prints "Car: <brand> <model> (<year>)" exactly like Car.displayDetails(). */
+        public void displayDetails(PrintStream out) {
+            long start = DISPLAY.start();
+            byte[] brand = fleet.brands.utf8(fleet.brandIds[row]);
+            byte[] model = fleet.models.utf8(fleet.modelIds[row]);
+            // Prefix, two names, " (", a year of up to 5 digits, ")\n"
+            int needed = CAR_PREFIX.length + brand.length + 1 + model.length + 9;
+            if (needed > line.length) {
+                // Grown once for an unusually long name and then reused, so the output is never cut off
+                line = new byte[Math.max(needed, line.length * 2)];
+            }
+            byte[] line = this.line;
+            int pos = put(line, 0, CAR_PREFIX);
+            pos = put(line, pos, brand);
+            line[pos++] = ' ';
+            pos = put(line, pos, model);
+            line[pos++] = ' ';
+            line[pos++] = '(';
+            pos = putYear(line, pos, fleet.years[row]);
+            line[pos++] = ')';
+            line[pos++] = '\n';
+            out.write(line, 0, pos);
+            DISPLAY.stop(start);
+            LINES.increment();
+        }
+
+        private static int put(byte[] dst, int pos, byte[] src) {
+            System.arraycopy(src, 0, dst, pos, src.length);
+            return pos + src.length;
+        }
+
+        private static int putYear(byte[] dst, int pos, int year) {
+            int digits = year < 10 ? 1 : year < 100 ? 2 : year < 1000 ? 3 : year < 10000 ? 4 : 5;
+            for (int i = pos + digits - 1; i >= pos; i--) {
+                dst[i] = (byte) ('0' + year % 10);
+                year /= 10;
+            }
+            return pos + digits;
+        }
+    }
+
+    /** Maps each distinct name to a 16-bit id, and keeps its UTF-8 bytes ready for printing. */
+    private static final class Dictionary {
+        private final String what;
+        private final Map<String, Character> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        Dictionary(String what) {
+            this.what = what;
+        }
+
+        char idOf(String name) {
+            Character id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (names.size() > Character.MAX_VALUE) {
+                throw new IllegalStateException("More than 65536 distinct " + what + " names");
+            }
+            char next = (char) names.size();
+            ids.put(name, next);
+            names.add(name);
+            encoded.add(name.getBytes(StandardCharsets.UTF_8));
+            return next;
+        }
+
+        int find(String name) {
+            Character id = ids.get(name);
+            return id == null ? -1 : id;
+        }
+
+        String name(char id) {
+            return names.get(id);
+        }
+
+        byte[] utf8(char id) {
+            return encoded.get(id);
+        }
+
+        int size() {
+            return names.size();
+        }
+    }
+
+    public static void main(String[] args) {
+        CarFleet fleet = new CarFleet();
+
+        // The two cars from ClassAndObjectDemo
+        Car myCar = new Car();
+        myCar.brand = "Toyota";
+        myCar.model = "Fortuner";
+        myCar.year = 2022;
+        fleet.add(myCar);
+        fleet.add("Hyundai", "Creta", 2023);
+
+        // A few more, sharing the same brand and model names
+        fleet.add("Toyota", "Innova", 2019);
+        fleet.add("Hyundai", "Creta", 2021);
+        fleet.add("Toyota", "Fortuner", 2024);
+
+        CarView car = fleet.view();
+        for (int row = 0; row < fleet.size(); row++) {
+            car.moveTo(row).displayDetails();
+        }
+        System.out.println("Toyotas from 2020 onwards: " + fleet.countByBrandSince("Toyota", 2020));
+        System.out.println("Distinct brands: " + fleet.distinctBrands() + ", distinct models: " + fleet.distinctModels());
+
+        /*
+         🧠 Real-Life Analogy:
+         Object-per-car is a stack of individual registration cards 🗂️, each repeating "Toyota" in full.
+         CarFleet is a spreadsheet with one column per field, where "Toyota" is written once in a legend
+         and every row just says "brand #0". The CarView is your finger moving down the rows.
+        */
+
+        // Explanation:
+        // 1. Brands and models are dictionary-encoded: each distinct name is stored once and rows keep a 2-byte id.
+        // 2. Years fit in a short, so a car costs 6 bytes of column data instead of a ~28-byte object.
+        // 3. CarView is one object reused for every row, so iterating and printing create no garbage.
+        // 4. Scans like countByBrandSince() read two tightly packed arrays, which is very cache friendly.
+    }
+}
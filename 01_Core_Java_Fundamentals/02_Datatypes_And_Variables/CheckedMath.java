@@ -0,0 +1,341 @@
+import java.math.BigInteger;
+
+/*
+ CheckedMath adds up (and multiplies) whole arrays without the silent wraparound shown in
+ IntDataTypeDemo, LongDataTypeDemo, ShortDataTypeDemo and ByteDataTypeDemo.
+
+ Run:
+   javac CheckedMath.java
+   java CheckedMath
+
+ Math.addExact checks every single add and throws the moment one overflows. In a loop over
+ millions of values that check sits on every element and stops the JIT from vectorising.
+ CheckedMath checks lazily instead:
+
+   int / short / byte  The sum goes into a long. A long can hold the sum of any Java array of
+                       these types, so nothing can overflow inside the loop and the only
+                       check is one range test at the end.
+   long sums           Each block of 1024 values is added as two running sums of 32-bit halves,
+                       which cannot overflow. The block total is checked once with the same
+                       test as Math.addExact; only if it does not fit is the total carried on
+                       as a BigInteger.
+   long products       Before a block is multiplied, the bit lengths of its values are added up.
+                       If they cannot exceed 62 bits the block is multiplied with plain *,
+                       four accumulators at a time; otherwise each step is checked with
+                       Math.multiplyHigh and widens to BigInteger.
+
+ The exact methods throw ArithmeticException, like Math.addExact, when the true result does not
+ fit. Unlike a chain of addExact calls they judge the final result: a running total that
+ overflows and comes back into range on a later element gives the correct answer, not an exception.
+*/
+public final class CheckedMath {
+
+    // Values checked together; one overflow test per block instead of one per element
+    static final int BLOCK = 1024;
+
+    private CheckedMath() {
+    }
+
+    /** The sum as a long. Never overflows: 2^31 elements of at most 2^31 each is below 2^63. */
+    public static long sum(int[] values) {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static long sum(short[] values) {
+        long sum = 0;
+        for (short value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static long sum(byte[] values) {
+        long sum = 0;
+        for (byte value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /** The sum as an int; throws ArithmeticException("integer overflow") if it does not fit. */
+    public static int sumExact(int[] values) {
+        return Math.toIntExact(sum(values));
+    }
+
+    public static short sumExact(short[] values) {
+        long sum = sum(values);
+        if (sum != (short) sum) {
+            throw new ArithmeticException("short overflow");
+        }
+        return (short) sum;
+    }
+
+    public static byte sumExact(byte[] values) {
+        long sum = sum(values);
+        if (sum != (byte) sum) {
+            throw new ArithmeticException("byte overflow");
+        }
+        return (byte) sum;
+    }
+
+    /** The sum as a long; throws ArithmeticException("long overflow") if it does not fit. */
+    public static long sumExact(long[] values) {
+        return new LongSum().add(values).longValue();
+    }
+
+    /** The exact sum, whatever its size. Allocates only if the total leaves the long range. */
+    public static BigInteger sumWide(long[] values) {
+        return new LongSum().add(values).toBigInteger();
+    }
+
+    /** The product as a long; throws ArithmeticException("long overflow") if it does not fit. */
+    public static long productExact(long[] values) {
+        long product = 1;
+        for (int from = 0; from < values.length; from += BLOCK) {
+            int to = Math.min(values.length, from + BLOCK);
+            if (fitsUnchecked(product, values, from, to)) {
+                product *= uncheckedProduct(values, from, to);
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                long value = values[i];
+                long high = Math.multiplyHigh(product, value);
+                long low = product * value;
+                if (high != (low >> 63)) {
+                    if (containsZero(values, i + 1)) {
+                        return 0;
+                    }
+                    return productExactTail(BigInteger.valueOf(product).multiply(BigInteger.valueOf(value)),
+                            values, i + 1);
+                }
+                product = low;
+            }
+            if (product == 0) {
+                return 0;
+            }
+        }
+        return product;
+    }
+
+    // Finishes a product whose running value left the long range; the array holds no zero from here on.
+    // The magnitude can then only grow, so past 64 bits the answer is final. Below that, a run of -1s
+    // can still bring 2^63 back to Long.MIN_VALUE, as in {Long.MIN_VALUE, -1, -1}.
+    private static long productExactTail(BigInteger product, long[] values, int from) {
+        for (int i = from; i < values.length && product.bitLength() <= 64; i++) {
+            product = product.multiply(BigInteger.valueOf(values[i]));
+        }
+        if (product.bitLength() > 63) {
+            throw new ArithmeticException("long overflow");
+        }
+        return product.longValue();
+    }
+
+    /** The exact product, whatever its size. Beware: a long array of large values makes a very long number. */
+    public static BigInteger productWide(long[] values) {
+        long product = 1;
+        BigInteger wide = null;
+        for (int from = 0; from < values.length; from += BLOCK) {
+            int to = Math.min(values.length, from + BLOCK);
+            if (wide == null && fitsUnchecked(product, values, from, to)) {
+                product *= uncheckedProduct(values, from, to);
+            } else {
+                for (int i = from; i < to; i++) {
+                    long value = values[i];
+                    if (wide != null) {
+                        wide = wide.multiply(BigInteger.valueOf(value));
+                        continue;
+                    }
+                    long high = Math.multiplyHigh(product, value);
+                    long low = product * value;
+                    if (high == (low >> 63)) {
+                        product = low;
+                    } else {
+                        wide = BigInteger.valueOf(product).multiply(BigInteger.valueOf(value));
+                    }
+                }
+            }
+            if (product == 0 || (wide != null && wide.signum() == 0)) {
+                return BigInteger.ZERO;
+            }
+        }
+        return wide != null ? wide : BigInteger.valueOf(product);
+    }
+
+    /*
+     |v| <= 2^ceilLog2(|v|), so if the ceilings of the running product and every value in the
+     block add up to at most 62, the product stays within ±2^62 and plain * is exact.
+     Zero counts as 64 bits here; it only sends its block down the checked path.
+    */
+    private static boolean fitsUnchecked(long product, long[] values, int from, int to) {
+        int bits = ceilLog2(product);
+        for (int i = from; i < to; i++) {
+            bits += ceilLog2(values[i]);
+        }
+        return bits <= 62;
+    }
+
+    // Four independent products, so each multiply does not wait for the one before it
+    private static long uncheckedProduct(long[] values, int from, int to) {
+        long p0 = 1;
+        long p1 = 1;
+        long p2 = 1;
+        long p3 = 1;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            p0 *= values[i];
+            p1 *= values[i + 1];
+            p2 *= values[i + 2];
+            p3 *= values[i + 3];
+        }
+        for (; i < to; i++) {
+            p0 *= values[i];
+        }
+        return p0 * p1 * p2 * p3;
+    }
+
+    private static int ceilLog2(long value) {
+        return 64 - Long.numberOfLeadingZeros(Math.abs(value) - 1);
+    }
+
+    private static boolean containsZero(long[] values, int from) {
+        for (int i = from; i < values.length; i++) {
+            if (values[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** A running long sum that widens to BigInteger only while it is outside the long range. */
+    public static final class LongSum {
+        private long total;
+        private BigInteger wide;
+
+        public LongSum add(long value) {
+            long result = total + value;
+            if (wide == null && ((total ^ result) & (value ^ result)) >= 0) {
+                total = result;
+            } else {
+                widen(BigInteger.valueOf(value));
+            }
+            return this;
+        }
+
+        public LongSum add(long[] values) {
+            return add(values, 0, values.length);
+        }
+
+        public LongSum add(long[] values, int from, int to) {
+            for (int start = from; start < to; start += BLOCK) {
+                addBlock(values, start, Math.min(to, start + BLOCK));
+            }
+            return this;
+        }
+
+        /*
+         Each value is split into a signed upper half and an unsigned lower half. Summing the
+         halves separately cannot overflow for 1024 values, the two loops have no branches and
+         no dependency between them, and the block's exact total is rebuilt from them once.
+        */
+        private void addBlock(long[] values, int from, int to) {
+            long high = 0;
+            long low = 0;
+            for (int i = from; i < to; i++) {
+                long value = values[i];
+                high += value >> 32;
+                low += value & 0xFFFFFFFFL;
+            }
+            // Exact block sum = upper * 2^32 + (low's bottom 32 bits); it is a long if upper fits in an int
+            long upper = high + (low >>> 32);
+            long lower = low & 0xFFFFFFFFL;
+            if (wide == null && upper == (int) upper) {
+                long block = (upper << 32) | lower;
+                long result = total + block;
+                // The test Math.addExact makes, once per block instead of once per value
+                if (((total ^ result) & (block ^ result)) >= 0) {
+                    total = result;
+                    return;
+                }
+            }
+            widen(BigInteger.valueOf(upper).shiftLeft(32).add(BigInteger.valueOf(lower)));
+        }
+
+        private void widen(BigInteger amount) {
+            BigInteger result = (wide != null ? wide : BigInteger.valueOf(total)).add(amount);
+            if (result.bitLength() < Long.SIZE) {
+                total = result.longValue();
+                wide = null;
+            } else {
+                wide = result;
+            }
+        }
+
+        public boolean fitsInLong() {
+            return wide == null;
+        }
+
+        public long longValue() {
+            if (wide != null) {
+                throw new ArithmeticException("long overflow");
+            }
+            return total;
+        }
+
+        public BigInteger toBigInteger() {
+            return wide != null ? wide : BigInteger.valueOf(total);
+        }
+
+        public LongSum reset() {
+            total = 0;
+            wide = null;
+            return this;
+        }
+    }
+
+    public static void main(String[] args) {
+        // IntDataTypeDemo: Integer.MAX_VALUE + 1 wraps around; sumExact reports it instead
+        int[] populations = { 15_000_000, Integer.MAX_VALUE, 1 };
+        System.out.println("Sum of populations as long: " + sum(populations));
+        try {
+            System.out.println("Sum of populations as int: " + sumExact(populations));
+        } catch (ArithmeticException e) {
+            System.out.println("Sum of populations as int: " + e.getMessage());
+        }
+
+        // ShortDataTypeDemo / ByteDataTypeDemo: small types never wrap inside the loop
+        short[] temperatures = { 32_000, 700, -1_500 };
+        byte[] ages = { 100, 27, -2 };
+        System.out.println("Sum of temperatures: " + sumExact(temperatures));
+        System.out.println("Sum of ages: " + sumExact(ages));
+
+        // LongDataTypeDemo: going past Long.MAX_VALUE and coming back is still the right answer
+        long[] distances = { Long.MAX_VALUE, 384_400_000L, -384_400_000L };
+        System.out.println("Sum of distances: " + sumExact(distances));
+        long[] tooFar = { Long.MAX_VALUE, Long.MAX_VALUE, 2 };
+        System.out.println("Sum past the long range: " + sumWide(tooFar));
+
+        long[] factors = { 1_000_000, 1_000_000, 1_000_000 };
+        System.out.println("Product: " + productExact(factors));
+        long[] bigFactors = { Long.MAX_VALUE, 3, 0 };
+        System.out.println("Product with a zero at the end: " + productExact(bigFactors));
+        System.out.println("Product past the long range: " + productWide(new long[] { Long.MAX_VALUE, 4 }));
+
+        /*
+         🧠 Real-Life Analogy:
+         Math.addExact is a cashier who recounts the drawer after every single sale.
+         CheckedMath counts a whole tray of coins 🪙 at once and only brings out the big vault
+         when a tray would not fit in the drawer.
+        */
+
+        // Explanation:
+        // 1. int, short and byte arrays are summed into a long, which cannot overflow for any array size.
+        // 2. Long sums add 32-bit halves separately, so a block of 1024 values is checked only once.
+        // 3. When a block's total does not fit in a long, the running total continues as a BigInteger.
+        // 4. Products add up bit lengths first; blocks that cannot overflow are multiplied with plain *.
+        // 5. The ...Exact methods throw ArithmeticException when the true result does not fit, like Math.addExact.
+    }
+}
@@ -0,0 +1,251 @@
+import java.util.Arrays;
+import java.util.function.Function;
+
+/*
+ Allocation-free helpers for EnumDemo's Day enum.
+
+ Run (Day lives in EnumDemo.java, so compile them together):
+   javac EnumDemo.java DayTable.java Metrics.java
+   java DayTable
+
+ EnumDemo uses a switch to pick a message and Day.values() to list the days. Both are
+ fine once, but not millions of times a second:
+   - values() returns a fresh copy of the array on every call, so DayTable caches it once.
+   - DaySet packs a set of days into the 7 low bits of one byte, so union, intersection
+     and "is it in the set?" are a single AND/OR instead of an EnumSet or HashSet.
+   - DayIntMap stores one int per day in an array indexed by ordinal, with no Integer boxing.
+   - ActionTable precomputes the switch's answer for every day, so a lookup is one array read.
+     get(day) is one array read, too cheap to count each call. get(days, out) looks up a
+     whole batch, and a named table (like PLANNER) counts it in Metrics (Metrics.java) once:
+     the batch size into "name.lookups", and the day of one lookup in SAMPLE_EVERY into
+     "name.sampled.DAY". While Metrics is disabled the counting compiles away.
+*/
+public final class DayTable {
+
+    /** Day.values() copied once and shared. Never hand this array out to callers that might write to it. */
+    static final Day[] DAYS = Day.values();
+    static final int COUNT = DAYS.length;
+    // A batch lookup samples the day of the first event in each run of this many
+    static final int SAMPLE_EVERY = 1024;
+
+    // EnumDemo's switch, precomputed for each day
+    static final ActionTable<String> PLANNER = ActionTable.of("daytable.planner", day -> switch (day) {
+        case MONDAY -> "Back to work! 💼";
+        case SATURDAY, SUNDAY -> "Weekend vibes! 🎉";
+        default -> "Keep grinding! 🚀";
+    });
+
+    private DayTable() {
+    }
+
+    public static Day byOrdinal(int ordinal) {
+        return DAYS[ordinal];
+    }
+
+    /** A switch compiled into an array: one slot per day, filled once. */
+    static final class ActionTable<R> {
+        private final Object[] results = new Object[COUNT];
+        // Batch lookups in total and sampled per day, or null for a table without a name
+        private final Metrics.Counter lookups;
+        private final Metrics.Counter[] sampled;
+
+        private ActionTable(Metrics.Counter lookups, Metrics.Counter[] sampled) {
+            this.lookups = lookups;
+            this.sampled = sampled;
+        }
+
+        static <R> ActionTable<R> of(Function<Day, R> action) {
+            return fill(new ActionTable<>(null, null), action);
+        }
+
+        /** A table whose batch lookups are counted as "name.lookups", and sampled per day as "name.sampled.DAY". */
+        static <R> ActionTable<R> of(String name, Function<Day, R> action) {
+            Metrics.Counter[] sampled = new Metrics.Counter[COUNT];
+            for (Day day : DAYS) {
+                sampled[day.ordinal()] = Metrics.counter(name + ".sampled." + day);
+            }
+            return fill(new ActionTable<>(Metrics.counter(name + ".lookups"), sampled), action);
+        }
+
+        private static <R> ActionTable<R> fill(ActionTable<R> table, Function<Day, R> action) {
+            for (Day day : DAYS) {
+                table.results[day.ordinal()] = action.apply(day);
+            }
+            return table;
+        }
+
+        @SuppressWarnings("unchecked")
+        R get(Day day) {
+            return (R) results[day.ordinal()];
+        }
+
+        /** get() for a whole batch: out[i] is the entry for days[i]. Counted once per batch. */
+        @SuppressWarnings("unchecked")
+        void get(Day[] days, R[] out) {
+            if (out.length < days.length) {
+                throw new IllegalArgumentException("out has room for " + out.length + " of " + days.length + " days");
+            }
+            for (int i = 0; i < days.length; i++) {
+                out[i] = (R) results[days[i].ordinal()];
+            }
+            if (lookups != null && Metrics.enabled()) {
+                lookups.add(days.length);
+                for (int i = 0; i < days.length; i += SAMPLE_EVERY) {
+                    sampled[days[i].ordinal()].increment();
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        Day today = Day.SATURDAY;
+        System.out.println(PLANNER.get(today));
+
+        byte workingDays = DaySet.range(Day.MONDAY, Day.FRIDAY);
+        byte gymDays = DaySet.of(Day.MONDAY, Day.WEDNESDAY, Day.SATURDAY);
+        byte gymOnWorkingDays = DaySet.intersect(workingDays, gymDays);
+        System.out.println("\nGym on a working day: " + DaySet.toString(gymOnWorkingDays));
+        for (int i = DaySet.first(gymOnWorkingDays); i >= 0; i = DaySet.next(gymOnWorkingDays, i)) {
+            System.out.println(DayTable.byOrdinal(i));
+        }
+        System.out.println("Weekend contains SUNDAY? " + DaySet.contains(DaySet.WEEKEND, Day.SUNDAY));
+
+        DayIntMap steps = new DayIntMap();
+        steps.put(Day.MONDAY, 8_000);
+        steps.add(Day.MONDAY, 2_500);
+        steps.put(Day.SATURDAY, 15_000);
+        System.out.println("\nSteps on MONDAY: " + steps.get(Day.MONDAY));
+        System.out.println("Total steps: " + steps.sum());
+
+        System.out.println("\nAll Days:");
+        for (Day d : DAYS) {
+            System.out.println(d);
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         The switch is a receptionist who reads the rules every time someone asks "what's today like?".
+         The action table is a printed weekly planner 🗓️ on the wall — you glance at the right column and you're done.
+         A DaySet is a row of 7 light switches; a byte holds all of them at once.
+        */
+
+        // Explanation:
+        // 1. DAYS caches Day.values(), because values() clones the array on every call.
+        // 2. PLANNER runs the switch once per day up front; get() is then a single array read.
+        // 3. DaySet stores a set of days as bits in one byte, so set operations are plain & and |.
+        // 4. DayIntMap keeps an int per day in an int[], so nothing is boxed into Integer.
+    }
+}
+
+/** A set of days packed into the 7 low bits of a byte. All methods are static and allocation-free. */
+final class DaySet {
+
+    static final byte EMPTY = 0;
+    static final byte ALL = (byte) ((1 << DayTable.COUNT) - 1);
+    static final byte WEEKEND = of(Day.SATURDAY, Day.SUNDAY);
+
+    private DaySet() {
+    }
+
+    static byte of(Day... days) {
+        int mask = 0;
+        for (Day day : days) {
+            mask |= bit(day);
+        }
+        return (byte) mask;
+    }
+
+    /** Every day from first to last, inclusive. */
+    static byte range(Day first, Day last) {
+        int mask = 0;
+        for (int i = first.ordinal(); i <= last.ordinal(); i++) {
+            mask |= 1 << i;
+        }
+        return (byte) mask;
+    }
+
+    static int bit(Day day) {
+        return 1 << day.ordinal();
+    }
+
+    static boolean contains(byte set, Day day) {
+        return (set & bit(day)) != 0;
+    }
+
+    static byte with(byte set, Day day) {
+        return (byte) (set | bit(day));
+    }
+
+    static byte without(byte set, Day day) {
+        return (byte) (set & ~bit(day));
+    }
+
+    static byte union(byte a, byte b) {
+        return (byte) (a | b);
+    }
+
+    static byte intersect(byte a, byte b) {
+        return (byte) (a & b);
+    }
+
+    static byte complement(byte set) {
+        return (byte) (~set & ALL);
+    }
+
+    static int size(byte set) {
+        return Integer.bitCount(set & 0xFF);
+    }
+
+    /** Ordinal of the first day in the set, or -1 when it is empty. */
+    static int first(byte set) {
+        return set == 0 ? -1 : Integer.numberOfTrailingZeros(set & 0xFF);
+    }
+
+    /** Ordinal of the next day after the given ordinal, or -1 when there is none. */
+    static int next(byte set, int ordinal) {
+        int rest = (set & 0xFF) & (-1 << (ordinal + 1));
+        return rest == 0 ? -1 : Integer.numberOfTrailingZeros(rest);
+    }
+
+    static String toString(byte set) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = first(set); i >= 0; i = next(set, i)) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(DayTable.byOrdinal(i));
+        }
+        return sb.append(']').toString();
+    }
+}
+
+/** An int per day, stored in an int[] indexed by ordinal. The EnumMap<Day, Integer> without the boxes. */
+final class DayIntMap {
+
+    private final int[] values = new int[DayTable.COUNT];
+
+    int get(Day day) {
+        return values[day.ordinal()];
+    }
+
+    void put(Day day, int value) {
+        values[day.ordinal()] = value;
+    }
+
+    /** Adds delta to the day's value and returns the new value. */
+    int add(Day day, int delta) {
+        return values[day.ordinal()] += delta;
+    }
+
+    long sum() {
+        long total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0);
+    }
+}
@@ -0,0 +1,260 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ IntColumn keeps ArrayDataTypeDemo's playerScores in a file instead of on the heap.
+
+ Run (IntColumn hands its scan to IntStats, which uses the Vector API):
+   javac --add-modules jdk.incubator.vector IntStats.java IntColumn.java Metrics.java
+   java --add-modules jdk.incubator.vector IntColumn
+
+ File layout (little-endian):
+   [0..4)   magic "INTC"
+   [4..8)   format version
+   [8..12)  log2 of the ints per segment
+   [16..24) number of ints written
+   [64..)   the ints, one after another
+
+ The ints are never parsed: the file is memory-mapped in fixed-size segments and
+ get() reads straight from the page cache. Reopening a multi-GB column only maps
+ the segments, so it takes milliseconds. The heap only holds one IntBuffer view
+ per segment, so it stays flat however big the column grows.
+*/
+public final class IntColumn implements AutoCloseable {
+
+    static final int MAGIC = 0x43544E49; // "INTC" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int DEFAULT_SEGMENT_SHIFT = 24; // 16M ints = 64 MB per mapping
+    static final int SCAN_CHUNK = 1 << 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final List<MappedByteBuffer> mapped = new ArrayList<>();
+    // Int views over the mapped buffers, used for every get/put
+    private final List<IntBuffer> segments = new ArrayList<>();
+    private long size;
+
+    private IntColumn(Path path, FileChannel channel, MappedByteBuffer header, int segmentShift, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.header = header;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+        this.size = size;
+    }
+
+    /** Opens the column at path, creating an empty one if the file does not exist. */
+    public static IntColumn open(Path path) throws IOException {
+        return open(path, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /** segmentShift only applies to a new file; an existing file keeps the value in its header. */
+    public static IntColumn open(Path path, int segmentShift) throws IOException {
+        if (segmentShift < 10 || segmentShift > 28) {
+            throw new IllegalArgumentException("segmentShift must be between 10 and 28: " + segmentShift);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long fileBytes = channel.size();
+            boolean fresh = fileBytes == 0;
+            if (!fresh) {
+                // Check the header with a plain read first: mapping READ_WRITE would grow a short foreign file
+                segmentShift = readHeader(path, channel, fileBytes);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (fresh) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(8, segmentShift);
+                header.putLong(16, 0);
+            }
+            IntColumn column = new IntColumn(path, channel, header, segmentShift, header.getLong(16));
+            column.mapSegmentsUpTo(column.size);
+            return column;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Returns the stored segmentShift once the magic, version, shift and size are known to be sane
+    private static int readHeader(Path path, FileChannel channel, long fileBytes) throws IOException {
+        if (fileBytes < HEADER_BYTES) {
+            throw new IOException(path + " is not an IntColumn file");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException(path + " is not an IntColumn file");
+            }
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not an IntColumn file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(path + " has unsupported version " + header.getInt(4));
+        }
+        int segmentShift = header.getInt(8);
+        if (segmentShift < 10 || segmentShift > 28) {
+            throw new IOException(path + " has a corrupt header: segmentShift " + segmentShift);
+        }
+        long size = header.getLong(16);
+        if (size < 0 || size > (fileBytes - HEADER_BYTES) / Integer.BYTES) {
+            throw new IOException(path + " has a corrupt header: size " + size + " does not fit in "
+                    + fileBytes + " bytes");
+        }
+        return segmentShift;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void append(int value) throws IOException {
+        int segment = (int) (size >>> segmentShift);
+        if (segment == segments.size()) {
+            mapSegment(segment);
+        }
+        segments.get(segment).put((int) (size & segmentMask), value);
+        size++;
+        header.putLong(16, size);
+    }
+
+    public void appendAll(int[] values, int from, int to) throws IOException {
+        int i = from;
+        while (i < to) {
+            int segment = (int) (size >>> segmentShift);
+            if (segment == segments.size()) {
+                mapSegment(segment);
+            }
+            int offset = (int) (size & segmentMask);
+            int n = Math.min(to - i, (1 << segmentShift) - offset);
+            segments.get(segment).put(offset, values, i, n);
+            i += n;
+            size += n;
+        }
+        header.putLong(16, size);
+    }
+
+    public int get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return segments.get((int) (index >>> segmentShift)).get((int) (index & segmentMask));
+    }
+
+    /**
+     Feeds every value into stats, SCAN_CHUNK ints at a time through one reused array.
+     This is the same max/highest-score logic as an on-heap int[], without the heap.
+    */
+    public IntStats scan(IntStats stats) {
+        int[] chunk = new int[(int) Math.min(SCAN_CHUNK, Math.max(1, size))];
+        long remaining = size;
+        for (IntBuffer segment : segments) {
+            int inSegment = (int) Math.min(remaining, 1L << segmentShift);
+            for (int offset = 0; offset < inSegment; offset += chunk.length) {
+                int n = Math.min(chunk.length, inSegment - offset);
+                segment.get(offset, chunk, 0, n);
+                stats.accept(chunk, 0, n);
+            }
+            remaining -= inSegment;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return stats;
+    }
+
+    /** The highest score in the column, as ArrayDataTypeDemo prints it. */
+    public int max() {
+        return scan(new IntStats()).max();
+    }
+
+    /** Flushes the written ints and the size to disk. */
+    public void force() {
+        for (MappedByteBuffer buffer : mapped) {
+            buffer.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        // The mappings stay valid until the buffers are garbage collected; closing only drops the channel
+        channel.close();
+    }
+
+    private void mapSegmentsUpTo(long count) throws IOException {
+        long needed = (count + segmentMask) >>> segmentShift;
+        while (segments.size() < needed) {
+            mapSegment(segments.size());
+        }
+    }
+
+    // Mapping past the end of the file in READ_WRITE mode grows the file to cover it
+    private void mapSegment(int segment) throws IOException {
+        long bytes = (long) Integer.BYTES << segmentShift;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + segment * bytes, bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        mapped.add(buffer);
+        segments.add(buffer.asIntBuffer());
+    }
+
+    @Override
+    public String toString() {
+        return "IntColumn{" + path + ", size=" + size + ", segments=" + segments.size() + "}";
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("player-scores", ".intc");
+        int[] playerScores = { 75, 60, 45, 90, 30 };
+
+        // First run: write the scores to disk
+        try (IntColumn scores = IntColumn.open(file, 10)) {
+            scores.appendAll(playerScores, 0, playerScores.length);
+            scores.append(110); // a sixth player joins the team
+        }
+
+        // Next start: reopen without parsing anything
+        try (IntColumn scores = IntColumn.open(file)) {
+            System.out.println("Player Scores:");
+            for (long i = 0; i < scores.size(); i++) {
+                System.out.println("Player " + (i + 1) + ": " + scores.get(i) + " runs");
+            }
+            System.out.println("Highest Score: " + scores.max() + " runs");
+        }
+        Files.delete(file);
+
+        /*
+         🧠 Real-Life Analogy:
+         An int[] is a scoreboard drawn on a whiteboard — wiped every time the match restarts.
+         IntColumn is a printed scorebook 📒 — you open it at the right page and read, no copying needed.
+        */
+
+        // Explanation:
+        // 1. The scores live in a file that is memory-mapped, so the OS pages them in on demand.
+        // 2. Reopening reads only a 64-byte header; the values are used exactly as they are stored.
+        // 3. scan() reuses one small array to hand chunks to IntStats, so heap use stays flat.
+        // 4. Mappings are released when the buffers are garbage collected, a known limit of MappedByteBuffer.
+    }
+}
@@ -0,0 +1,300 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ IntStats grows ArrayDataTypeDemo's "find the highest score" loop into a reusable engine.
+ One pass over the scores gives min, max, sum, count and mean.
+
+ Run (the SIMD path uses the incubating Vector API, so the module must be added):
+   javac --add-modules jdk.incubator.vector IntStats.java Metrics.java
+   java --add-modules jdk.incubator.vector IntStats
+
+ Four ways to scan the same array:
+   SCALAR    the demo's loop, plus min/sum/count
+   UNROLLED  four independent accumulators, so the CPU can overlap the work
+   VECTOR    jdk.incubator.vector: one instruction compares 8 or 16 scores at once
+   PARALLEL  splits the array across cores with ForkJoin, each piece uses VECTOR
+   AUTO      PARALLEL for big arrays, VECTOR otherwise
+
+ The scan never allocates per element, and accept() can be called chunk by chunk,
+ so a score feed with hundreds of millions of entries never has to be in memory at once.
+ Each array accept() is counted and one in 16 is timed in Metrics (Metrics.java), which
+ costs nothing while Metrics is disabled.
+*/
+public final class IntStats {
+
+    enum Mode { SCALAR, UNROLLED, VECTOR, PARALLEL, AUTO }
+
+    // Below this many elements the fork/join overhead costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    static final int PARALLEL_LEAF = 1 << 16;
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    // Vector lanes sum 16-bit halves; after this many adds a lane could overflow an int
+    private static final int VECTOR_BLOCK = 1 << 14;
+
+    private static final Metrics.Counter VALUES = Metrics.counter("intstats.values");
+    private static final Metrics.Histogram ACCEPT = Metrics.histogram("intstats.accept.ns", 16);
+
+    private final Mode mode;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private long sum;
+    private long count;
+
+    public IntStats() {
+        this(Mode.AUTO);
+    }
+
+    public IntStats(Mode mode) {
+        this.mode = mode;
+    }
+
+    /** Stats for a whole array in one call. */
+    public static IntStats of(int[] values, Mode mode) {
+        IntStats stats = new IntStats(mode);
+        stats.accept(values, 0, values.length);
+        return stats;
+    }
+
+    public IntStats accept(int value) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+        count++;
+        return this;
+    }
+
+    public IntStats accept(int[] chunk) {
+        return accept(chunk, 0, chunk.length);
+    }
+
+    /** Folds values[from, to) into the running stats. The array can be reused for the next chunk. */
+    public IntStats accept(int[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + values.length);
+        }
+        long start = ACCEPT.start();
+        Mode m = mode;
+        if (m == Mode.AUTO) {
+            m = to - from >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1
+                    ? Mode.PARALLEL : Mode.VECTOR;
+        }
+        switch (m) {
+            case SCALAR -> scanScalar(values, from, to);
+            case UNROLLED -> scanUnrolled(values, from, to);
+            case VECTOR -> scanVector(values, from, to);
+            default -> combine(ForkJoinPool.commonPool().invoke(new ScanTask(values, from, to)));
+        }
+        ACCEPT.stop(start);
+        VALUES.add(to - from);
+        return this;
+    }
+
+    /** Merges stats computed elsewhere, for example on another thread or another file. */
+    public IntStats combine(IntStats other) {
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sum += other.sum;
+        count += other.count;
+        return this;
+    }
+
+    public void reset() {
+        min = Integer.MAX_VALUE;
+        max = Integer.MIN_VALUE;
+        sum = 0;
+        count = 0;
+    }
+
+    public int min() {
+        requireValues();
+        return min;
+    }
+
+    public int max() {
+        requireValues();
+        return max;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        requireValues();
+        return (double) sum / count;
+    }
+
+    private void requireValues() {
+        if (count == 0) {
+            throw new IllegalStateException("No values have been accepted yet");
+        }
+    }
+
+    // The demo's loop, extended to track everything at once
+    private void scanScalar(int[] values, int from, int to) {
+        int lo = min, hi = max;
+        long total = sum;
+        for (int i = from; i < to; i++) {
+            int v = values[i];
+            if (v < lo) {
+                lo = v;
+            }
+            if (v > hi) {
+                hi = v;
+            }
+            total += v;
+        }
+        min = lo;
+        max = hi;
+        sum = total;
+        count += to - from;
+    }
+
+    // Four independent chains, so one compare does not have to wait for the previous one
+    private void scanUnrolled(int[] values, int from, int to) {
+        int lo0 = min, lo1 = min, lo2 = min, lo3 = min;
+        int hi0 = max, hi1 = max, hi2 = max, hi3 = max;
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (int end = to - 3; i < end; i += 4) {
+            int a = values[i], b = values[i + 1], c = values[i + 2], d = values[i + 3];
+            lo0 = Math.min(lo0, a); hi0 = Math.max(hi0, a); s0 += a;
+            lo1 = Math.min(lo1, b); hi1 = Math.max(hi1, b); s1 += b;
+            lo2 = Math.min(lo2, c); hi2 = Math.max(hi2, c); s2 += c;
+            lo3 = Math.min(lo3, d); hi3 = Math.max(hi3, d); s3 += d;
+        }
+        for (; i < to; i++) {
+            int v = values[i];
+            lo0 = Math.min(lo0, v); hi0 = Math.max(hi0, v); s0 += v;
+        }
+        min = Math.min(Math.min(lo0, lo1), Math.min(lo2, lo3));
+        max = Math.max(Math.max(hi0, hi1), Math.max(hi2, hi3));
+        sum += s0 + s1 + s2 + s3;
+        count += to - from;
+    }
+
+    /*
+     Int lanes would overflow if we summed the scores directly, and widening every
+     vector to long halves the throughput. Instead each lane sums the low 16 bits and
+     the signed high 16 bits separately. Both fit in an int for VECTOR_BLOCK steps,
+     after which the lanes are folded into the long total as hi * 65536 + lo.
+    */
+    private void scanVector(int[] values, int from, int to) {
+        int lanes = SPECIES.length();
+        IntVector vmin = IntVector.broadcast(SPECIES, min);
+        IntVector vmax = IntVector.broadcast(SPECIES, max);
+        long total = sum;
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        while (i < upper) {
+            IntVector lowSum = IntVector.zero(SPECIES);
+            IntVector highSum = IntVector.zero(SPECIES);
+            int blockEnd = (int) Math.min(upper, (long) i + (long) VECTOR_BLOCK * lanes);
+            for (; i < blockEnd; i += lanes) {
+                IntVector v = IntVector.fromArray(SPECIES, values, i);
+                vmin = vmin.min(v);
+                vmax = vmax.max(v);
+                lowSum = lowSum.add(v.and(0xFFFF));
+                highSum = highSum.add(v.lanewise(VectorOperators.ASHR, 16));
+            }
+            long low = 0, high = 0;
+            for (int lane = 0; lane < lanes; lane++) {
+                low += lowSum.lane(lane);
+                high += highSum.lane(lane);
+            }
+            total += (high << 16) + low;
+        }
+        int lo = vmin.reduceLanes(VectorOperators.MIN);
+        int hi = vmax.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            int v = values[i];
+            lo = Math.min(lo, v);
+            hi = Math.max(hi, v);
+            total += v;
+        }
+        min = lo;
+        max = hi;
+        sum = total;
+        count += to - from;
+    }
+
+    // Splits the range in half until it is small enough to scan on one core
+    @SuppressWarnings("serial")
+    private static final class ScanTask extends RecursiveTask<IntStats> {
+        private final int[] values;
+        private final int from;
+        private final int to;
+
+        ScanTask(int[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntStats compute() {
+            if (to - from <= PARALLEL_LEAF) {
+                IntStats leaf = new IntStats(Mode.VECTOR);
+                leaf.scanVector(values, from, to);
+                return leaf;
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(values, from, mid);
+            left.fork();
+            IntStats right = new ScanTask(values, mid, to).compute();
+            return right.combine(left.join());
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "IntStats{count=0}";
+        }
+        return "IntStats{count=" + count + ", min=" + min + ", max=" + max + ", sum=" + sum + ", mean=" + mean() + "}";
+    }
+
+    public static void main(String[] args) {
+        // The same 5 players as ArrayDataTypeDemo
+        int[] playerScores = { 75, 60, 45, 90, 30 };
+        IntStats team = IntStats.of(playerScores, Mode.SCALAR);
+        System.out.println("Highest Score: " + team.max() + " runs");
+        System.out.println("Lowest Score: " + team.min() + " runs");
+        System.out.println("Average Score: " + team.mean() + " runs");
+
+        // A season's feed arriving in chunks: the same buffer is refilled every time
+        IntStats season = new IntStats();
+        int[] buffer = new int[4096];
+        java.util.Random random = new java.util.Random(1);
+        for (int chunk = 0; chunk < 1000; chunk++) {
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = random.nextInt(200);
+            }
+            season.accept(buffer);
+        }
+        System.out.println("Season: " + season);
+
+        /*
+         🧠 Real-Life Analogy:
+         The demo's loop is a scorer walking along the scoreboard box by box.
+         The vector path is a scorer reading a whole row of boxes at a glance, and the
+         parallel path hands each row to a different scorer and compares their notes.
+        */
+
+        // Explanation:
+        // 1. IntStats tracks min, max, sum and count together, so one pass gives all of them.
+        // 2. accept() can be called again and again with new chunks; nothing is stored per element.
+        // 3. combine() merges two partial results, which is how the ForkJoin path works.
+        // 4. The sum is a long, so even 100 million scores cannot overflow it.
+    }
+}
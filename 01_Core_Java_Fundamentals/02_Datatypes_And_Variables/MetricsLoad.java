@@ -0,0 +1,131 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+/*
+ Metrics (Metrics.java) on the four instrumented hot paths at once: four threads run
+ IntStats.of(), CarFleet's displayDetails(), and batches of AnimalDispatch.typeIdTable()
+ and DayTable.PLANNER lookups for about a second, while a reporter prints every metric
+ each 300 ms and a JFR recording collects the latency events.
+
+ It is a load run, not one of the chapter's demos, so its name stays out of DemoLauncher's
+ default HelloWorld|.*Demo suite: it takes a couple of seconds and needs the Vector API.
+
+ Run (IntStats uses the Vector API, and Car and Day live in the demos, so compile them together):
+   javac --add-modules jdk.incubator.vector MetricsLoad.java Metrics.java IntStats.java CarFleet.java ClassAndObjectDemo.java AnimalDispatch.java DayTable.java EnumDemo.java
+   java --add-modules jdk.incubator.vector MetricsLoad
+*/
+public final class MetricsLoad {
+
+    private MetricsLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // JFR is switched on the same way as the metrics: at runtime, here from code
+        Recording recording = new Recording();
+        recording.enable("masterclass.Latency");
+        recording.start();
+        Metrics.enable();
+
+        // Four threads drive all four instrumented subsystems for about a second
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        Metrics.Reporter reporter = Metrics.startReporter(300, System.out, false);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                Thread.ofPlatform().start(() -> {
+                    try {
+                        load(seed, discard);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            // The threads stop themselves after a second; the timeout only guards against a hang
+            if (!done.await(30, TimeUnit.SECONDS)) {
+                failure.compareAndSet(null, new IllegalStateException("Load threads still running after 30 s"));
+            }
+        } finally {
+            reporter.close();
+        }
+        Metrics.disable();
+        recording.stop();
+        if (failure.get() != null) {
+            recording.close();
+            throw new IllegalStateException("A load thread failed", failure.get());
+        }
+        Path file = Files.createTempFile("metrics", ".jfr");
+        recording.dump(file);
+        recording.close();
+        long events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("masterclass.Latency"))
+                .count();
+        Files.deleteIfExists(file);
+
+        System.out.println("\nTotals as JSON:\n" + Metrics.report(true));
+        System.out.println("\nJFR recorded " + events + " masterclass.Latency events");
+
+        /*
+         🧠 Real-Life Analogy:
+         Four shops 🏪 stay open while the manager reads every tally sheet each few minutes
+         and writes down only what changed since the last look, so a slow afternoon stands
+         out instead of being averaged into the whole day.
+        */
+
+        // Explanation:
+        // 1. The JFR recording and Metrics.enable() are both switched on at runtime, from code.
+        // 2. The reporter prints counter deltas and each period's own percentiles.
+        // 3. IntStats and CarFleet count every call; the 1 ns lookups are counted once per batch.
+        // 4. The JFR file holds one masterclass.Latency event per timed call.
+    }
+
+    // One thread's second of work across the four instrumented subsystems
+    private static void load(int seed, PrintStream discard) {
+        Random random = new Random(seed);
+        int[] scores = random.ints(100_000, 0, 1000).toArray();
+        CarFleet fleet = new CarFleet();
+        fleet.add("Toyota", "Fortuner", 2022);
+        fleet.add("Hyundai", "Creta", 2023);
+        CarFleet.CarView car = fleet.view();
+        AnimalDispatch.Species[] zoo = new AnimalDispatch.Species[AnimalDispatch.TYPE_COUNT];
+        for (int id = 0; id < zoo.length; id++) {
+            zoo[id] = AnimalDispatch.create(id);
+        }
+        // The two 1 ns lookups run as batches of 100 per round, which Metrics counts once each
+        AnimalDispatch.Species[] animals = new AnimalDispatch.Species[100];
+        String[] sounds = new String[animals.length];
+        Day[] days = new Day[animals.length];
+        String[] plans = new String[days.length];
+        long sink = 0;
+        long end = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            sink += IntStats.of(scores, IntStats.Mode.AUTO).max();
+            for (int i = 0; i < animals.length; i++) {
+                car.moveTo(i & 1).displayDetails(discard);
+                animals[i] = zoo[random.nextInt(zoo.length)];
+                days[i] = DayTable.byOrdinal(random.nextInt(DayTable.COUNT));
+            }
+            AnimalDispatch.typeIdTable(animals, sounds);
+            DayTable.PLANNER.get(days, plans);
+            for (int i = 0; i < animals.length; i++) {
+                sink += sounds[i].length() + plans[i].length();
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
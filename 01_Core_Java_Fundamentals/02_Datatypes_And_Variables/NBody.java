@@ -0,0 +1,891 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ NBody applies DoubleDataTypeDemo's F = G * (m1 * m2) / (r * r) to every pair of bodies in
+ a set, and moves the bodies under the resulting forces.
+
+ Run (the SIMD path uses the incubating Vector API, so the module must be added):
+   javac --add-modules jdk.incubator.vector NBody.java
+   java --add-modules jdk.incubator.vector NBody
+
+ Bodies are stored as a structure of arrays: x[i], y[i], z[i], vx[i], ..., mass[i] instead
+ of one Body object per body, so the inner loop reads each array from left to right and
+ SIMD instructions can load 4 or 8 neighbouring bodies at once.
+
+ The acceleration of body i is the sum over every other body j of
+   G * m[j] * (r[j] - r[i]) / (|r[j] - r[i]|^2 + softening^2)^(3/2)
+ (force divided by m[i]; the softening keeps two bodies that pass very close from flinging
+ each other out at near-infinite speed).
+
+ Modes:
+   DIRECT    the plain double loop over all n x n pairs
+   VECTOR    the same pairs, the inner loop on jdk.incubator.vector: 4 or 8 bodies per
+             instruction for double, twice as many for float
+   PARALLEL  splits the target bodies into bands with ForkJoin; each band runs VECTOR
+   TREE      Barnes-Hut: an octree groups bodies into cubes, and a cube that looks small
+             from body i (width / distance < theta) counts as one body at its centre of
+             mass. About n log n interactions instead of n^2, within a fraction of a percent
+   AUTO      TREE for big sets, PARALLEL or VECTOR below that
+
+ Precision (FloatDataTypeDemo's trade-off): DOUBLE, or FLOAT, which runs the force loops on
+ float copies of the positions and of G * m. Float halves the memory traffic and doubles
+ the SIMD lanes, and loses about 7 of double's 16 significant digits. The positions and
+ velocities themselves always stay double.
+
+ Float's range matters as well as its digits: G * (m1 * m2) for the Earth and the Moon is
+ already past float's 3.4e38, and so is r^3 between two stars in metres. The kernel never
+ forms m1 * m2 (it works with G * m per body), and cluster() uses N-body units (G = 1,
+ total mass 1, radius 1) in which every step stays in range.
+*/
+public final class NBody {
+
+    enum Mode { DIRECT, VECTOR, PARALLEL, TREE, AUTO }
+
+    enum Precision { DOUBLE, FLOAT }
+
+    // DoubleDataTypeDemo's gravitational constant, for SI units
+    static final double G = 6.67430e-11;
+    // Below this many interactions the fork/join overhead costs more than it saves
+    static final long PARALLEL_THRESHOLD = 1L << 20;
+    // AUTO switches to Barnes-Hut from this many bodies
+    static final int TREE_THRESHOLD = 1 << 14;
+    // Opening angle: a cube narrower than THETA x its distance is treated as one body
+    static final double THETA = 0.5;
+    // A tree leaf holds up to this many bodies before it is split into eight cubes
+    static final int LEAF_SIZE = 8;
+    // Cubes stop splitting after this many halvings (bodies at the same position would split forever)
+    static final int MAX_DEPTH = 40;
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    private final int n;
+    private final double g;
+    private final double softening2;
+    final double[] x;
+    final double[] y;
+    final double[] z;
+    final double[] vx;
+    final double[] vy;
+    final double[] vz;
+    final double[] mass;
+    // Accelerations from the last accelerations() call
+    final double[] ax;
+    final double[] ay;
+    final double[] az;
+
+    // G * mass, and the float copies FLOAT mode reads; rebuilt after the bodies move
+    private final double[] gm;
+    private float[] fx;
+    private float[] fy;
+    private float[] fz;
+    private float[] fgm;
+    private boolean doublesReady;
+    private boolean floatsReady;
+    // The mode and precision that filled ax/ay/az for the current positions, or null when stale
+    private Mode acceleratedMode;
+    private Precision acceleratedPrecision;
+
+    /** n bodies at the origin with no mass; set them with body(). */
+    public NBody(int n, double g, double softening) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Need at least one body, got " + n);
+        }
+        this.n = n;
+        this.g = g;
+        this.softening2 = softening * softening;
+        x = new double[n];
+        y = new double[n];
+        z = new double[n];
+        vx = new double[n];
+        vy = new double[n];
+        vz = new double[n];
+        mass = new double[n];
+        ax = new double[n];
+        ay = new double[n];
+        az = new double[n];
+        gm = new double[n];
+    }
+
+    /**
+     n bodies of mass 1/n spread evenly through a sphere of radius 1, drifting at random,
+     in N-body units (G = 1); the same for the same seed.
+    */
+    public static NBody cluster(int n, long seed) {
+        NBody bodies = new NBody(n, 1, 0.01);
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            double px;
+            double py;
+            double pz;
+            do {
+                px = random.nextDouble() * 2 - 1;
+                py = random.nextDouble() * 2 - 1;
+                pz = random.nextDouble() * 2 - 1;
+            } while (px * px + py * py + pz * pz > 1);
+            bodies.body(i, px, py, pz, random.nextGaussian() * 0.3, random.nextGaussian() * 0.3,
+                    random.nextGaussian() * 0.3, 1.0 / n);
+        }
+        return bodies;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public void body(int i, double px, double py, double pz, double velocityX, double velocityY, double velocityZ, double m) {
+        x[i] = px;
+        y[i] = py;
+        z[i] = pz;
+        vx[i] = velocityX;
+        vy[i] = velocityY;
+        vz[i] = velocityZ;
+        mass[i] = m;
+        moved();
+    }
+
+    private void moved() {
+        doublesReady = false;
+        floatsReady = false;
+        acceleratedMode = null;
+        acceleratedPrecision = null;
+    }
+
+    private void prepare(Precision precision) {
+        if (!doublesReady) {
+            for (int i = 0; i < n; i++) {
+                gm[i] = g * mass[i];
+            }
+            doublesReady = true;
+        }
+        if (precision == Precision.FLOAT && !floatsReady) {
+            if (fx == null) {
+                fx = new float[n];
+                fy = new float[n];
+                fz = new float[n];
+                fgm = new float[n];
+            }
+            for (int i = 0; i < n; i++) {
+                fx[i] = (float) x[i];
+                fy[i] = (float) y[i];
+                fz[i] = (float) z[i];
+                fgm[i] = (float) gm[i];
+            }
+            floatsReady = true;
+        }
+    }
+
+    public void accelerations(Mode mode, Precision precision) {
+        accelerations(0, n, mode, precision, ForkJoinPool.commonPool());
+    }
+
+    /**
+     Accelerations of bodies [from, to) from all n bodies, into ax/ay/az. PARALLEL (and AUTO,
+     when it goes parallel) runs on the given pool; TREE builds a new tree every call.
+    */
+    public void accelerations(int from, int to, Mode mode, Precision precision, ForkJoinPool pool) {
+        if (from < 0 || to > n || from > to) {
+            throw new IndexOutOfBoundsException("Bodies [" + from + ", " + to + ") outside [0, " + n + ")");
+        }
+        Mode m = mode;
+        if (m == Mode.AUTO) {
+            long work = (long) (to - from) * n;
+            m = n >= TREE_THRESHOLD ? Mode.TREE
+                    : work >= PARALLEL_THRESHOLD && pool.getParallelism() > 1 && to - from > 1 ? Mode.PARALLEL : Mode.VECTOR;
+        }
+        prepare(precision);
+        boolean single = precision == Precision.FLOAT;
+        switch (m) {
+            case DIRECT -> {
+                if (single) {
+                    directFloat(from, to);
+                } else {
+                    directDouble(from, to);
+                }
+            }
+            case VECTOR -> vector(from, to, single);
+            case PARALLEL -> pool.invoke(new BandTask(from, to, grain(to - from, pool), (lo, hi) -> vector(lo, hi, single)));
+            case TREE -> buildTree(THETA).accelerations(from, to, precision, pool);
+            case AUTO -> throw new AssertionError();
+        }
+        boolean all = from == 0 && to == n;
+        acceleratedMode = all ? mode : null;
+        acceleratedPrecision = all ? precision : null;
+    }
+
+    /**
+     One leapfrog step (kick, drift, kick): velocities take half a step of acceleration,
+     positions a full step of velocity, then the velocities the second half with the new
+     accelerations. Unlike updating both with the old accelerations, this keeps the total
+     energy from creeping away over many steps.
+    */
+    public void step(double dt, Mode mode, Precision precision) {
+        // Reuse the last accelerations only if this step would compute the same ones
+        if (acceleratedMode != mode || acceleratedPrecision != precision) {
+            accelerations(mode, precision);
+        }
+        kick(dt / 2);
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            z[i] += vz[i] * dt;
+        }
+        moved();
+        accelerations(mode, precision);
+        kick(dt / 2);
+    }
+
+    private void kick(double dt) {
+        for (int i = 0; i < n; i++) {
+            vx[i] += ax[i] * dt;
+            vy[i] += ay[i] * dt;
+            vz[i] += az[i] * dt;
+        }
+    }
+
+    /** Kinetic plus potential energy, in double over all pairs; constant in an exact simulation. */
+    public double energy() {
+        double kinetic = 0;
+        double potential = 0;
+        for (int i = 0; i < n; i++) {
+            kinetic += 0.5 * mass[i] * (vx[i] * vx[i] + vy[i] * vy[i] + vz[i] * vz[i]);
+            for (int j = i + 1; j < n; j++) {
+                double dx = x[j] - x[i];
+                double dy = y[j] - y[i];
+                double dz = z[j] - z[i];
+                double r2 = dx * dx + dy * dy + dz * dz + softening2;
+                if (r2 > 0) {
+                    potential -= g * mass[i] * mass[j] / Math.sqrt(r2);
+                }
+            }
+        }
+        return kinetic + potential;
+    }
+
+    /**
+     How far ax/ay/az are from DIRECT DOUBLE for the given bodies: the root mean square of
+     |a - exact| / |exact|. Costs n interactions per sampled body.
+    */
+    public double relativeError(int[] sample) {
+        prepare(Precision.DOUBLE);
+        double sum = 0;
+        double[] exact = new double[3];
+        for (int i : sample) {
+            exact(i, exact);
+            double ex = ax[i] - exact[0];
+            double ey = ay[i] - exact[1];
+            double ez = az[i] - exact[2];
+            double size2 = exact[0] * exact[0] + exact[1] * exact[1] + exact[2] * exact[2];
+            sum += size2 == 0 ? 0 : (ex * ex + ey * ey + ez * ez) / size2;
+        }
+        return Math.sqrt(sum / Math.max(1, sample.length));
+    }
+
+    private void exact(int i, double[] out) {
+        double xi = x[i];
+        double yi = y[i];
+        double zi = z[i];
+        double sx = 0;
+        double sy = 0;
+        double sz = 0;
+        for (int j = 0; j < n; j++) {
+            double dx = x[j] - xi;
+            double dy = y[j] - yi;
+            double dz = z[j] - zi;
+            double r2 = dx * dx + dy * dy + dz * dz + softening2;
+            // r2 is 0 only for body i itself (or a body on top of it) without softening
+            if (r2 > 0) {
+                double inv = 1 / Math.sqrt(r2);
+                double s = gm[j] * inv * inv * inv;
+                sx += dx * s;
+                sy += dy * s;
+                sz += dz * s;
+            }
+        }
+        out[0] = sx;
+        out[1] = sy;
+        out[2] = sz;
+    }
+
+    private void directDouble(int from, int to) {
+        double[] out = new double[3];
+        for (int i = from; i < to; i++) {
+            exact(i, out);
+            ax[i] = out[0];
+            ay[i] = out[1];
+            az[i] = out[2];
+        }
+    }
+
+    private void directFloat(int from, int to) {
+        float eps2 = (float) softening2;
+        for (int i = from; i < to; i++) {
+            float xi = fx[i];
+            float yi = fy[i];
+            float zi = fz[i];
+            float sx = 0;
+            float sy = 0;
+            float sz = 0;
+            for (int j = 0; j < n; j++) {
+                float dx = fx[j] - xi;
+                float dy = fy[j] - yi;
+                float dz = fz[j] - zi;
+                float r2 = dx * dx + dy * dy + dz * dz + eps2;
+                if (r2 > 0) {
+                    float inv = 1 / (float) Math.sqrt(r2);
+                    float s = fgm[j] * inv * inv * inv;
+                    sx += dx * s;
+                    sy += dy * s;
+                    sz += dz * s;
+                }
+            }
+            ax[i] = sx;
+            ay[i] = sy;
+            az[i] = sz;
+        }
+    }
+
+    private void vector(int from, int to, boolean single) {
+        if (single) {
+            vectorFloat(from, to);
+        } else {
+            vectorDouble(from, to);
+        }
+    }
+
+    /*
+     One target body against a register's worth of source bodies at a time. Where r2 is 0
+     (the body itself, without softening) 1 / sqrt(0) is infinite, so those lanes are
+     blended back to 0 instead of branching.
+    */
+    private void vectorDouble(int from, int to) {
+        int upper = DOUBLES.loopBound(n);
+        DoubleVector eps2 = DoubleVector.broadcast(DOUBLES, softening2);
+        DoubleVector one = DoubleVector.broadcast(DOUBLES, 1);
+        for (int i = from; i < to; i++) {
+            double xi = x[i];
+            double yi = y[i];
+            double zi = z[i];
+            DoubleVector vxi = DoubleVector.broadcast(DOUBLES, xi);
+            DoubleVector vyi = DoubleVector.broadcast(DOUBLES, yi);
+            DoubleVector vzi = DoubleVector.broadcast(DOUBLES, zi);
+            DoubleVector sx = DoubleVector.zero(DOUBLES);
+            DoubleVector sy = DoubleVector.zero(DOUBLES);
+            DoubleVector sz = DoubleVector.zero(DOUBLES);
+            int j = 0;
+            for (; j < upper; j += DOUBLES.length()) {
+                DoubleVector dx = DoubleVector.fromArray(DOUBLES, x, j).sub(vxi);
+                DoubleVector dy = DoubleVector.fromArray(DOUBLES, y, j).sub(vyi);
+                DoubleVector dz = DoubleVector.fromArray(DOUBLES, z, j).sub(vzi);
+                DoubleVector r2 = dx.fma(dx, dy.fma(dy, dz.fma(dz, eps2)));
+                DoubleVector inv = one.div(r2.lanewise(VectorOperators.SQRT));
+                DoubleVector s = DoubleVector.fromArray(DOUBLES, gm, j).mul(inv.mul(inv).mul(inv))
+                        .blend(0, r2.compare(VectorOperators.EQ, 0));
+                sx = dx.fma(s, sx);
+                sy = dy.fma(s, sy);
+                sz = dz.fma(s, sz);
+            }
+            double tx = 0;
+            double ty = 0;
+            double tz = 0;
+            for (; j < n; j++) {
+                double dx = x[j] - xi;
+                double dy = y[j] - yi;
+                double dz = z[j] - zi;
+                double r2 = dx * dx + dy * dy + dz * dz + softening2;
+                if (r2 > 0) {
+                    double inv = 1 / Math.sqrt(r2);
+                    double s = gm[j] * inv * inv * inv;
+                    tx += dx * s;
+                    ty += dy * s;
+                    tz += dz * s;
+                }
+            }
+            ax[i] = sx.reduceLanes(VectorOperators.ADD) + tx;
+            ay[i] = sy.reduceLanes(VectorOperators.ADD) + ty;
+            az[i] = sz.reduceLanes(VectorOperators.ADD) + tz;
+        }
+    }
+
+    private void vectorFloat(int from, int to) {
+        int upper = FLOATS.loopBound(n);
+        float eps2Scalar = (float) softening2;
+        FloatVector eps2 = FloatVector.broadcast(FLOATS, eps2Scalar);
+        FloatVector one = FloatVector.broadcast(FLOATS, 1);
+        for (int i = from; i < to; i++) {
+            float xi = fx[i];
+            float yi = fy[i];
+            float zi = fz[i];
+            FloatVector vxi = FloatVector.broadcast(FLOATS, xi);
+            FloatVector vyi = FloatVector.broadcast(FLOATS, yi);
+            FloatVector vzi = FloatVector.broadcast(FLOATS, zi);
+            FloatVector sx = FloatVector.zero(FLOATS);
+            FloatVector sy = FloatVector.zero(FLOATS);
+            FloatVector sz = FloatVector.zero(FLOATS);
+            int j = 0;
+            for (; j < upper; j += FLOATS.length()) {
+                FloatVector dx = FloatVector.fromArray(FLOATS, fx, j).sub(vxi);
+                FloatVector dy = FloatVector.fromArray(FLOATS, fy, j).sub(vyi);
+                FloatVector dz = FloatVector.fromArray(FLOATS, fz, j).sub(vzi);
+                FloatVector r2 = dx.fma(dx, dy.fma(dy, dz.fma(dz, eps2)));
+                FloatVector inv = one.div(r2.lanewise(VectorOperators.SQRT));
+                FloatVector s = FloatVector.fromArray(FLOATS, fgm, j).mul(inv.mul(inv).mul(inv))
+                        .blend(0, r2.compare(VectorOperators.EQ, 0));
+                sx = dx.fma(s, sx);
+                sy = dy.fma(s, sy);
+                sz = dz.fma(s, sz);
+            }
+            float tx = 0;
+            float ty = 0;
+            float tz = 0;
+            for (; j < n; j++) {
+                float dx = fx[j] - xi;
+                float dy = fy[j] - yi;
+                float dz = fz[j] - zi;
+                float r2 = dx * dx + dy * dy + dz * dz + eps2Scalar;
+                if (r2 > 0) {
+                    float inv = 1 / (float) Math.sqrt(r2);
+                    float s = fgm[j] * inv * inv * inv;
+                    tx += dx * s;
+                    ty += dy * s;
+                    tz += dz * s;
+                }
+            }
+            ax[i] = sx.reduceLanes(VectorOperators.ADD) + tx;
+            ay[i] = sy.reduceLanes(VectorOperators.ADD) + ty;
+            az[i] = sz.reduceLanes(VectorOperators.ADD) + tz;
+        }
+    }
+
+    /** Builds a Barnes-Hut octree of the current positions. */
+    public Tree buildTree(double theta) {
+        prepare(Precision.DOUBLE);
+        return new Tree(theta);
+    }
+
+    /**
+     A Barnes-Hut octree over this set's bodies, stored as arrays indexed by node number
+     (node 0 is the cube around every body). A leaf keeps a linked list of up to LEAF_SIZE
+     bodies; an inner node keeps up to eight child cubes, and every node knows the total
+     G * m and the centre of mass of the bodies inside it. A child is always numbered after
+     its parent, so one backwards pass over the nodes fills in those sums.
+    */
+    public final class Tree {
+        private final double theta2;
+        private int nodes;
+        private double[] centerX;
+        private double[] centerY;
+        private double[] centerZ;
+        private double[] half;
+        // Centre of mass and total G * m of each node
+        private double[] massX;
+        private double[] massY;
+        private double[] massZ;
+        private double[] massGm;
+        // The same, rounded to float, for FLOAT walks
+        private float[] floatX;
+        private float[] floatY;
+        private float[] floatZ;
+        private float[] floatGm;
+        // Eight per node, -1 for an empty octant
+        private int[] children;
+        // Bodies in a leaf, or -1 for an inner node
+        private int[] count;
+        private int[] first;
+        private final int[] next;
+        private final double minHalf;
+
+        private Tree(double theta) {
+            this.theta2 = theta * theta;
+            int capacity = Math.max(16, n / 2);
+            centerX = new double[capacity];
+            centerY = new double[capacity];
+            centerZ = new double[capacity];
+            half = new double[capacity];
+            children = new int[capacity * 8];
+            count = new int[capacity];
+            first = new int[capacity];
+            next = new int[n];
+
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double minZ = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            double maxZ = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                minZ = Math.min(minZ, z[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+                maxZ = Math.max(maxZ, z[i]);
+            }
+            double rootHalf = Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)) / 2;
+            // A little larger than the bounding box, so no body sits exactly on the boundary
+            rootHalf = rootHalf * (1 + 1e-9) + Double.MIN_NORMAL;
+            minHalf = rootHalf / (1L << MAX_DEPTH);
+            newNode((minX + maxX) / 2, (minY + maxY) / 2, (minZ + maxZ) / 2, rootHalf);
+            for (int i = 0; i < n; i++) {
+                insert(i);
+            }
+            summarize();
+        }
+
+        public int nodes() {
+            return nodes;
+        }
+
+        private int newNode(double cx, double cy, double cz, double h) {
+            if (nodes == count.length) {
+                int capacity = nodes * 2;
+                centerX = Arrays.copyOf(centerX, capacity);
+                centerY = Arrays.copyOf(centerY, capacity);
+                centerZ = Arrays.copyOf(centerZ, capacity);
+                half = Arrays.copyOf(half, capacity);
+                children = Arrays.copyOf(children, capacity * 8);
+                count = Arrays.copyOf(count, capacity);
+                first = Arrays.copyOf(first, capacity);
+            }
+            int node = nodes++;
+            centerX[node] = cx;
+            centerY[node] = cy;
+            centerZ[node] = cz;
+            half[node] = h;
+            Arrays.fill(children, node * 8, node * 8 + 8, -1);
+            count[node] = 0;
+            first[node] = -1;
+            return node;
+        }
+
+        private void insert(int body) {
+            int node = 0;
+            for (;;) {
+                if (count[node] >= 0) {
+                    if (count[node] < LEAF_SIZE || half[node] < minHalf) {
+                        next[body] = first[node];
+                        first[node] = body;
+                        count[node]++;
+                        return;
+                    }
+                    split(node);
+                }
+                node = child(node, body);
+            }
+        }
+
+        // Turns a full leaf into an inner node and hands its bodies to the child cubes
+        private void split(int node) {
+            int body = first[node];
+            count[node] = -1;
+            first[node] = -1;
+            while (body >= 0) {
+                int following = next[body];
+                int leaf = child(node, body);
+                next[body] = first[leaf];
+                first[leaf] = body;
+                count[leaf]++;
+                body = following;
+            }
+        }
+
+        // The child cube of node that holds body, created if it does not exist yet
+        private int child(int node, int body) {
+            double cx = centerX[node];
+            double cy = centerY[node];
+            double cz = centerZ[node];
+            int octant = (x[body] >= cx ? 1 : 0) | (y[body] >= cy ? 2 : 0) | (z[body] >= cz ? 4 : 0);
+            int slot = node * 8 + octant;
+            int c = children[slot];
+            if (c < 0) {
+                double h = half[node] / 2;
+                c = newNode(cx + ((octant & 1) != 0 ? h : -h), cy + ((octant & 2) != 0 ? h : -h),
+                        cz + ((octant & 4) != 0 ? h : -h), h);
+                children[slot] = c;
+            }
+            return c;
+        }
+
+        private void summarize() {
+            massX = new double[nodes];
+            massY = new double[nodes];
+            massZ = new double[nodes];
+            massGm = new double[nodes];
+            for (int node = nodes - 1; node >= 0; node--) {
+                double sum = 0;
+                double sx = 0;
+                double sy = 0;
+                double sz = 0;
+                if (count[node] >= 0) {
+                    for (int body = first[node]; body >= 0; body = next[body]) {
+                        sum += gm[body];
+                        sx += gm[body] * x[body];
+                        sy += gm[body] * y[body];
+                        sz += gm[body] * z[body];
+                    }
+                } else {
+                    for (int k = node * 8; k < node * 8 + 8; k++) {
+                        int c = children[k];
+                        if (c >= 0) {
+                            sum += massGm[c];
+                            sx += massGm[c] * massX[c];
+                            sy += massGm[c] * massY[c];
+                            sz += massGm[c] * massZ[c];
+                        }
+                    }
+                }
+                massGm[node] = sum;
+                // A massless cube attracts nothing; its centre is as good a position as any
+                massX[node] = sum != 0 ? sx / sum : centerX[node];
+                massY[node] = sum != 0 ? sy / sum : centerY[node];
+                massZ[node] = sum != 0 ? sz / sum : centerZ[node];
+            }
+        }
+
+        private void floats() {
+            if (floatGm == null) {
+                floatX = new float[nodes];
+                floatY = new float[nodes];
+                floatZ = new float[nodes];
+                floatGm = new float[nodes];
+                for (int node = 0; node < nodes; node++) {
+                    floatX[node] = (float) massX[node];
+                    floatY[node] = (float) massY[node];
+                    floatZ[node] = (float) massZ[node];
+                    floatGm[node] = (float) massGm[node];
+                }
+            }
+        }
+
+        /** Accelerations of bodies [from, to) into ax/ay/az; bands run on the pool when it has more than one worker. */
+        public void accelerations(int from, int to, Precision precision, ForkJoinPool pool) {
+            prepare(precision);
+            boolean single = precision == Precision.FLOAT;
+            if (single) {
+                floats();
+            }
+            if (pool.getParallelism() > 1 && to - from > 1) {
+                pool.invoke(new BandTask(from, to, grain(to - from, pool), (lo, hi) -> walk(lo, hi, single)));
+            } else {
+                walk(from, to, single);
+            }
+        }
+
+        private void walk(int from, int to, boolean single) {
+            // Depth-first: at most 7 siblings wait per level
+            int[] stack = new int[7 * (MAX_DEPTH + 2) + 8];
+            for (int i = from; i < to; i++) {
+                if (single) {
+                    walkFloat(i, stack);
+                } else {
+                    walkDouble(i, stack);
+                }
+            }
+        }
+
+        private void walkDouble(int i, int[] stack) {
+            double xi = x[i];
+            double yi = y[i];
+            double zi = z[i];
+            double sx = 0;
+            double sy = 0;
+            double sz = 0;
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (count[node] >= 0) {
+                    for (int body = first[node]; body >= 0; body = next[body]) {
+                        double dx = x[body] - xi;
+                        double dy = y[body] - yi;
+                        double dz = z[body] - zi;
+                        double r2 = dx * dx + dy * dy + dz * dz + softening2;
+                        if (r2 > 0) {
+                            double inv = 1 / Math.sqrt(r2);
+                            double s = gm[body] * inv * inv * inv;
+                            sx += dx * s;
+                            sy += dy * s;
+                            sz += dz * s;
+                        }
+                    }
+                    continue;
+                }
+                double dx = massX[node] - xi;
+                double dy = massY[node] - yi;
+                double dz = massZ[node] - zi;
+                double d2 = dx * dx + dy * dy + dz * dz;
+                double width = 2 * half[node];
+                if (width * width < theta2 * d2) {
+                    // Far enough away: the whole cube pulls like one body at its centre of mass
+                    double inv = 1 / Math.sqrt(d2 + softening2);
+                    double s = massGm[node] * inv * inv * inv;
+                    sx += dx * s;
+                    sy += dy * s;
+                    sz += dz * s;
+                } else {
+                    for (int k = node * 8; k < node * 8 + 8; k++) {
+                        if (children[k] >= 0) {
+                            stack[top++] = children[k];
+                        }
+                    }
+                }
+            }
+            ax[i] = sx;
+            ay[i] = sy;
+            az[i] = sz;
+        }
+
+        private void walkFloat(int i, int[] stack) {
+            float eps2 = (float) softening2;
+            float xi = fx[i];
+            float yi = fy[i];
+            float zi = fz[i];
+            float sx = 0;
+            float sy = 0;
+            float sz = 0;
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (count[node] >= 0) {
+                    for (int body = first[node]; body >= 0; body = next[body]) {
+                        float dx = fx[body] - xi;
+                        float dy = fy[body] - yi;
+                        float dz = fz[body] - zi;
+                        float r2 = dx * dx + dy * dy + dz * dz + eps2;
+                        if (r2 > 0) {
+                            float inv = 1 / (float) Math.sqrt(r2);
+                            float s = fgm[body] * inv * inv * inv;
+                            sx += dx * s;
+                            sy += dy * s;
+                            sz += dz * s;
+                        }
+                    }
+                    continue;
+                }
+                float dx = floatX[node] - xi;
+                float dy = floatY[node] - yi;
+                float dz = floatZ[node] - zi;
+                float d2 = dx * dx + dy * dy + dz * dz;
+                double width = 2 * half[node];
+                if (width * width < theta2 * d2) {
+                    float inv = 1 / (float) Math.sqrt(d2 + eps2);
+                    float s = floatGm[node] * inv * inv * inv;
+                    sx += dx * s;
+                    sy += dy * s;
+                    sz += dz * s;
+                } else {
+                    for (int k = node * 8; k < node * 8 + 8; k++) {
+                        if (children[k] >= 0) {
+                            stack[top++] = children[k];
+                        }
+                    }
+                }
+            }
+            ax[i] = sx;
+            ay[i] = sy;
+            az[i] = sz;
+        }
+    }
+
+    // About four bands per worker, so a slow band does not leave the other cores idle
+    private static int grain(int bodies, ForkJoinPool pool) {
+        return Math.max(1, bodies / (pool.getParallelism() * 4));
+    }
+
+    @FunctionalInterface
+    interface Band {
+        void run(int from, int to);
+    }
+
+    /** Splits [from, to) in half until a band has at most grain bodies, then runs it. */
+    @SuppressWarnings("serial")
+    private static final class BandTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final Band band;
+
+        BandTask(int from, int to, int grain, Band band) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.band = band;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                band.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BandTask(from, mid, grain, band), new BandTask(mid, to, grain, band));
+        }
+    }
+
+    public static void main(String[] args) {
+        // DoubleDataTypeDemo's Earth and Moon as a two-body system, in SI units
+        double m1 = 5.972e24;
+        double m2 = 7.348e22;
+        double r = 384400000;
+        NBody earthMoon = new NBody(2, G, 0);
+        earthMoon.body(0, 0, 0, 0, 0, 0, 0, m1);
+        earthMoon.body(1, r, 0, 0, 0, 0, 0, m2);
+        System.out.println("Formula:        " + G * (m1 * m2) / (r * r) + " N");
+        for (Precision precision : Precision.values()) {
+            earthMoon.accelerations(Mode.DIRECT, precision);
+            // Force on the Moon = its mass x its acceleration towards the Earth
+            System.out.println("NBody " + precision + ": " + (m2 * -earthMoon.ax[1]) + " N");
+        }
+        System.out.println("m1 * m2 as float: " + (float) m1 * (float) m2 + " (past float's maximum of 3.4e38)");
+
+        // A 2,000-body cluster every way; errors are against DIRECT in double
+        NBody cluster = NBody.cluster(2000, 42);
+        int[] sample = new Random(7).ints(200, 0, cluster.size()).toArray();
+        for (Mode mode : Mode.values()) {
+            for (Precision precision : Precision.values()) {
+                // The first call pays for JIT compilation (a lot, for the Vector API); time the second
+                cluster.accelerations(mode, precision);
+                long start = System.nanoTime();
+                cluster.accelerations(mode, precision);
+                long micros = (System.nanoTime() - start) / 1000;
+                System.out.printf("%-8s %-6s %8d us, relative error %.1e%n", mode, precision, micros, cluster.relativeError(sample));
+            }
+        }
+
+        // 100 leapfrog steps: how much the total energy drifts
+        for (Mode mode : new Mode[] { Mode.VECTOR, Mode.TREE }) {
+            for (Precision precision : Precision.values()) {
+                NBody bodies = NBody.cluster(1000, 42);
+                double before = bodies.energy();
+                for (int s = 0; s < 100; s++) {
+                    bodies.step(0.001, mode, precision);
+                }
+                System.out.printf("%-6s %-6s energy drift after 100 steps: %.2e%n", mode, precision,
+                        Math.abs((bodies.energy() - before) / before));
+            }
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         Adding up the pull of every star on every other star is asking each person in a stadium
+         to shake hands with everyone else 🤝. Barnes-Hut lets a far-away block of seats wave as
+         one group 👋 — from across the stadium you cannot tell the difference anyway.
+        */
+
+        // Explanation:
+        // 1. Each body's acceleration is G * m / r^2 from every other body, the demo's formula divided by the body's own mass.
+        // 2. Separate x[], y[], z[] and mass[] arrays let the inner loop stream through memory and use SIMD lanes.
+        // 3. PARALLEL gives each core a band of bodies; TREE groups distant bodies so the work grows as n log n, not n^2.
+        // 4. FLOAT doubles the SIMD lanes but keeps only ~7 digits; the energy drift shows what that costs over many steps.
+    }
+}
@@ -0,0 +1,661 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/*
+ StringKit takes StringDataTypeDemo's three string jobs (build a profile with +, upper-case
+ it, look for "Java" in it) and makes them cheap enough to run over millions of profiles,
+ in any script CharDataTypeDemo can show.
+
+ Run:
+   javac StringKit.java
+   java StringKit
+
+ What is in the kit:
+   scratch()            one StringBuilder per thread, cleared and handed out again, so
+                        building a line does not allocate a new builder every time
+   toUpperCase /        an ASCII-only pass that never looks up the Locale and returns the
+   toLowerCase          same String when nothing changes; the first non-ASCII char hands the
+                        whole text to String's full Unicode rules (ß -> SS, final sigma, ...)
+   appendUpperCase      the same, written into a builder instead of a new String
+   indexOfIgnoreCase    case-insensitive search without upper-casing a copy of the text
+   MultiMatcher         Aho-Corasick: many patterns compiled into one automaton, so one
+                        pass over the text replaces one contains() call per pattern
+   InternCache          a fixed-size table of canonical Strings; unlike String.intern() it
+                        can never grow, and intern(char[], from, to) finds a cached String
+                        without creating a new one first
+
+ All of it works on UTF-16 chars like String itself: a surrogate pair (an emoji 💻) is two
+ chars and is matched as two chars, which is exact because half a pair never equals anything
+ but the same half.
+*/
+public final class StringKit {
+
+    // A scratch builder that grew past this is dropped instead of kept for the next caller
+    static final int SCRATCH_MAX = 1 << 16;
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<char[]> CASE_CHUNK = ThreadLocal.withInitial(() -> new char[256]);
+
+    private StringKit() {
+    }
+
+    /**
+     This thread's scratch builder, emptied. Use it and let it go before the next call:
+     the same builder comes back every time, so two live uses on one thread would overwrite
+     each other.
+    */
+    public static StringBuilder scratch() {
+        StringBuilder builder = SCRATCH.get();
+        if (builder.capacity() > SCRATCH_MAX) {
+            builder = new StringBuilder(256);
+            SCRATCH.set(builder);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+
+    /** s.toUpperCase(Locale.ROOT), with a fast path for pure ASCII text. */
+    public static String toUpperCase(String s) {
+        int n = s.length();
+        boolean changes = false;
+        // One pass to be sure it is all ASCII (anything else goes to String's rules) and something changes
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return s.toUpperCase(Locale.ROOT);
+            }
+            changes |= c >= 'a' && c <= 'z';
+        }
+        if (!changes) {
+            return s;
+        }
+        byte[] out = new byte[n];
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            out[i] = (byte) (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c);
+        }
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+
+    /** s.toLowerCase(Locale.ROOT), with a fast path for pure ASCII text. */
+    public static String toLowerCase(String s) {
+        int n = s.length();
+        boolean changes = false;
+        // One pass to be sure it is all ASCII (anything else goes to String's rules) and something changes
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return s.toLowerCase(Locale.ROOT);
+            }
+            changes |= c >= 'A' && c <= 'Z';
+        }
+        if (!changes) {
+            return s;
+        }
+        byte[] out = new byte[n];
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            out[i] = (byte) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+        }
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     Appends text upper-cased to out. Pure ASCII text is converted through a small reused
+     char[] and appended in bulk; anything else goes through toUpperCase(Locale.ROOT) whole,
+     since a Unicode rule can change the length or depend on neighbouring chars.
+    */
+    public static StringBuilder appendUpperCase(StringBuilder out, CharSequence text) {
+        if (!isAscii(text)) {
+            return out.append(text.toString().toUpperCase(Locale.ROOT));
+        }
+        char[] chunk = CASE_CHUNK.get();
+        for (int from = 0, n = text.length(); from < n; from += chunk.length) {
+            int length = Math.min(chunk.length, n - from);
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(from + i);
+                chunk[i] = (char) (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c);
+            }
+            out.append(chunk, 0, length);
+        }
+        return out;
+    }
+
+    /** Same as appendUpperCase, with toLowerCase(Locale.ROOT) as the fallback. */
+    public static StringBuilder appendLowerCase(StringBuilder out, CharSequence text) {
+        if (!isAscii(text)) {
+            return out.append(text.toString().toLowerCase(Locale.ROOT));
+        }
+        char[] chunk = CASE_CHUNK.get();
+        for (int from = 0, n = text.length(); from < n; from += chunk.length) {
+            int length = Math.min(chunk.length, n - from);
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(from + i);
+                chunk[i] = (char) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+            }
+            out.append(chunk, 0, length);
+        }
+        return out;
+    }
+
+    public static boolean isAscii(CharSequence text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** String.equalsIgnoreCase, with ASCII pairs compared without Character's case tables. */
+    public static boolean equalsIgnoreCase(String a, String b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        for (int i = 0, n = a.length(); i < n; i++) {
+            int same = equalsIgnoringCase(a.charAt(i), b.charAt(i));
+            if (same == 0) {
+                return false;
+            }
+            if (same < 0) {
+                return a.regionMatches(true, i, b, i, n - i);
+            }
+        }
+        return true;
+    }
+
+    /** First index where pattern occurs in text ignoring case, as String.regionMatches(true, ...) decides, or -1. */
+    public static int indexOfIgnoreCase(String text, String pattern) {
+        int m = pattern.length();
+        if (m == 0) {
+            return 0;
+        }
+        // Everything that can match the first char upper-cases to firstUpper or lower-cases back to firstLower
+        char first = pattern.charAt(0);
+        char firstUpper = Character.toUpperCase(first);
+        char firstLower = Character.toLowerCase(firstUpper);
+        boolean filter = !Character.isSurrogate(first);
+        for (int at = 0, last = text.length() - m; at <= last; at++) {
+            if (filter && !mayEqual(text.charAt(at), first, firstUpper, firstLower)) {
+                continue;
+            }
+            int j = 0;
+            for (; j < m; j++) {
+                int same = equalsIgnoringCase(text.charAt(at + j), pattern.charAt(j));
+                if (same == 0) {
+                    break;
+                }
+                if (same < 0) {
+                    // A surrogate pair: let String decide the rest of this position
+                    j = text.regionMatches(true, at + j, pattern, j, m - j) ? m : -1;
+                    break;
+                }
+            }
+            if (j == m) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    // A cheap first test: false only if c cannot equal the pattern char ignoring case
+    private static boolean mayEqual(char c, char first, char firstUpper, char firstLower) {
+        if (c == first) {
+            return true;
+        }
+        if (c < 0x80) {
+            char upper = c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+            char lower = upper >= 'A' && upper <= 'Z' ? (char) (upper + ('a' - 'A')) : upper;
+            return upper == firstUpper || lower == firstLower;
+        }
+        if (Character.isSurrogate(c)) {
+            return true;
+        }
+        char upper = Character.toUpperCase(c);
+        return upper == firstUpper || Character.toLowerCase(upper) == firstLower;
+    }
+
+    public static boolean containsIgnoreCase(String text, String pattern) {
+        return indexOfIgnoreCase(text, pattern) >= 0;
+    }
+
+    /*
+     1 equal ignoring case, 0 different, -1 a surrogate is involved and String has to decide.
+     Other chars follow String.regionMatches(true, ...): equal once both are upper-cased, or
+     once those are lower-cased again (for alphabets like Georgian).
+    */
+    private static int equalsIgnoringCase(char a, char b) {
+        if (a == b) {
+            return 1;
+        }
+        if ((a | b) < 0x80) {
+            int lower = a | 0x20;
+            return lower == (b | 0x20) && lower >= 'a' && lower <= 'z' ? 1 : 0;
+        }
+        if (Character.isSurrogate(a) || Character.isSurrogate(b)) {
+            return -1;
+        }
+        char upperA = Character.toUpperCase(a);
+        char upperB = Character.toUpperCase(b);
+        return upperA == upperB || Character.toLowerCase(upperA) == Character.toLowerCase(upperB) ? 1 : 0;
+    }
+
+    // The case-insensitive key of one char, the per-char rule String.regionMatches(true, ...) uses
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /** Receives one match: which pattern, and the chars [start, end) of the text it covers. */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        void accept(int pattern, int start, int end);
+    }
+
+    /**
+     Aho-Corasick: every pattern goes into one trie, and every state learns where to go on
+     every char, so the text is read once, one table lookup per char, however many patterns
+     there are. Chars that appear in no pattern all share one column of the table.
+    */
+    public static final class MultiMatcher {
+        private final String[] patterns;
+        private final boolean ignoreCase;
+        // Column of each ASCII char; non-ASCII chars are looked up in others/otherColumns
+        private final int[] asciiColumn = new int[128];
+        private final char[] others;
+        private final int[] otherColumns;
+        private final int columns;
+        /*
+         States are numbered by their row in the table, state * columns, so a step is one add
+         and one read. table[row + column] is the next row, stored as ~row (negative) when some
+         pattern ends in that state, so the scan loop only tests a sign. Row 0 is the root.
+        */
+        private final int[] table;
+        // Patterns that end at each state, including those that are suffixes of it
+        private final int[][] outputs;
+
+        private MultiMatcher(boolean ignoreCase, String... patterns) {
+            if (patterns.length == 0) {
+                throw new IllegalArgumentException("No patterns");
+            }
+            this.patterns = patterns.clone();
+            this.ignoreCase = ignoreCase;
+
+            // Column 0 is "in no pattern"; every distinct (folded) char gets its own column
+            TreeSet<Character> alphabet = new TreeSet<>();
+            int totalLength = 0;
+            for (String pattern : this.patterns) {
+                if (pattern.isEmpty()) {
+                    throw new IllegalArgumentException("Empty pattern");
+                }
+                totalLength += pattern.length();
+                for (int i = 0; i < pattern.length(); i++) {
+                    alphabet.add(key(pattern.charAt(i)));
+                }
+            }
+            int column = 1;
+            int nonAscii = 0;
+            for (char c : alphabet) {
+                if (c < 0x80) {
+                    asciiColumn[c] = column++;
+                } else {
+                    nonAscii++;
+                }
+            }
+            others = new char[nonAscii];
+            otherColumns = new int[nonAscii];
+            int k = 0;
+            for (char c : alphabet) {
+                if (c >= 0x80) {
+                    others[k] = c;
+                    otherColumns[k++] = column++;
+                }
+            }
+            if (ignoreCase) {
+                // Upper-case ASCII letters share the column of their lower-case letter
+                for (char c = 'A'; c <= 'Z'; c++) {
+                    asciiColumn[c] = asciiColumn[c + ('a' - 'A')];
+                }
+            }
+            columns = column;
+            if ((long) (totalLength + 1) * columns > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Patterns too large for one table: " + totalLength + " chars, "
+                        + columns + " distinct");
+            }
+
+            // The trie
+            int[] trie = new int[(totalLength + 1) * columns];
+            Arrays.fill(trie, -1);
+            int[][] ends = new int[totalLength + 1][];
+            int states = 1;
+            for (int p = 0; p < this.patterns.length; p++) {
+                String pattern = this.patterns[p];
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    int slot = state * columns + column(pattern.charAt(i));
+                    if (trie[slot] < 0) {
+                        trie[slot] = states++;
+                    }
+                    state = trie[slot];
+                }
+                ends[state] = ends[state] == null ? new int[] { p } : append(ends[state], p);
+            }
+
+            // Breadth first: fill the missing transitions from the failure state and
+            // inherit its outputs, which is already complete because it is shallower
+            int[] next = Arrays.copyOf(trie, states * columns);
+            outputs = new int[states][];
+            boolean[] accepting = new boolean[states];
+            int[] fail = new int[states];
+            outputs[0] = ends[0] == null ? new int[0] : ends[0];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < columns; c++) {
+                int child = next[c];
+                if (child < 0) {
+                    next[c] = 0;
+                } else {
+                    fail[child] = 0;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                int[] own = ends[state] == null ? new int[0] : ends[state];
+                int[] inherited = outputs[fail[state]];
+                outputs[state] = inherited.length == 0 ? own : concat(own, inherited);
+                accepting[state] = outputs[state].length > 0;
+                for (int c = 0; c < columns; c++) {
+                    int slot = state * columns + c;
+                    int child = next[slot];
+                    if (child < 0) {
+                        next[slot] = next[fail[state] * columns + c];
+                    } else {
+                        fail[child] = next[fail[state] * columns + c];
+                        queue.add(child);
+                    }
+                }
+            }
+            table = new int[next.length];
+            for (int slot = 0; slot < next.length; slot++) {
+                int row = next[slot] * columns;
+                table[slot] = accepting[next[slot]] ? ~row : row;
+            }
+        }
+
+        /** Matches the patterns exactly, char for char. */
+        public static MultiMatcher of(String... patterns) {
+            return new MultiMatcher(false, patterns);
+        }
+
+        /** Matches ignoring case one char at a time, like String.regionMatches(true, ...). */
+        public static MultiMatcher ignoringCase(String... patterns) {
+            return new MultiMatcher(true, patterns);
+        }
+
+        public int patternCount() {
+            return patterns.length;
+        }
+
+        public String pattern(int index) {
+            return patterns[index];
+        }
+
+        /** Number of automaton states, at most the total length of the patterns plus one. */
+        public int states() {
+            return outputs.length;
+        }
+
+        /** Does any pattern occur in text? Stops at the first match. */
+        public boolean containsAny(CharSequence text) {
+            int row = 0;
+            for (int i = 0, n = text.length(); i < n; i++) {
+                row = table[row + column(text.charAt(i))];
+                if (row < 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Index of the first pattern to finish in text, or -1. */
+        public int firstMatch(CharSequence text) {
+            int row = 0;
+            for (int i = 0, n = text.length(); i < n; i++) {
+                row = table[row + column(text.charAt(i))];
+                if (row < 0) {
+                    return outputs[~row / columns][0];
+                }
+            }
+            return -1;
+        }
+
+        /** Every occurrence of every pattern, overlaps included, in order of where they end. */
+        public void forEachMatch(CharSequence text, MatchConsumer consumer) {
+            int row = 0;
+            for (int i = 0, n = text.length(); i < n; i++) {
+                row = table[row + column(text.charAt(i))];
+                if (row < 0) {
+                    row = ~row;
+                    for (int pattern : outputs[row / columns]) {
+                        consumer.accept(pattern, i + 1 - patterns[pattern].length(), i + 1);
+                    }
+                }
+            }
+        }
+
+        /** Total number of occurrences, overlaps included. */
+        public int countMatches(CharSequence text) {
+            int row = 0;
+            int count = 0;
+            for (int i = 0, n = text.length(); i < n; i++) {
+                row = table[row + column(text.charAt(i))];
+                if (row < 0) {
+                    row = ~row;
+                    count += outputs[row / columns].length;
+                }
+            }
+            return count;
+        }
+
+        private char key(char c) {
+            return ignoreCase ? fold(c) : c;
+        }
+
+        private int column(char c) {
+            if (c < 0x80) {
+                return asciiColumn[c];
+            }
+            char k = key(c);
+            if (k < 0x80) {
+                // A non-ASCII char that folds to ASCII, like the Kelvin sign K
+                return asciiColumn[k];
+            }
+            int at = Arrays.binarySearch(others, k);
+            return at >= 0 ? otherColumns[at] : 0;
+        }
+
+        private static int[] append(int[] values, int value) {
+            int[] grown = Arrays.copyOf(values, values.length + 1);
+            grown[values.length] = value;
+            return grown;
+        }
+
+        private static int[] concat(int[] a, int[] b) {
+            int[] both = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, both, a.length, b.length);
+            return both;
+        }
+    }
+
+    /**
+     A bounded cache of canonical Strings: equal text in, the same String instance out, so
+     a million copies of "Delhi" become one. A String's hash picks a bucket of two slots;
+     a newcomer goes in front and pushes the older one back, replacing whatever was behind
+     it. So the cache never holds more than its capacity and never needs a lock, and losing
+     an entry only costs a duplicate String. Safe to share between threads: a slot holds an
+     immutable String or null, and a race can at worst lose an entry.
+    */
+    public static final class InternCache {
+        private final String[] slots;
+        private final int shift;
+
+        /** capacity is rounded up to a power of two, at least 4. */
+        public InternCache(int capacity) {
+            if (capacity < 1 || capacity > 1 << 30) {
+                throw new IllegalArgumentException("Capacity out of range: " + capacity);
+            }
+            int size = Integer.highestOneBit(Math.max(4, capacity) * 2 - 1);
+            slots = new String[size];
+            // Bits of the spread hash that pick one of size / 2 buckets
+            shift = 33 - Integer.numberOfTrailingZeros(size);
+        }
+
+        public int capacity() {
+            return slots.length;
+        }
+
+        /** The cached String equal to s, or s itself after caching it. */
+        public String intern(String s) {
+            int slot = bucket(s.hashCode());
+            String cached = slots[slot];
+            if (cached != null && cached.equals(s)) {
+                return cached;
+            }
+            cached = slots[slot + 1];
+            if (cached != null && cached.equals(s)) {
+                return cached;
+            }
+            return insert(slot, s);
+        }
+
+        /** The cached String for chars[from, to); a new String is only created on a miss. */
+        public String intern(char[] chars, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + chars[i];
+            }
+            int slot = bucket(hash);
+            String cached = slots[slot];
+            if (cached != null && sameChars(cached, chars, from, to)) {
+                return cached;
+            }
+            cached = slots[slot + 1];
+            if (cached != null && sameChars(cached, chars, from, to)) {
+                return cached;
+            }
+            return insert(slot, new String(chars, from, to - from));
+        }
+
+        /** The cached String equal to text, without calling text.toString() on a hit. */
+        public String intern(CharSequence text) {
+            if (text instanceof String s) {
+                return intern(s);
+            }
+            int hash = 0;
+            for (int i = 0, n = text.length(); i < n; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            int slot = bucket(hash);
+            String cached = slots[slot];
+            if (cached != null && cached.contentEquals(text)) {
+                return cached;
+            }
+            cached = slots[slot + 1];
+            if (cached != null && cached.contentEquals(text)) {
+                return cached;
+            }
+            return insert(slot, text.toString());
+        }
+
+        /** Number of slots in use. */
+        public int size() {
+            int used = 0;
+            for (String s : slots) {
+                used += s != null ? 1 : 0;
+            }
+            return used;
+        }
+
+        // First slot of the bucket for a String.hashCode, spread so that similar strings land far apart
+        private int bucket(int hash) {
+            return ((hash * 0x9E3779B9) >>> shift) << 1;
+        }
+
+        private String insert(int slot, String s) {
+            slots[slot + 1] = slots[slot];
+            slots[slot] = s;
+            return s;
+        }
+
+        private static boolean sameChars(String s, char[] chars, int from, int to) {
+            if (s.length() != to - from) {
+                return false;
+            }
+            for (int i = 0, n = s.length(); i < n; i++) {
+                if (s.charAt(i) != chars[from + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        // StringDataTypeDemo's profile, built in the reused scratch builder
+        String name = "Aryan Sharma";
+        String city = "Delhi";
+        String bio = "Java Developer & Tech Enthusiast 💻";
+        StringBuilder profile = scratch().append(name).append(" from ").append(city).append(" - ").append(bio);
+        System.out.println("User Profile: " + profile);
+
+        // Case: ASCII stays on the fast path, anything else gets full Unicode rules
+        System.out.println("Uppercase: " + toUpperCase("Java Developer") + " | " + toUpperCase("straße ©") + " | "
+                + toUpperCase("कोड Java"));
+        System.out.println("Lowercase keeps Greek final sigma: " + toLowerCase("ΟΔΟΣ"));
+        System.out.println("Unchanged ASCII is the same object: " + (toUpperCase("JAVA") == "JAVA"));
+        System.out.println("indexOfIgnoreCase(bio, \"DEVELOPER\") = " + indexOfIgnoreCase(bio, "DEVELOPER"));
+
+        // One pass for many keywords instead of one contains() per keyword
+        MultiMatcher skills = MultiMatcher.ignoringCase("java", "kotlin", "डेवलपर", "©", "💻");
+        System.out.println("Any skill in the bio? " + skills.containsAny(bio));
+        skills.forEachMatch(profile, (pattern, start, end) ->
+                System.out.println("  found \"" + skills.pattern(pattern) + "\" at [" + start + ", " + end + ")"));
+        System.out.println("Matches in a Hindi bio: " + skills.countMatches("जावा डेवलपर, Java और Kotlin ©"));
+
+        // Equal city names read from input share one String
+        InternCache cities = new InternCache(1024);
+        char[] input = "Delhi,Mumbai,Delhi,कोलकाता,Delhi".toCharArray();
+        String first = null;
+        for (int from = 0, to; from < input.length; from = to + 1) {
+            to = from;
+            while (to < input.length && input[to] != ',') {
+                to++;
+            }
+            String cityName = cities.intern(input, from, to);
+            if (first == null) {
+                first = cityName;
+            }
+            System.out.println("  " + cityName + (cityName == first ? " (same object as the first Delhi)" : ""));
+        }
+        System.out.println("Cache slots used: " + cities.size() + " of " + cities.capacity());
+
+        /*
+         🧠 Real-Life Analogy:
+         Writing every profile on a fresh sheet of paper 📄 fills the bin fast; StringKit keeps one
+         whiteboard per desk and wipes it 🧽. MultiMatcher is a highlighter that marks every keyword
+         in one read-through 🖍️, and InternCache is a name-tag box 🏷️ — the same tag is handed out
+         again instead of printing a new one.
+        */
+
+        // Explanation:
+        // 1. scratch() reuses one StringBuilder per thread instead of a new one for every line.
+        // 2. ASCII case changes skip the Locale and the Unicode tables; other text falls back to String's rules.
+        // 3. MultiMatcher reads the text once for all patterns; a char not in any pattern costs one table read.
+        // 4. InternCache keeps at most its capacity of Strings and can match chars without creating a String.
+    }
+}
@@ -0,0 +1,362 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ BitKernels applies BitwiseOperatorDemo's &, |, ^ and ~ to whole bitsets: long[] arrays
+ where bit i of the set is bit (i % 64) of word i / 64, the layout java.util.BitSet uses.
+
+ Run (the SIMD path uses the incubating Vector API, so the module must be added):
+   javac --add-modules jdk.incubator.vector BitKernels.java
+   java --add-modules jdk.incubator.vector BitKernels
+
+ Every bulk operation has two paths:
+   SCALAR  one long (64 bits) per step, Long.bitCount for counting
+   VECTOR  jdk.incubator.vector: 4 or 8 longs (256 or 512 bits) per instruction,
+           with a lane-wise BIT_COUNT for counting
+
+   and / or / xor / andNot   out = a OP b, word by word (out may be a or b)
+   cardinality               number of set bits
+   andCardinality            |a AND b| without writing the intersection anywhere
+   nextSetBit / forEach      walk the set bits; VECTOR skips runs of empty words 256+ bits at a time
+   rank / select             bits set before an index / position of the k-th set bit
+
+ RankSelect adds a small index (one int per 512 bits) so rank is O(1) and select is a
+ binary search, for sets that are queried far more often than they change.
+*/
+public final class BitKernels {
+
+    enum Mode { SCALAR, VECTOR }
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private BitKernels() {
+    }
+
+    /** A bitset with room for bits [0, bits). */
+    public static long[] create(int bits) {
+        return new long[(bits + 63) >>> 6];
+    }
+
+    public static void set(long[] words, int bit) {
+        words[bit >>> 6] |= 1L << bit;
+    }
+
+    public static boolean get(long[] words, int bit) {
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public static void and(long[] a, long[] b, long[] out, Mode mode) {
+        int n = checkLengths(a, b, out);
+        int i = 0;
+        if (mode == Mode.VECTOR) {
+            for (int upper = SPECIES.loopBound(n); i < upper; i += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, a, i).and(LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+            }
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] & b[i];
+        }
+    }
+
+    public static void or(long[] a, long[] b, long[] out, Mode mode) {
+        int n = checkLengths(a, b, out);
+        int i = 0;
+        if (mode == Mode.VECTOR) {
+            for (int upper = SPECIES.loopBound(n); i < upper; i += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, a, i).or(LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+            }
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] | b[i];
+        }
+    }
+
+    public static void xor(long[] a, long[] b, long[] out, Mode mode) {
+        int n = checkLengths(a, b, out);
+        int i = 0;
+        if (mode == Mode.VECTOR) {
+            for (int upper = SPECIES.loopBound(n); i < upper; i += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, b, i))
+                        .intoArray(out, i);
+            }
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] ^ b[i];
+        }
+    }
+
+    /** out = a & ~b: the elements of a that are not in b. */
+    public static void andNot(long[] a, long[] b, long[] out, Mode mode) {
+        int n = checkLengths(a, b, out);
+        int i = 0;
+        if (mode == Mode.VECTOR) {
+            for (int upper = SPECIES.loopBound(n); i < upper; i += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, b, i))
+                        .intoArray(out, i);
+            }
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] & ~b[i];
+        }
+    }
+
+    private static int checkLengths(long[] a, long[] b, long[] out) {
+        if (a.length != b.length || out.length != a.length) {
+            throw new IllegalArgumentException("Bitsets differ in length: " + a.length + ", " + b.length + ", " + out.length);
+        }
+        return a.length;
+    }
+
+    public static long cardinality(long[] words, Mode mode) {
+        return cardinality(words, 0, words.length, mode);
+    }
+
+    // Set bits in words[from, to)
+    private static long cardinality(long[] words, int from, int to, Mode mode) {
+        long count = 0;
+        int i = from;
+        if (mode == Mode.VECTOR) {
+            LongVector sums = LongVector.zero(SPECIES);
+            for (int upper = from + SPECIES.loopBound(to - from); i < upper; i += SPECIES.length()) {
+                sums = sums.add(LongVector.fromArray(SPECIES, words, i).lanewise(VectorOperators.BIT_COUNT));
+            }
+            count = sums.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < to; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /** |a AND b|, the size of the intersection, without storing it. */
+    public static long andCardinality(long[] a, long[] b, Mode mode) {
+        int n = checkLengths(a, b, a);
+        long count = 0;
+        int i = 0;
+        if (mode == Mode.VECTOR) {
+            LongVector sums = LongVector.zero(SPECIES);
+            for (int upper = SPECIES.loopBound(n); i < upper; i += SPECIES.length()) {
+                sums = sums.add(LongVector.fromArray(SPECIES, a, i).and(LongVector.fromArray(SPECIES, b, i))
+                        .lanewise(VectorOperators.BIT_COUNT));
+            }
+            count = sums.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    /** The first set bit at or after from, or -1. Same contract as BitSet.nextSetBit. */
+    public static int nextSetBit(long[] words, int from, Mode mode) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from < 0: " + from);
+        }
+        int w = from >>> 6;
+        if (w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & (-1L << from);
+        if (word != 0) {
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+        w++;
+        if (mode == Mode.VECTOR) {
+            // Skip whole vectors of empty words with one compare each
+            for (int upper = w + SPECIES.loopBound(words.length - w); w < upper; w += SPECIES.length()) {
+                if (LongVector.fromArray(SPECIES, words, w).compare(VectorOperators.NE, 0).anyTrue()) {
+                    break;
+                }
+            }
+        }
+        for (; w < words.length; w++) {
+            if (words[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(words[w]);
+            }
+        }
+        return -1;
+    }
+
+    /** Calls action with every set bit in increasing order. */
+    public static void forEach(long[] words, IntConsumer action) {
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                // Clear the lowest set bit
+                word &= word - 1;
+            }
+        }
+    }
+
+    /** Number of set bits before index, that is in [0, index). */
+    public static long rank(long[] words, int index, Mode mode) {
+        if (index < 0 || index > words.length * 64L) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + words.length * 64L + " bits");
+        }
+        int w = index >>> 6;
+        long count = cardinality(words, 0, w, mode);
+        if ((index & 63) != 0) {
+            count += Long.bitCount(words[w] & ((1L << index) - 1));
+        }
+        return count;
+    }
+
+    /** Position of the set bit with rank k (k = 0 is the first set bit), or -1 if there are not that many. */
+    public static int select(long[] words, long k, Mode mode) {
+        if (k < 0) {
+            return -1;
+        }
+        int w = 0;
+        if (mode == Mode.VECTOR) {
+            // Count whole vectors until the next one would pass k
+            for (int upper = SPECIES.loopBound(words.length); w < upper; w += SPECIES.length()) {
+                long count = LongVector.fromArray(SPECIES, words, w).lanewise(VectorOperators.BIT_COUNT)
+                        .reduceLanes(VectorOperators.ADD);
+                if (count > k) {
+                    break;
+                }
+                k -= count;
+            }
+        }
+        for (; w < words.length; w++) {
+            int count = Long.bitCount(words[w]);
+            if (count > k) {
+                return (w << 6) + selectInWord(words[w], (int) k);
+            }
+            k -= count;
+        }
+        return -1;
+    }
+
+    /*
+     The k-th set bit of one word. Long.expand(1L << k, word) deposits a single bit into the
+     position of word's k-th set bit (the PDEP instruction on CPUs with BMI2).
+    */
+    static int selectInWord(long word, int k) {
+        return Long.numberOfTrailingZeros(Long.expand(1L << k, word));
+    }
+
+    /**
+     rank and select on a bitset that is no longer changing. Keeps the number of set bits
+     before every 512-bit block (8 words), so rank reads one int and at most 8 words.
+    */
+    public static final class RankSelect {
+        static final int BLOCK_WORDS = 8;
+
+        private final long[] words;
+        private final int[] before;
+        private final long total;
+
+        public RankSelect(long[] words) {
+            this.words = words;
+            this.before = new int[(words.length + BLOCK_WORDS - 1) / BLOCK_WORDS + 1];
+            long count = 0;
+            for (int block = 0; block < before.length - 1; block++) {
+                before[block] = (int) count;
+                int end = Math.min(words.length, (block + 1) * BLOCK_WORDS);
+                for (int w = block * BLOCK_WORDS; w < end; w++) {
+                    count += Long.bitCount(words[w]);
+                }
+            }
+            before[before.length - 1] = (int) count;
+            this.total = count;
+        }
+
+        public long cardinality() {
+            return total;
+        }
+
+        /** Set bits in [0, index). */
+        public int rank(int index) {
+            if (index < 0 || index > words.length * 64L) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + words.length * 64L + " bits");
+            }
+            int w = index >>> 6;
+            int block = w / BLOCK_WORDS;
+            int count = before[block];
+            for (int i = block * BLOCK_WORDS; i < w; i++) {
+                count += Long.bitCount(words[i]);
+            }
+            if ((index & 63) != 0) {
+                count += Long.bitCount(words[w] & ((1L << index) - 1));
+            }
+            return count;
+        }
+
+        /** Position of the k-th set bit, or -1. */
+        public int select(int k) {
+            if (k < 0 || k >= total) {
+                return -1;
+            }
+            // Last block that starts with at most k bits before it
+            int lo = 0;
+            int hi = before.length - 2;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (before[mid] <= k) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            int remaining = k - before[lo];
+            for (int w = lo * BLOCK_WORDS; ; w++) {
+                int count = Long.bitCount(words[w]);
+                if (count > remaining) {
+                    return (w << 6) + selectInWord(words[w], remaining);
+                }
+                remaining -= count;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // BitwiseOperatorDemo's a = 5 (0101) and b = 3 (0011), as sets {0, 2} and {0, 1}
+        long[] a = create(128);
+        long[] b = create(128);
+        for (int bit : new int[] { 0, 2, 70, 100 }) {
+            set(a, bit);
+        }
+        for (int bit : new int[] { 0, 1, 70, 127 }) {
+            set(b, bit);
+        }
+        long[] out = create(128);
+        for (Mode mode : Mode.values()) {
+            and(a, b, out, mode);
+            System.out.println(mode + " a & b = " + bits(out) + ", |a & b| = " + andCardinality(a, b, mode)
+                    + ", next set bit of a after 3: " + nextSetBit(a, 3, mode));
+        }
+        or(a, b, out, Mode.VECTOR);
+        System.out.println("a | b = " + bits(out));
+        xor(a, b, out, Mode.VECTOR);
+        System.out.println("a ^ b = " + bits(out));
+        andNot(a, b, out, Mode.VECTOR);
+        System.out.println("a & ~b = " + bits(out));
+        System.out.println("rank(a, 71) = " + rank(a, 71, Mode.SCALAR) + ", select(a, 2) = " + select(a, 2, Mode.SCALAR));
+        RankSelect index = new RankSelect(a);
+        System.out.println("Indexed: rank(71) = " + index.rank(71) + ", select(3) = " + index.select(3));
+
+        /*
+         🧠 Real-Life Analogy:
+         Each long is a row of 64 light switches 💡. BitwiseOperatorDemo flips one row;
+         BitKernels compares whole walls of switches, and the VECTOR path does 4 rows at a glance.
+        */
+
+        // Explanation:
+        // 1. A bitset stores element i as bit i % 64 of word i / 64, like java.util.BitSet.
+        // 2. a & b, a | b, a ^ b and a & ~b on words are intersection, union, difference and "in a, not in b".
+        // 3. Long.bitCount counts a word's set bits in one instruction; the vector path counts several words at once.
+        // 4. rank counts bits before a position, select finds the k-th set bit; RankSelect answers both quickly.
+    }
+
+    private static String bits(long[] words) {
+        StringBuilder text = new StringBuilder("{");
+        forEach(words, bit -> text.append(text.length() > 1 ? ", " : "").append(bit));
+        return text.append('}').toString();
+    }
+}
@@ -0,0 +1,339 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ FlagStore keeps the booleans from BooleanDataTypeDemo and LogicalOperatorDemo
+ (isEligibleToVote, isLoggedIn, hasID, isAdult, isMember) for many users at once.
+
+ Run:
+   javac FlagStore.java
+   java FlagStore
+
+ A boolean field or boolean[] element takes a whole byte for one bit of information.
+ FlagStore keeps one long[] bitmap per flag: bit u of the bitmap is user u's value.
+ That is 8x less memory, and it changes how rules are evaluated:
+
+   boolean per user:  for each user: if (hasID && isAdult) count++;        one user per step
+   FlagStore:         for each word: count += bitCount(hasID[w] & isAdult[w]);  64 users per step
+
+ Rules are written the same way as in Java ("hasID && (isAdult || isMember)") and are
+ evaluated a block of words at a time. The simple AND/OR/NOT loops are the shape the
+ JIT's auto-vectorizer turns into SIMD instructions, so one instruction may cover 256 users.
+*/
+public final class FlagStore {
+
+    // Words evaluated per step: 1024 longs = 8 KB per temporary, small enough to stay in L1/L2
+    static final int BLOCK_WORDS = 1024;
+
+    private final int users;
+    private final int words;
+    private final List<String> names = new ArrayList<>();
+    private final List<long[]> bitmaps = new ArrayList<>();
+
+    public FlagStore(int users, String... flagNames) {
+        if (users < 0) {
+            throw new IllegalArgumentException("Negative user count: " + users);
+        }
+        this.users = users;
+        this.words = (users + 63) >>> 6;
+        for (String name : flagNames) {
+            addFlag(name);
+        }
+    }
+
+    public int addFlag(String name) {
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate flag: " + name);
+        }
+        names.add(name);
+        bitmaps.add(new long[words]);
+        return names.size() - 1;
+    }
+
+    public int flag(String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown flag: " + name);
+        }
+        return index;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public void set(int flag, int user, boolean value) {
+        checkUser(user);
+        long[] bits = bitmaps.get(flag);
+        if (value) {
+            bits[user >>> 6] |= 1L << user;
+        } else {
+            bits[user >>> 6] &= ~(1L << user);
+        }
+    }
+
+    public boolean get(int flag, int user) {
+        checkUser(user);
+        return (bitmaps.get(flag)[user >>> 6] & (1L << user)) != 0;
+    }
+
+    /** Number of users with the flag set. */
+    public long count(int flag) {
+        long total = 0;
+        for (long word : bitmaps.get(flag)) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    /** Number of users for which the rule is true, e.g. count(Rule.parse("hasID && isAdult")). */
+    public long count(Rule rule) {
+        Evaluator evaluator = new Evaluator(rule);
+        long total = 0;
+        for (int from = 0; from < words; from += BLOCK_WORDS) {
+            int length = Math.min(BLOCK_WORDS, words - from);
+            long[] block = evaluator.evaluate(from, length);
+            for (int i = 0; i < length; i++) {
+                total += Long.bitCount(block[i]);
+            }
+        }
+        return total;
+    }
+
+    public long count(String rule) {
+        return count(Rule.parse(rule));
+    }
+
+    /** The rule's result for every user, as a bitmap in the same layout as a flag. */
+    public long[] select(Rule rule) {
+        Evaluator evaluator = new Evaluator(rule);
+        long[] result = new long[words];
+        for (int from = 0; from < words; from += BLOCK_WORDS) {
+            int length = Math.min(BLOCK_WORDS, words - from);
+            System.arraycopy(evaluator.evaluate(from, length), 0, result, from, length);
+        }
+        return result;
+    }
+
+    /** Bytes used by all bitmaps. */
+    public long bitmapBytes() {
+        return (long) words * Long.BYTES * bitmaps.size();
+    }
+
+    private void checkUser(int user) {
+        if (user < 0 || user >= users) {
+            throw new IndexOutOfBoundsException("User " + user + " out of bounds for " + users + " users");
+        }
+    }
+
+    // Bits past the last user in the final word; NOT would otherwise turn them on
+    private long tailMask(int word) {
+        int usedBits = users & 63;
+        return word == words - 1 && usedBits != 0 ? (1L << usedBits) - 1 : -1L;
+    }
+
+    /** A boolean rule over flags: a flag name, !rule, rule && rule, rule || rule. */
+    public sealed interface Rule {
+        record Flag(String name) implements Rule {}
+        record Not(Rule rule) implements Rule {}
+        record And(Rule left, Rule right) implements Rule {}
+        record Or(Rule left, Rule right) implements Rule {}
+
+        static Rule flag(String name) {
+            return new Flag(name);
+        }
+
+        default Rule and(Rule other) {
+            return new And(this, other);
+        }
+
+        default Rule or(Rule other) {
+            return new Or(this, other);
+        }
+
+        default Rule not() {
+            return new Not(this);
+        }
+
+        /** Parses Java-style boolean syntax: names, !, &&, || and parentheses. && binds tighter than ||. */
+        static Rule parse(String text) {
+            RuleParser parser = new RuleParser(text);
+            Rule rule = parser.or();
+            parser.skipSpaces();
+            if (parser.pos != text.length()) {
+                throw new IllegalArgumentException("Unexpected '" + text.charAt(parser.pos) + "' at " + parser.pos + " in: " + text);
+            }
+            return rule;
+        }
+    }
+
+    private static final class RuleParser {
+        private final String text;
+        private int pos;
+
+        RuleParser(String text) {
+            this.text = text;
+        }
+
+        Rule or() {
+            Rule rule = and();
+            while (accept("||")) {
+                rule = new Rule.Or(rule, and());
+            }
+            return rule;
+        }
+
+        Rule and() {
+            Rule rule = unary();
+            while (accept("&&")) {
+                rule = new Rule.And(rule, unary());
+            }
+            return rule;
+        }
+
+        Rule unary() {
+            if (accept("!")) {
+                return new Rule.Not(unary());
+            }
+            if (accept("(")) {
+                Rule rule = or();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Missing ')' at " + pos + " in: " + text);
+                }
+                return rule;
+            }
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Expected a flag name at " + pos + " in: " + text);
+            }
+            return new Rule.Flag(text.substring(start, pos));
+        }
+
+        boolean accept(String token) {
+            skipSpaces();
+            if (text.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        void skipSpaces() {
+            while (pos < text.length() && text.charAt(pos) == ' ') {
+                pos++;
+            }
+        }
+    }
+
+    /*
+     Evaluates a rule one block of words at a time. Each node of the rule writes its
+     result for the block into a temporary array; the arrays are reused for every block,
+     so a whole evaluation allocates only (depth of the rule) temporaries.
+    */
+    private final class Evaluator {
+        private final Rule rule;
+        private final long[][] scratch;
+
+        Evaluator(Rule rule) {
+            this.rule = rule;
+            int depth = depth(rule);
+            this.scratch = new long[depth + 1][BLOCK_WORDS];
+        }
+
+        long[] evaluate(int from, int length) {
+            long[] out = scratch[0];
+            evaluate(rule, from, length, out, 1);
+            out[length - 1] &= tailMask(from + length - 1);
+            return out;
+        }
+
+        private void evaluate(Rule node, int from, int length, long[] out, int depth) {
+            switch (node) {
+                case Rule.Flag f -> System.arraycopy(bitmaps.get(flag(f.name())), from, out, 0, length);
+                case Rule.Not n -> {
+                    evaluate(n.rule(), from, length, out, depth);
+                    for (int i = 0; i < length; i++) {
+                        out[i] = ~out[i];
+                    }
+                }
+                case Rule.And a -> {
+                    evaluate(a.left(), from, length, out, depth);
+                    long[] right = operand(a.right(), from, length, depth);
+                    int offset = a.right() instanceof Rule.Flag ? from : 0;
+                    for (int i = 0; i < length; i++) {
+                        out[i] &= right[offset + i];
+                    }
+                }
+                case Rule.Or o -> {
+                    evaluate(o.left(), from, length, out, depth);
+                    long[] right = operand(o.right(), from, length, depth);
+                    int offset = o.right() instanceof Rule.Flag ? from : 0;
+                    for (int i = 0; i < length; i++) {
+                        out[i] |= right[offset + i];
+                    }
+                }
+            }
+        }
+
+        // A plain flag on the right is read straight from its bitmap instead of being copied first
+        private long[] operand(Rule node, int from, int length, int depth) {
+            if (node instanceof Rule.Flag f) {
+                return bitmaps.get(flag(f.name()));
+            }
+            long[] tmp = scratch[depth];
+            evaluate(node, from, length, tmp, depth + 1);
+            return tmp;
+        }
+
+        private int depth(Rule node) {
+            return switch (node) {
+                case Rule.Flag f -> 0;
+                case Rule.Not n -> depth(n.rule());
+                case Rule.And a -> Math.max(depth(a.left()), depth(a.right()) + 1);
+                case Rule.Or o -> Math.max(depth(o.left()), depth(o.right()) + 1);
+            };
+        }
+    }
+
+    public static void main(String[] args) {
+        int users = 1_000;
+        FlagStore store = new FlagStore(users, "isEligibleToVote", "isLoggedIn", "hasID", "isAdult", "isMember");
+        int hasID = store.flag("hasID");
+        int isAdult = store.flag("isAdult");
+        int isMember = store.flag("isMember");
+        int isEligibleToVote = store.flag("isEligibleToVote");
+        Random random = new Random(18);
+        for (int user = 0; user < users; user++) {
+            int age = random.nextInt(80);
+            store.set(isEligibleToVote, user, age >= 18);
+            store.set(isAdult, user, age >= 18);
+            store.set(hasID, user, random.nextInt(10) < 8);
+            store.set(isMember, user, random.nextInt(10) < 3);
+        }
+
+        System.out.println("Users: " + users + " (" + store.bitmapBytes() + " bytes of flags)");
+        System.out.println("Allowed entry (hasID && isAdult): " + store.count("hasID && isAdult"));
+        System.out.println("Discount applicable (isAdult || isMember): " + store.count("isAdult || isMember"));
+        System.out.println("Not logged in (!isLoggedIn): " + store.count("!isLoggedIn"));
+        System.out.println("Eligible voters: " + store.count(isEligibleToVote));
+        System.out.println("User 0 allowed entry? " + (store.get(hasID, 0) && store.get(isAdult, 0)));
+
+        /*
+         🧠 Real-Life Analogy:
+         A boolean per user is a separate tick box on every person's form 📝.
+         FlagStore is a punched card per question, with one hole position per person —
+         lay two cards on top of each other and the holes that line up are your answer, 64 people at a time.
+        */
+
+        // Explanation:
+        // 1. Each flag is a long[] where every bit is one user, so a flag costs 1 bit per user instead of 1 byte.
+        // 2. "hasID && isAdult" becomes hasID[w] & isAdult[w]: one AND answers the question for 64 users.
+        // 3. Long.bitCount counts the true bits in a word in a single CPU instruction (popcount).
+        // 4. Rules are parsed from Java-style text, so the same syntax as LogicalOperatorDemo works here.
+    }
+}
@@ -0,0 +1,325 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.LongUnaryOperator;
+
+/*
+ Ledger is AssignmentOperatorDemo's balance (+=, -=, *=, /=, %=) and UnaryOperatorDemo's
+ score++ / score-- for many accounts that many threads update at the same time.
+
+ Run:
+   javac Ledger.java
+   java Ledger
+
+ balance += amount from several threads loses updates: each thread reads the old value,
+ adds, and writes back over the others. The usual fixes all make threads wait for one
+ memory location: a synchronized block queues them, AtomicLong retries a compare-and-set
+ (CAS) until it wins. Ledger spreads the load instead:
+
+   add / subtract / increment / decrement
+       A CAS on the account's base value. The first time that CAS loses to another thread,
+       the account gets stripes: one cell per CPU (like java.util.concurrent.atomic.LongAdder),
+       each on its own 64-byte cache line, and from then on a thread adds to "its" cell.
+       The balance is base + all cells.
+   multiply / divide / remainder / set / update
+       Order matters for these, so they cannot go into separate cells. They read base + cells,
+       apply the operation, and CAS the base to (result - cells), retrying if another
+       operation changed the base first. The cells are never emptied, so no added amount can
+       be lost or counted twice. Like LongAdder.sum(), the read of the cells is not a single
+       snapshot: an add that runs at the same moment may count as before or after the multiply.
+   Batch
+       A thread collects many transfers, nets them per account, and applies one add per
+       account it touched. 64 transfers between 16 accounts become at most 16 adds.
+
+ Each account's base also sits on its own cache line, so threads updating neighbouring
+ accounts do not slow each other down (false sharing). That costs 64 bytes per account.
+*/
+public final class Ledger {
+
+    // Longs per 64-byte cache line
+    static final int PAD = 8;
+    // Cells per striped account: the number of CPUs rounded up to a power of two, at most 64
+    static final int STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle CELL_ARRAYS = MethodHandles.arrayElementVarHandle(long[][].class);
+
+    private final int accounts;
+    // Account a's base is bases[(a + 1) * PAD]; the first line is left empty so no base shares the array header's line
+    private final long[] bases;
+    // Account a's cells, or null until its base CAS first fails; cell s is at (s + 1) * PAD
+    private final long[][] cells;
+
+    public Ledger(int accounts) {
+        if (accounts < 0 || accounts > Integer.MAX_VALUE / PAD - 1) {
+            throw new IllegalArgumentException("Account count out of range: " + accounts);
+        }
+        this.accounts = accounts;
+        this.bases = new long[(accounts + 1) * PAD];
+        this.cells = new long[accounts][];
+    }
+
+    public int accounts() {
+        return accounts;
+    }
+
+    /** balance += amount */
+    public void add(int account, long amount) {
+        Objects.checkIndex(account, accounts);
+        long[] stripes = (long[]) CELL_ARRAYS.getAcquire(cells, account);
+        if (stripes == null) {
+            int at = (account + 1) * PAD;
+            long base = (long) LONGS.getVolatile(bases, at);
+            if (LONGS.compareAndSet(bases, at, base, base + amount)) {
+                return;
+            }
+            // Another thread got there first: this account is contended
+            stripes = stripe(account);
+        }
+        int stripe = stripeOf(Thread.currentThread());
+        for (;;) {
+            int at = (stripe + 1) * PAD;
+            long cell = (long) LONGS.getVolatile(stripes, at);
+            if (LONGS.compareAndSet(stripes, at, cell, cell + amount)) {
+                return;
+            }
+            // That cell is busy too; move on to the next one
+            stripe = (stripe + 1) & (STRIPES - 1);
+        }
+    }
+
+    /** balance -= amount */
+    public void subtract(int account, long amount) {
+        add(account, -amount);
+    }
+
+    /** balance++ */
+    public void increment(int account) {
+        add(account, 1);
+    }
+
+    /** balance-- */
+    public void decrement(int account) {
+        add(account, -1);
+    }
+
+    /** balance *= factor; returns the new balance. */
+    public long multiply(int account, long factor) {
+        return update(account, balance -> balance * factor);
+    }
+
+    /** balance /= divisor; returns the new balance. */
+    public long divide(int account, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+        return update(account, balance -> balance / divisor);
+    }
+
+    /** balance %= divisor; returns the new balance. */
+    public long remainder(int account, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+        return update(account, balance -> balance % divisor);
+    }
+
+    /** balance = value */
+    public void set(int account, long value) {
+        update(account, balance -> value);
+    }
+
+    /**
+     balance = operation(balance) as one atomic step against other multiply/divide/update
+     calls; returns the new balance. operation may run more than once, so it must not have
+     side effects.
+    */
+    public long update(int account, LongUnaryOperator operation) {
+        Objects.checkIndex(account, accounts);
+        int at = (account + 1) * PAD;
+        for (;;) {
+            long base = (long) LONGS.getVolatile(bases, at);
+            long pending = cellSum(account);
+            long result = operation.applyAsLong(base + pending);
+            // base + cells must come out as result, and the cells stay as they are
+            if (LONGS.compareAndSet(bases, at, base, result - pending)) {
+                return result;
+            }
+        }
+    }
+
+    /** The current balance: base plus every cell, read one after another like LongAdder.sum(). */
+    public long balance(int account) {
+        Objects.checkIndex(account, accounts);
+        return (long) LONGS.getVolatile(bases, (account + 1) * PAD) + cellSum(account);
+    }
+
+    /** Sum of all balances. Exact once no update is running. */
+    public long total() {
+        long total = 0;
+        for (int account = 0; account < accounts; account++) {
+            total += balance(account);
+        }
+        return total;
+    }
+
+    /** Whether the account has been split into cells because threads fought over it. */
+    public boolean isStriped(int account) {
+        return CELL_ARRAYS.getAcquire(cells, account) != null;
+    }
+
+    public Batch newBatch() {
+        return new Batch(accounts);
+    }
+
+    /** Applies a batch's net amounts, one add per account it touched, and empties it. */
+    public void apply(Batch batch) {
+        if (batch.net.length != accounts) {
+            throw new IllegalArgumentException("Batch is for " + batch.net.length + " accounts, ledger has " + accounts);
+        }
+        for (int i = 0; i < batch.size; i++) {
+            int account = batch.touched[i];
+            long amount = batch.net[account];
+            if (amount != 0) {
+                add(account, amount);
+            }
+            batch.net[account] = 0;
+            batch.listed[account] = false;
+        }
+        batch.size = 0;
+    }
+
+    private long cellSum(int account) {
+        long[] stripes = (long[]) CELL_ARRAYS.getAcquire(cells, account);
+        if (stripes == null) {
+            return 0;
+        }
+        long sum = 0;
+        for (int at = PAD; at < stripes.length; at += PAD) {
+            sum += (long) LONGS.getVolatile(stripes, at);
+        }
+        return sum;
+    }
+
+    // Installs the account's cells once; a thread that loses the race uses the winner's
+    private long[] stripe(int account) {
+        long[] fresh = new long[(STRIPES + 1) * PAD];
+        long[] existing = (long[]) CELL_ARRAYS.compareAndExchangeRelease(cells, account, (long[]) null, fresh);
+        return existing != null ? existing : fresh;
+    }
+
+    // A thread keeps the same stripe; Fibonacci hashing spreads consecutive thread ids
+    private static int stripeOf(Thread thread) {
+        return (int) ((thread.threadId() * 0x9E3779B97F4A7C15L) >>> 58) & (STRIPES - 1);
+    }
+
+    /**
+     Transfers and deposits collected by one thread before they touch the shared ledger.
+     Not thread-safe: one batch per thread.
+    */
+    public static final class Batch {
+        private final long[] net;
+        private final boolean[] listed;
+        private final int[] touched;
+        private int size;
+
+        private Batch(int accounts) {
+            net = new long[accounts];
+            listed = new boolean[accounts];
+            touched = new int[accounts];
+        }
+
+        public Batch transfer(int from, int to, long amount) {
+            return deposit(from, -amount).deposit(to, amount);
+        }
+
+        public Batch deposit(int account, long amount) {
+            if (!listed[account]) {
+                listed[account] = true;
+                touched[size++] = account;
+            }
+            net[account] += amount;
+            return this;
+        }
+
+        /** Accounts touched since the last apply. */
+        public int accounts() {
+            return size;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // AssignmentOperatorDemo's chain on account 0
+        Ledger ledger = new Ledger(8);
+        ledger.set(0, 1000);
+        ledger.add(0, 500);
+        ledger.subtract(0, 200);
+        ledger.multiply(0, 2);
+        ledger.divide(0, 4);
+        ledger.remainder(0, 3);
+        System.out.println("Final balance: " + ledger.balance(0));
+
+        // UnaryOperatorDemo's score, from four threads at once
+        int threads = 4;
+        int times = 100_000;
+        long[] plain = new long[1];
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < times; i++) {
+                    ledger.increment(1);
+                    // A plain read-modify-write: increments from other threads can be overwritten
+                    plain[0]++;
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        System.out.println("score++ x " + threads * times + ": ledger " + ledger.balance(1) + ", plain long " + plain[0]
+                + (ledger.isStriped(1) ? " (ledger striped the account)" : ""));
+
+        // Random transfers between accounts 2..7, netted in batches; money is never created or lost
+        for (int account = 2; account < 8; account++) {
+            ledger.set(account, 1000);
+        }
+        CountDownLatch transfers = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            Thread.ofPlatform().start(() -> {
+                Random random = new Random(seed);
+                Batch batch = ledger.newBatch();
+                for (int i = 1; i <= 10_000; i++) {
+                    batch.transfer(2 + random.nextInt(6), 2 + random.nextInt(6), 1 + random.nextInt(50));
+                    if (i % 64 == 0) {
+                        ledger.apply(batch);
+                    }
+                }
+                ledger.apply(batch);
+                transfers.countDown();
+            });
+        }
+        transfers.await();
+        long total = 0;
+        StringBuilder balances = new StringBuilder();
+        for (int account = 2; account < 8; account++) {
+            total += ledger.balance(account);
+            balances.append(account == 2 ? "" : ", ").append(ledger.balance(account));
+        }
+        System.out.println("After 40,000 transfers: " + balances + " (total " + total + ")");
+
+        /*
+         🧠 Real-Life Analogy:
+         One balance updated by every thread is one cashier with a long queue 🧾.
+         Ledger opens a till per counter 🏦 — deposits go into whichever till is free and the
+         balance is the sum of the tills; for "double the balance" the tills are counted first.
+        */
+
+        // Explanation:
+        // 1. += from many threads loses updates; a compare-and-set (CAS) only writes if nobody changed the value.
+        // 2. Adds to a busy account go to per-CPU cells, so threads stop retrying against each other.
+        // 3. *=, /= and %= depend on the whole balance, so they CAS the base using base + cells.
+        // 4. A Batch nets many transfers per account first, so each batch costs one add per account.
+    }
+}
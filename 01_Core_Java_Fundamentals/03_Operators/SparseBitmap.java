@@ -0,0 +1,459 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+ SparseBitmap is a compressed set of non-negative ints for sets too sparse for a plain bitset.
+
+ Run:
+   javac SparseBitmap.java
+   java SparseBitmap
+
+ A java.util.BitSet (or BitKernels' long[]) needs one bit for every possible value up to the
+ largest one: a set holding just 17 and 90,000,000 costs 11 MB. SparseBitmap splits the
+ value range into chunks of 65,536 values, the layout of Roaring bitmaps. Each chunk that
+ holds anything gets a container:
+
+   ArrayContainer   up to 4096 values as a sorted char[] (2 bytes per value)
+   BitmapContainer  more than 4096 values as 1024 longs (8 KB, one bit per value)
+
+ 4096 is where the two cost the same 8 KB, so a chunk always uses the smaller form and
+ switches when it crosses that line. Empty chunks cost nothing.
+
+ and/or/andCardinality pick the cheapest method per pair of containers: merging two
+ sorted arrays, probing a bitmap for each array value, or word-by-word & and | with
+ Long.bitCount for two bitmaps.
+*/
+public final class SparseBitmap {
+
+    static final int CHUNK_BITS = 16;
+    static final int ARRAY_MAX = 4096;
+    static final int BITMAP_WORDS = 1 << (CHUNK_BITS - 6);
+
+    sealed interface Container permits ArrayContainer, BitmapContainer {
+        int cardinality();
+
+        boolean contains(char low);
+
+        /** Adds low; may return a different container if this one had to change form. */
+        Container add(char low);
+
+        void forEach(int base, IntConsumer action);
+
+        long bytes();
+    }
+
+    /** A sorted char[] of the low 16 bits of every value in the chunk. */
+    static final class ArrayContainer implements Container {
+        char[] values;
+        int size;
+
+        ArrayContainer(int capacity) {
+            values = new char[Math.max(capacity, 4)];
+        }
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            int at = Arrays.binarySearch(values, 0, size, low);
+            if (at >= 0) {
+                return this;
+            }
+            if (size == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            at = -at - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = low;
+            size++;
+            return this;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bitmap.cardinality = size;
+            return bitmap;
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        public long bytes() {
+            return 16 + 16 + 2L * values.length;
+        }
+    }
+
+    /** 65,536 bits as 1024 longs, plus the number of bits set. */
+    static final class BitmapContainer implements Container {
+        final long[] words = new long[BITMAP_WORDS];
+        int cardinality;
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before | (1L << low);
+            cardinality += (int) ((~before >>> low) & 1);
+            return this;
+        }
+
+        // Back to an array when an intersection leaves few values
+        Container shrink() {
+            if (cardinality > ARRAY_MAX) {
+                return this;
+            }
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    values[size++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, size);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    action.accept(base | (w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        @Override
+        public long bytes() {
+            return 16 + 16 + 8L * BITMAP_WORDS;
+        }
+    }
+
+    // Chunk keys (the high 16 bits) in increasing order, and the container for each
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int chunks;
+
+    /** Builds a bitmap from values in any order. */
+    public static SparseBitmap of(int... values) {
+        SparseBitmap bitmap = new SparseBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        char key = (char) (value >>> CHUNK_BITS);
+        int at = Arrays.binarySearch(keys, 0, chunks, key);
+        if (at < 0) {
+            at = -at - 1;
+            insertChunk(at, key, new ArrayContainer(4));
+        }
+        containers[at] = containers[at].add((char) value);
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int at = Arrays.binarySearch(keys, 0, chunks, (char) (value >>> CHUNK_BITS));
+        return at >= 0 && containers[at].contains((char) value);
+    }
+
+    public long cardinality() {
+        long count = 0;
+        for (int i = 0; i < chunks; i++) {
+            count += containers[i].cardinality();
+        }
+        return count;
+    }
+
+    /** Calls action with every value in increasing order. */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunks; i++) {
+            containers[i].forEach(keys[i] << CHUNK_BITS, action);
+        }
+    }
+
+    /** Approximate heap size of the bitmap and its containers. */
+    public long bytes() {
+        long bytes = 16 + 16 + 2L * keys.length + 16 + 4L * containers.length;
+        for (int i = 0; i < chunks; i++) {
+            bytes += containers[i].bytes();
+        }
+        return bytes;
+    }
+
+    private void insertChunk(int at, char key, Container container) {
+        if (chunks == keys.length) {
+            keys = Arrays.copyOf(keys, chunks * 2);
+            containers = Arrays.copyOf(containers, chunks * 2);
+        }
+        System.arraycopy(keys, at, keys, at + 1, chunks - at);
+        System.arraycopy(containers, at, containers, at + 1, chunks - at);
+        keys[at] = key;
+        containers[at] = container;
+        chunks++;
+    }
+
+    // Appends a chunk known to sort after every existing one
+    private void appendChunk(char key, Container container) {
+        if (container.cardinality() > 0) {
+            insertChunk(chunks, key, container);
+        }
+    }
+
+    /** The values in both bitmaps. Only chunks present in both are looked at. */
+    public SparseBitmap and(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendChunk(keys[i], and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /** The values in either bitmap. */
+    public SparseBitmap or(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < chunks || j < other.chunks) {
+            if (j == other.chunks || (i < chunks && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], copy(containers[i]));
+                i++;
+            } else if (i == chunks || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], copy(other.containers[j]));
+                j++;
+            } else {
+                result.appendChunk(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /** |this AND other| without building the intersection. */
+    public long andCardinality(SparseBitmap other) {
+        long count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                count += andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static Container copy(Container container) {
+        return switch (container) {
+            case ArrayContainer a -> new ArrayContainer(Arrays.copyOf(a.values, a.size), a.size);
+            case BitmapContainer b -> {
+                BitmapContainer c = new BitmapContainer();
+                System.arraycopy(b.words, 0, c.words, 0, BITMAP_WORDS);
+                c.cardinality = b.cardinality;
+                yield c;
+            }
+        };
+    }
+
+    private static Container and(Container x, Container y) {
+        if (x instanceof ArrayContainer a && y instanceof ArrayContainer b) {
+            // Merge two sorted arrays, keeping the values they share
+            char[] out = new char[Math.min(a.size, b.size)];
+            int n = 0;
+            for (int i = 0, j = 0; i < a.size && j < b.size; ) {
+                char u = a.values[i];
+                char v = b.values[j];
+                if (u == v) {
+                    out[n++] = u;
+                }
+                i += u <= v ? 1 : 0;
+                j += v <= u ? 1 : 0;
+            }
+            return new ArrayContainer(out, n);
+        }
+        if (x instanceof BitmapContainer a && y instanceof BitmapContainer b) {
+            BitmapContainer out = new BitmapContainer();
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = a.words[w] & b.words[w];
+                out.words[w] = word;
+                count += Long.bitCount(word);
+            }
+            out.cardinality = count;
+            return out.shrink();
+        }
+        // One array, one bitmap: keep the array values the bitmap also has
+        ArrayContainer array = x instanceof ArrayContainer a ? a : (ArrayContainer) y;
+        BitmapContainer bitmap = x instanceof BitmapContainer b ? b : (BitmapContainer) y;
+        char[] out = new char[array.size];
+        int n = 0;
+        for (int i = 0; i < array.size; i++) {
+            char v = array.values[i];
+            out[n] = v;
+            n += (int) ((bitmap.words[v >>> 6] >>> v) & 1);
+        }
+        return new ArrayContainer(out, n);
+    }
+
+    private static long andCardinality(Container x, Container y) {
+        if (x instanceof BitmapContainer a && y instanceof BitmapContainer b) {
+            long count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                count += Long.bitCount(a.words[w] & b.words[w]);
+            }
+            return count;
+        }
+        if (x instanceof ArrayContainer a && y instanceof ArrayContainer b) {
+            long count = 0;
+            for (int i = 0, j = 0; i < a.size && j < b.size; ) {
+                char u = a.values[i];
+                char v = b.values[j];
+                count += u == v ? 1 : 0;
+                i += u <= v ? 1 : 0;
+                j += v <= u ? 1 : 0;
+            }
+            return count;
+        }
+        ArrayContainer array = x instanceof ArrayContainer a ? a : (ArrayContainer) y;
+        BitmapContainer bitmap = x instanceof BitmapContainer b ? b : (BitmapContainer) y;
+        long count = 0;
+        for (int i = 0; i < array.size; i++) {
+            char v = array.values[i];
+            count += (bitmap.words[v >>> 6] >>> v) & 1;
+        }
+        return count;
+    }
+
+    private static Container or(Container x, Container y) {
+        if (x instanceof ArrayContainer a && y instanceof ArrayContainer b && a.size + b.size <= ARRAY_MAX) {
+            // Merge two sorted arrays without duplicates
+            char[] out = new char[a.size + b.size];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.size && j < b.size) {
+                char u = a.values[i];
+                char v = b.values[j];
+                out[n++] = u <= v ? u : v;
+                i += u <= v ? 1 : 0;
+                j += v <= u ? 1 : 0;
+            }
+            while (i < a.size) {
+                out[n++] = a.values[i++];
+            }
+            while (j < b.size) {
+                out[n++] = b.values[j++];
+            }
+            return new ArrayContainer(out, n);
+        }
+        BitmapContainer out = x instanceof BitmapContainer b ? (BitmapContainer) copy(b) : ((ArrayContainer) x).toBitmap();
+        switch (y) {
+            case BitmapContainer b -> {
+                int count = 0;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    out.words[w] |= b.words[w];
+                    count += Long.bitCount(out.words[w]);
+                }
+                out.cardinality = count;
+            }
+            case ArrayContainer a -> {
+                for (int i = 0; i < a.size; i++) {
+                    out.add(a.values[i]);
+                }
+            }
+        }
+        // Two arrays that overlap a lot can still fit in an array after all
+        return out.shrink();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach(value -> text.append(text.length() > 1 ? ", " : "").append(value));
+        return text.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        // Customer ids that bought product A and product B: few ids, spread far apart
+        SparseBitmap boughtA = SparseBitmap.of(17, 4_200, 70_000, 90_000_000, 90_000_001);
+        SparseBitmap boughtB = SparseBitmap.of(17, 70_000, 1_000_000, 90_000_001);
+        System.out.println("Bought A and B: " + boughtA.and(boughtB) + ", count " + boughtA.andCardinality(boughtB));
+        System.out.println("Bought A or B:  " + boughtA.or(boughtB));
+
+        // A dense chunk switches to a bitmap container on its own
+        SparseBitmap evens = new SparseBitmap();
+        for (int i = 0; i < 20_000; i += 2) {
+            evens.add(i);
+        }
+        System.out.println("10,000 even numbers: " + evens.cardinality() + " values in about " + evens.bytes() + " bytes");
+        System.out.println("The 5 ids above as a BitSet would need " + (90_000_001 / 8) + " bytes; here about "
+                + boughtA.bytes());
+
+        /*
+         🧠 Real-Life Analogy:
+         A BitSet is a stadium seating chart 🏟️ with a box for every seat, even when 5 people show up.
+         SparseBitmap only prints a page for sections that have people, and for a nearly empty
+         section it just lists the seat numbers 📝.
+        */
+
+        // Explanation:
+        // 1. Values are split into chunks of 65,536 by their high 16 bits; only non-empty chunks exist.
+        // 2. A chunk with at most 4096 values stores them as a sorted char[]; beyond that as a 1024-long bitmap.
+        // 3. AND and OR only visit chunks present in the inputs, and use merge, probe or word & / | per pair.
+        // 4. For dense sets a plain bitset is still smaller and faster; BitKernelsBenchmark shows where they cross.
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ TypeRouter replaces a long instanceof chain with a per-class lookup.
+
+ Run (Vehicle, Car and Bike live in InstanceofOperatorDemo.java):
+   javac InstanceofOperatorDemo.java TypeRouter.java
+   java TypeRouter
+
+ InstanceofOperatorDemo asks "is it a Car? is it a Bike?" one question at a time.
+ With dozens of message types, a message near the end of the chain pays for every
+ check before it, so routing gets slower as types are added.
+
+ TypeRouter asks those questions once per concrete class and remembers the answer
+ in a ClassValue, which the JVM stores right next to the Class object. After the first
+ message of each class, routing is one lookup, however many handlers are registered.
+
+ Handlers are tried in the order they were added, like an if / else-if chain, so a
+ handler for a superclass placed after its subclasses acts as a catch-all for the rest.
+*/
+public final class TypeRouter<T, R> {
+
+    private record Route<T, R>(Class<?> type, Function<? super T, ? extends R> handler) {}
+
+    private final List<Route<T, R>> routes;
+    private final Function<? super T, ? extends R> fallback;
+
+    // Computed once per concrete class, then served from the JVM's per-class cache
+    private final ClassValue<Function<? super T, ? extends R>> cache = new ClassValue<>() {
+        @Override
+        protected Function<? super T, ? extends R> computeValue(Class<?> type) {
+            for (Route<T, R> route : routes) {
+                if (route.type().isAssignableFrom(type)) {
+                    return route.handler();
+                }
+            }
+            return fallback;
+        }
+    };
+
+    private TypeRouter(List<Route<T, R>> routes, Function<? super T, ? extends R> fallback) {
+        this.routes = List.copyOf(routes);
+        this.fallback = fallback;
+    }
+
+    public static <T, R> Builder<T, R> builder() {
+        return new Builder<>();
+    }
+
+    public R route(T message) {
+        return cache.get(message.getClass()).apply(message);
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    /** Collects handlers in order. The router is immutable once built, so the cache never goes stale. */
+    public static final class Builder<T, R> {
+        private final List<Route<T, R>> routes = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public <S extends T> Builder<T, R> on(Class<S> type, Function<? super S, ? extends R> handler) {
+            @SuppressWarnings("unchecked")
+            Function<? super T, ? extends R> erased = (Function<? super T, ? extends R>) (Function<?, ?>) handler;
+            routes.add(new Route<>(type, erased));
+            return this;
+        }
+
+        public TypeRouter<T, R> otherwise(Function<? super T, ? extends R> fallback) {
+            return new TypeRouter<>(routes, fallback);
+        }
+
+        /** Builds a router that throws for messages no handler accepts. */
+        public TypeRouter<T, R> build() {
+            return otherwise(message -> {
+                throw new IllegalArgumentException("No route for " + message.getClass().getName());
+            });
+        }
+    }
+
+    // The same decision as a pattern-matching switch; a sealed Vehicle would not need the default
+    static String describe(Vehicle vehicle) {
+        return switch (vehicle) {
+            case Car car -> "four wheels";
+            case Bike bike -> "two wheels";
+            default -> "unknown vehicle";
+        };
+    }
+
+    public static void main(String[] args) {
+        TypeRouter<Vehicle, String> wheels = TypeRouter.<Vehicle, String>builder()
+                .on(Car.class, car -> "four wheels")
+                .on(Bike.class, bike -> "two wheels")
+                .otherwise(vehicle -> "unknown vehicle");
+
+        Vehicle[] garage = { new Car(), new Bike(), new Vehicle() };
+        for (Vehicle vehicle : garage) {
+            System.out.println(vehicle.getClass().getSimpleName() + " has " + wheels.route(vehicle)
+                    + " (switch says: " + describe(vehicle) + ")");
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         An instanceof chain is a receptionist reading every name on the visitor list until they find yours.
+         TypeRouter is a badge 🪪 printed on your first visit — next time the door just reads the badge.
+        */
+
+        // Explanation:
+        // 1. Routes are checked in order the first time a class is seen, exactly like an if / else-if chain.
+        // 2. ClassValue caches the winning handler per concrete class, so later messages skip the chain.
+        // 3. The router is immutable after build(), which is what makes the cache safe.
+        // 4. describe() shows the pattern-matching switch version of the same decision.
+    }
+}
@@ -0,0 +1,366 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ LineReader reads a text file line by line through one of four interchangeable backends,
+ so the "buffering speeds up IO" advice in 01_Input_Output.md can be measured instead of assumed.
+
+ Run:
+   javac LineReader.java
+   java LineReader [file]
+
+ Backends:
+   BUFFERED_READER  new BufferedReader(new InputStreamReader(...)): the guide's example, one String per line
+   FILES_LINES      Files.lines(path): the same decoder behind a Stream, one String per line
+   CHANNEL          FileChannel.read into one direct ByteBuffer; '\n' is found in the raw bytes
+                    and the line is decoded from UTF-8 by hand into a reused char[]
+   MAPPED           the file is mapped with FileChannel.map, in windows of up to 1 GB, and
+                    split the same way without any read() calls at all
+
+ CHANNEL and MAPPED pass the same reused CharSequence to every call, so nothing is
+ allocated per line. The sequence is only valid during the call; use toString() to keep it.
+ A line ends at "\n" or "\r\n" (BufferedReader also ends one at a lone "\r"), and bytes that
+ are not valid UTF-8 become U+FFFD.
+*/
+public final class LineReader {
+
+    enum Backend { BUFFERED_READER, FILES_LINES, CHANNEL, MAPPED }
+
+    static final int BUFFER_SIZE = 1 << 20;
+    // Bytes copied out of the direct or mapped buffer at a time; small enough to stay in L1
+    static final int SLICE_SIZE = 1 << 14;
+    // A single mapping cannot exceed Integer.MAX_VALUE bytes, so big files are mapped in windows
+    static final long MAP_WINDOW = 1L << 30;
+
+    // Reads 8 bytes of a byte[] as one long, in the order they appear in the file
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Backend backend;
+    private final Utf8Line line = new Utf8Line();
+    private ByteBuffer direct;
+    private final byte[] slice = new byte[SLICE_SIZE];
+    // The start of a line that continues into the next slice
+    private byte[] carry = new byte[256];
+    private int carryLength;
+    // Lines emitted by the byte-based backends during the current read
+    private long lines;
+
+    public LineReader(Backend backend) {
+        this.backend = backend;
+    }
+
+    public Backend backend() {
+        return backend;
+    }
+
+    /** Calls consumer once per line and returns the number of lines. */
+    public long read(Path path, Consumer<? super CharSequence> consumer) throws IOException {
+        return switch (backend) {
+            case BUFFERED_READER -> readBuffered(path, consumer);
+            case FILES_LINES -> readStream(path, consumer);
+            case CHANNEL -> readChannel(path, consumer);
+            case MAPPED -> readMapped(path, consumer);
+        };
+    }
+
+    private static long readBuffered(Path path, Consumer<? super CharSequence> consumer) throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), 1 << 16)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                consumer.accept(text);
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static long readStream(Path path, Consumer<? super CharSequence> consumer) throws IOException {
+        long[] lines = { 0 };
+        try (Stream<String> stream = Files.lines(path)) {
+            stream.forEach(text -> {
+                consumer.accept(text);
+                lines[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return lines[0];
+    }
+
+    private long readChannel(Path path, Consumer<? super CharSequence> consumer) throws IOException {
+        if (direct == null) {
+            direct = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        startRead();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(direct.clear()) >= 0) {
+                feed(direct, direct.position(), consumer);
+            }
+        }
+        return finishRead(consumer);
+    }
+
+    private long readMapped(Path path, Consumer<? super CharSequence> consumer) throws IOException {
+        startRead();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, size - position);
+                feed(channel.map(FileChannel.MapMode.READ_ONLY, position, length), (int) length, consumer);
+            }
+        }
+        return finishRead(consumer);
+    }
+
+    private void startRead() {
+        lines = 0;
+        carryLength = 0;
+    }
+
+    private long finishRead(Consumer<? super CharSequence> consumer) {
+        // Last line without a trailing newline
+        if (carryLength > 0) {
+            emit(carry, 0, carryLength, consumer);
+            carryLength = 0;
+        }
+        return lines;
+    }
+
+    /*
+     Copies the bytes into a small heap array one slice at a time. A bulk get is a memcpy,
+     and scanning a byte[] that sits in the L1 cache is much cheaper than calling get(i) on
+     a direct or mapped buffer for every byte.
+    */
+    private void feed(ByteBuffer bytes, int length, Consumer<? super CharSequence> consumer) {
+        for (int from = 0; from < length; from += SLICE_SIZE) {
+            int n = Math.min(SLICE_SIZE, length - from);
+            bytes.get(from, slice, 0, n);
+            split(slice, n, consumer);
+        }
+    }
+
+    // Emits every line that ends in this slice; a line cut by the slice boundary waits in carry
+    private void split(byte[] bytes, int length, Consumer<? super CharSequence> consumer) {
+        int start = 0;
+        int end;
+        while ((end = indexOfNewline(bytes, start, length)) >= 0) {
+            if (carryLength > 0) {
+                carry(bytes, start, end);
+                emit(carry, 0, carryLength, consumer);
+                carryLength = 0;
+            } else {
+                emit(bytes, start, end, consumer);
+            }
+            start = end + 1;
+        }
+        carry(bytes, start, length);
+    }
+
+    /*
+     Looks at 8 bytes per step (SWAR, "SIMD within a register"): XOR with eight '\n' bytes
+     turns every newline into a zero byte, and (w - 0x01..01) & ~w & 0x80..80 sets the top
+     bit of the lowest zero byte. Its position is the number of trailing zero bits / 8.
+    */
+    static int indexOfNewline(byte[] bytes, int from, int to) {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONGS.get(bytes, i) ^ 0x0A0A0A0A0A0A0A0AL;
+            long found = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void carry(byte[] bytes, int from, int to) {
+        int n = to - from;
+        if (carryLength + n > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carryLength + n, carry.length * 2));
+        }
+        System.arraycopy(bytes, from, carry, carryLength, n);
+        carryLength += n;
+    }
+
+    private void emit(byte[] bytes, int from, int to, Consumer<? super CharSequence> consumer) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        line.decode(bytes, from, to);
+        consumer.accept(line);
+        lines++;
+    }
+
+    /** A reusable CharSequence holding one decoded line. */
+    static final class Utf8Line implements CharSequence {
+        private char[] chars = new char[256];
+        private int length;
+
+        void decode(byte[] bytes, int from, int to) {
+            if (chars.length < to - from) {
+                // A UTF-8 line never has more chars than bytes
+                chars = new char[Math.max(to - from, chars.length * 2)];
+            }
+            char[] out = chars;
+            int n = 0;
+            int i = from;
+            // ASCII fast path: a plain widening copy until the first non-ASCII byte
+            while (i < to && bytes[i] >= 0) {
+                out[n++] = (char) bytes[i++];
+            }
+            while (i < to) {
+                int b = bytes[i];
+                if (b >= 0) {
+                    out[n++] = (char) b;
+                    i++;
+                    continue;
+                }
+                int needed;
+                int codePoint;
+                if ((b & 0xE0) == 0xC0) {
+                    needed = 1;
+                    codePoint = b & 0x1F;
+                } else if ((b & 0xF0) == 0xE0) {
+                    needed = 2;
+                    codePoint = b & 0x0F;
+                } else if ((b & 0xF8) == 0xF0) {
+                    needed = 3;
+                    codePoint = b & 0x07;
+                } else {
+                    out[n++] = '�';
+                    i++;
+                    continue;
+                }
+                int j = i + 1;
+                while (j < to && j <= i + needed && (bytes[j] & 0xC0) == 0x80) {
+                    codePoint = (codePoint << 6) | (bytes[j] & 0x3F);
+                    j++;
+                }
+                if (j != i + needed + 1 || codePoint < MIN_CODE_POINT[needed]
+                        || codePoint > Character.MAX_CODE_POINT
+                        || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                    // Truncated, overlong or out-of-range sequence: one replacement for the bytes consumed
+                    out[n++] = '�';
+                    i = j;
+                    continue;
+                }
+                if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    out[n++] = Character.highSurrogate(codePoint);
+                    out[n++] = Character.lowSurrogate(codePoint);
+                } else {
+                    out[n++] = (char) codePoint;
+                }
+                i = j;
+            }
+            length = n;
+        }
+
+        // The smallest code point each sequence length may encode; anything smaller is overlong
+        private static final int[] MIN_CODE_POINT = { 0, 0x80, 0x800, 0x10000 };
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file;
+        if (args.length > 0) {
+            file = Path.of(args[0]);
+        } else {
+            file = Files.createTempFile("server", ".log");
+            file.toFile().deleteOnExit();
+            Files.writeString(file, """
+                    2024-01-01 10:00:00 INFO  Server started
+                    2024-01-01 10:00:05 WARN  Disk 91% full
+                    2024-01-01 10:00:09 ERROR Connection refused: db-primary
+                    2024-01-01 10:00:12 INFO  Benutzer angemeldet: Jürgen
+                    2024-01-01 10:00:15 ERROR Timeout after 30 s ⏱
+                    """);
+        }
+
+        for (Backend backend : Backend.values()) {
+            LineReader reader = new LineReader(backend);
+            long[] errors = { 0 };
+            long lines = reader.read(file, text -> {
+                if (contains(text, "ERROR")) {
+                    errors[0]++;
+                }
+            });
+            System.out.println(backend + ": " + lines + " lines, " + errors[0] + " errors");
+        }
+        new LineReader(Backend.MAPPED).read(file, text -> {
+            if (contains(text, "Jürgen") || contains(text, "⏱")) {
+                System.out.println("Decoded by hand: " + text);
+            }
+        });
+
+        /*
+         🧠 Real-Life Analogy:
+         BufferedReader is a librarian who photocopies every page 📄 before handing it to you.
+         The channel and mapped readers let you read straight off the shelf — you get a bookmark
+         to the line instead of your own copy, so keep a copy (toString) only of the lines you need.
+        */
+
+        // Explanation:
+        // 1. All four backends deliver the same lines to the same Consumer, so they can be swapped freely.
+        // 2. BUFFERED_READER and FILES_LINES create a new String for every line.
+        // 3. CHANNEL reads 1 MB at a time into a direct buffer and finds '\n' in the raw bytes, 8 bytes per step.
+        // 4. MAPPED lets the operating system page the file in; there are no read() calls at all.
+        // 5. The byte-based backends decode UTF-8 into one reused char[], so they allocate nothing per line.
+    }
+
+    static boolean contains(CharSequence text, String word) {
+        int last = text.length() - word.length();
+        outer:
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < word.length(); j++) {
+                if (text.charAt(i + j) != word.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
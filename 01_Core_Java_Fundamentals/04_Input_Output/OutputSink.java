@@ -0,0 +1,325 @@
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ OutputSink is a batching, allocation-free replacement for System.out.println in hot loops.
+
+ Run:
+   javac OutputSink.java
+   java OutputSink
+
+ Why System.out is slow for large batches:
+   - Every println() takes a lock and, on a console, flushes right away.
+   - "Car: " + brand + " (" + year + ")" builds a StringBuilder and a String for every line,
+     and the PrintStream then encodes that String into a fresh byte array.
+
+ OutputSink keeps one pre-sized ByteBuffer. append(int) and append(long) write the digits
+ straight into it, append(CharSequence) encodes characters in place (with an ASCII fast path),
+ and the buffer only goes to the FileChannel or stdout when it is full or flushed.
+ It is not thread-safe; use one sink per thread.
+
+ Switching an existing demo over without editing it (the "flag"):
+   java -cp <demo classes>:<this folder's classes> OutputSink --run ArrayDataTypeDemo
+ replaces System.out with a non-autoflushing PrintStream on top of a sink, runs the demo's
+ main and flushes at the end. Code that calls append() directly avoids the String work too.
+*/
+public final class OutputSink implements AutoCloseable {
+
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    // Long.MIN_VALUE is the longest long: 20 characters including the sign
+    private static final int MAX_LONG_CHARS = 20;
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+    private int position;
+    private long written;
+
+    public OutputSink(WritableByteChannel channel, int capacity, boolean closeChannel) {
+        if (capacity < 64) {
+            throw new IllegalArgumentException("Capacity must be at least 64 bytes: " + capacity);
+        }
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.bytes = new byte[capacity];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /** A sink on standard output. Closing it flushes but leaves stdout open. */
+    public static OutputSink stdout() {
+        return new OutputSink(new FileOutputStream(FileDescriptor.out).getChannel(), DEFAULT_CAPACITY, false);
+    }
+
+    /** A sink that creates or truncates the file. */
+    public static OutputSink toFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new OutputSink(channel, DEFAULT_CAPACITY, true);
+    }
+
+    public OutputSink append(byte b) {
+        if (position == bytes.length) {
+            drain();
+        }
+        bytes[position++] = b;
+        return this;
+    }
+
+    public OutputSink append(char c) {
+        if (c < 0x80) {
+            return append((byte) c);
+        }
+        ensure(3);
+        position = encodeChar(Character.isSurrogate(c) ? '?' : c, position);
+        return this;
+    }
+
+    public OutputSink append(byte[] src, int offset, int length) {
+        while (length > 0) {
+            if (position == bytes.length) {
+                drain();
+            }
+            int n = Math.min(length, bytes.length - position);
+            System.arraycopy(src, offset, bytes, position, n);
+            position += n;
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    /** Appends text as UTF-8 without creating a byte[] or String. */
+    public OutputSink append(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            // ASCII fast path: most demo output is plain ASCII
+            int room = bytes.length - position;
+            if (room == 0) {
+                drain();
+                continue;
+            }
+            int end = Math.min(length, i + room);
+            int pos = position;
+            while (i < end) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                bytes[pos++] = (byte) c;
+                i++;
+            }
+            position = pos;
+            if (i < end) {
+                i = appendNonAscii(text, i);
+            }
+        }
+        return this;
+    }
+
+    private int appendNonAscii(CharSequence text, int i) {
+        char c = text.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+            ensure(4);
+            bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+            bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            return i + 2;
+        }
+        ensure(3);
+        position = encodeChar(Character.isSurrogate(c) ? '?' : c, position);
+        return i + 1;
+    }
+
+    private int encodeChar(char c, int pos) {
+        if (c < 0x80) {
+            bytes[pos++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[pos++] = (byte) (0xC0 | (c >> 6));
+            bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+        } else {
+            bytes[pos++] = (byte) (0xE0 | (c >> 12));
+            bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return pos;
+    }
+
+    public OutputSink append(int value) {
+        return append((long) value);
+    }
+
+    /** Writes the decimal digits of value directly into the buffer, like Long.toString without the String. */
+    public OutputSink append(long value) {
+        ensure(MAX_LONG_CHARS);
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG, 0, bytes, position, MIN_LONG.length);
+            position += MIN_LONG.length;
+            return this;
+        }
+        if (value < 0) {
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int digits = digitCount(value);
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    public OutputSink newLine() {
+        return append((byte) '\n');
+    }
+
+    /** Like println(text): appends the text and a newline. */
+    public OutputSink line(CharSequence text) {
+        return append(text).newLine();
+    }
+
+    static int digitCount(long value) {
+        long limit = 10;
+        for (int digits = 1; digits < 19; digits++) {
+            if (value < limit) {
+                return digits;
+            }
+            limit *= 10;
+        }
+        return 19;
+    }
+
+    /** Bytes handed to the channel so far. */
+    public long bytesWritten() {
+        return written + position;
+    }
+
+    public void flush() {
+        drain();
+    }
+
+    @Override
+    public void close() {
+        drain();
+        if (closeChannel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void ensure(int room) {
+        if (bytes.length - position < room) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.clear().limit(position);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        written += position;
+        position = 0;
+    }
+
+    /**
+     A PrintStream that writes into this sink without autoflush, for code that only knows
+     System.out. It still pays for Strings and encoding, but not for a flush per line.
+    */
+    public PrintStream asPrintStream() {
+        OutputStream adapter = new OutputStream() {
+            @Override
+            public void write(int b) {
+                append((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                append(b, off, len);
+            }
+
+            @Override
+            public void flush() {
+                OutputSink.this.flush();
+            }
+        };
+        return new PrintStream(adapter, false, StandardCharsets.UTF_8);
+    }
+
+    /** Runs another program's main with System.out going through a stdout sink. */
+    static void runWithSink(String className, String[] args) throws ReflectiveOperationException {
+        PrintStream original = System.out;
+        OutputSink sink = stdout();
+        PrintStream batched = sink.asPrintStream();
+        System.setOut(batched);
+        try {
+            Method main = Class.forName(className).getMethod("main", String[].class);
+            main.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(className + " failed", e.getCause());
+        } finally {
+            batched.flush();
+            sink.close();
+            System.setOut(original);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && args[0].equals("--run")) {
+            runWithSink(args[1], Arrays.copyOfRange(args, 2, args.length));
+            return;
+        }
+
+        // ArrayDataTypeDemo's output, without building a single String
+        int[] playerScores = { 75, 60, 45, 90, 30 };
+        try (OutputSink out = OutputSink.stdout()) {
+            out.line("Player Scores:");
+            for (int i = 0; i < playerScores.length; i++) {
+                out.append("Player ").append(i + 1).append(": ").append(playerScores[i]).append(" runs").newLine();
+            }
+            out.append("Car: ").append("Toyota").append(' ').append("Fortuner").append(" (").append(2022).append(')').newLine();
+            out.append("Hindi Character: ").append('क').newLine();
+            out.append("Maximum Value of long: ").append(Long.MAX_VALUE).newLine();
+            out.append("Minimum Value of long: ").append(Long.MIN_VALUE).newLine();
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         System.out.println is a courier who drives to the post office with every single letter.
+         OutputSink is a mailbag 📮 — letters pile up in the bag and the courier makes one trip when it is full.
+        */
+
+        // Explanation:
+        // 1. All output goes into one reused byte buffer; nothing is written until it fills up or flush() is called.
+        // 2. append(int)/append(long) write digits straight into the buffer, so no String is created for numbers.
+        // 3. append(CharSequence) copies ASCII directly and encodes other characters to UTF-8 in place.
+        // 4. --run <DemoClass> switches an unchanged demo to the sink by swapping System.out.
+    }
+}
@@ -0,0 +1,526 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/*
+ IntCollections: a list, a map and a set that store int values directly, with no autoboxing.
+
+ Run:
+   javac IntCollections.java
+   java IntCollections
+
+ The guide's "Autoboxing and Unboxing" section shows that Integer wrapped = 42 quietly
+ becomes Integer.valueOf(42). In a List<Integer> every score is such an Integer: a 16-byte
+ object with a header, reached through a pointer, so reading the list means chasing a
+ pointer per element. A HashMap<Integer, Integer> adds a 32-byte Node per entry on top.
+
+   IntArrayList   one int[] that grows by half when full        4 bytes per element
+   IntIntHashMap  open addressing: parallel int[] keys/values,  about 11-16 bytes per entry
+                  linear probing, no Node objects
+   IntHashSet     the same table with keys only                 about 5-8 bytes per element
+
+ All three accept and return int only. stream() / keys() / values() bridge to IntStream,
+ and IntArrayList.from / IntHashSet.from collect an IntStream back without boxing.
+*/
+public final class IntCollections {
+
+    private IntCollections() {
+    }
+
+    // Fibonacci hashing: spreads nearby keys (1, 2, 3, ...) across the whole table
+    static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // Power-of-two capacity that holds expected entries below the maximum load
+    static int tableSize(int expected, float maxLoad) {
+        long needed = (long) Math.ceil(Math.max(expected, 2) / (double) maxLoad);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many entries: " + expected);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    public static void main(String[] args) {
+        // ArrayDataTypeDemo's scores, without a single Integer object
+        IntArrayList playerScores = new IntArrayList();
+        for (int score : new int[] { 75, 60, 45, 90, 30 }) {
+            playerScores.add(score);
+        }
+        System.out.println("Scores: " + playerScores + ", best: " + playerScores.stream().max().getAsInt());
+
+        IntIntHashMap runsByPlayer = new IntIntHashMap(-1);
+        for (int i = 0; i < playerScores.size(); i++) {
+            runsByPlayer.put(i + 1, playerScores.get(i));
+        }
+        runsByPlayer.addTo(4, 10);
+        System.out.println("Player 4 now has " + runsByPlayer.get(4) + " runs; player 9: " + runsByPlayer.get(9));
+
+        IntHashSet fifties = IntHashSet.from(playerScores.stream().filter(score -> score >= 50));
+        System.out.println("Scores of 50+: " + fifties.size() + ", contains 60? " + fifties.contains(60));
+
+        /*
+         🧠 Real-Life Analogy:
+         A List<Integer> is a shelf of gift boxes 🎁, each holding one number and a label pointing to the next shelf.
+         IntArrayList is an egg tray 🥚 — the numbers sit side by side in one piece of cardboard.
+        */
+
+        // Explanation:
+        // 1. IntArrayList keeps values in an int[], so add() and get() never create an Integer.
+        // 2. IntIntHashMap stores keys and values in two int[] arrays and probes neighbouring slots on collisions.
+        // 3. Key 0 marks an empty slot in the table, so a real 0 key is kept in a separate field.
+        // 4. stream(), keys() and values() return IntStream, so the Stream API works without boxing too.
+    }
+}
+
+/** A growable int[], like ArrayList<Integer> without the Integer objects. */
+final class IntArrayList {
+    private int[] elements;
+    private int size;
+
+    IntArrayList() {
+        this(10);
+    }
+
+    IntArrayList(int capacity) {
+        elements = new int[Math.max(capacity, 1)];
+    }
+
+    static IntArrayList from(IntStream stream) {
+        return stream.collect(IntArrayList::new, IntArrayList::add, IntArrayList::addAll);
+    }
+
+    void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    void addAll(int[] values) {
+        if (size + values.length > elements.length) {
+            grow(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    void addAll(IntArrayList other) {
+        if (size + other.size > elements.length) {
+            grow(size + other.size);
+        }
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    int set(int index, int value) {
+        checkIndex(index);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return elements[--size];
+    }
+
+    int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void grow(int minCapacity) {
+        // Grow by half, like ArrayList, so appends stay amortised O(1)
+        int capacity = Math.max(minCapacity, elements.length + (elements.length >> 1));
+        elements = Arrays.copyOf(elements, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+/**
+ An int-to-int hash map with open addressing and linear probing. Slot i is free when
+ keys[i] == 0; the entry for key 0 lives in its own field. get() returns the missing value
+ chosen at construction when a key is absent.
+*/
+final class IntIntHashMap {
+
+    static final float MAX_LOAD = 0.7f;
+
+    @FunctionalInterface
+    interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    IntIntHashMap(int missingValue) {
+        this(missingValue, 16);
+    }
+
+    IntIntHashMap(int missingValue, int expectedSize) {
+        this.missingValue = missingValue;
+        allocate(IntCollections.tableSize(expectedSize, MAX_LOAD));
+    }
+
+    int get(int key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        for (int i = IntCollections.slot(key, mask); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == 0) {
+                return missingValue;
+            }
+        }
+    }
+
+    boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        for (int i = IntCollections.slot(key, mask); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return true;
+            }
+            if (k == 0) {
+                return false;
+            }
+        }
+    }
+
+    /** Stores the value and returns the previous one, or the missing value if the key was new. */
+    int put(int key, int value) {
+        if (key == 0) {
+            int previous = hasZeroKey ? zeroValue : missingValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int i = IntCollections.slot(key, mask);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > MAX_LOAD * keys.length) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /** Adds delta to the key's value (starting from 0), the primitive form of merge(key, delta, Integer::sum). */
+    int addTo(int key, int delta) {
+        if (key == 0) {
+            int value = (hasZeroKey ? zeroValue : 0) + delta;
+            put(0, value);
+            return value;
+        }
+        int i = IntCollections.slot(key, mask);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i] += delta;
+            }
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > MAX_LOAD * keys.length) {
+            rehash(keys.length * 2);
+        }
+        return delta;
+    }
+
+    /** Removes the key and returns its value, or the missing value if it was absent. */
+    int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return missingValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        for (int i = IntCollections.slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+        }
+        return missingValue;
+    }
+
+    /*
+     Backward-shift deletion: later entries of the same probe run move into the gap, so
+     lookups never need "deleted" markers and the table does not fill up with them.
+    */
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = IntCollections.slot(keys[i], mask);
+            // Move the entry if its home slot is not between the gap and its current slot
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void forEach(IntIntConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    IntStream keys() {
+        IntStream table = IntStream.range(0, keys.length).filter(i -> keys[i] != 0).map(i -> keys[i]);
+        return hasZeroKey ? IntStream.concat(IntStream.of(0), table) : table;
+    }
+
+    IntStream values() {
+        IntStream table = IntStream.range(0, keys.length).filter(i -> keys[i] != 0).map(i -> values[i]);
+        return hasZeroKey ? IntStream.concat(IntStream.of(zeroValue), table) : table;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != 0) {
+                int i = IntCollections.slot(key, mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
+
+/** A set of ints: IntIntHashMap's table with the keys only. */
+final class IntHashSet {
+
+    static final float MAX_LOAD = 0.7f;
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+    IntHashSet() {
+        this(16);
+    }
+
+    IntHashSet(int expectedSize) {
+        allocate(IntCollections.tableSize(expectedSize, MAX_LOAD));
+    }
+
+    static IntHashSet from(IntStream stream) {
+        IntHashSet set = new IntHashSet();
+        stream.forEachOrdered(set::add);
+        return set;
+    }
+
+    /** Returns true if the value was not in the set yet. */
+    boolean add(int value) {
+        if (value == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = IntCollections.slot(value, mask);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == value) {
+                return false;
+            }
+        }
+        keys[i] = value;
+        if (++size > MAX_LOAD * keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    boolean contains(int value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        for (int i = IntCollections.slot(value, mask); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == value) {
+                return true;
+            }
+            if (k == 0) {
+                return false;
+            }
+        }
+    }
+
+    boolean remove(int value) {
+        if (value == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        for (int i = IntCollections.slot(value, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == value) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Same backward-shift deletion as IntIntHashMap
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = IntCollections.slot(keys[i], mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    IntStream stream() {
+        IntStream table = Arrays.stream(keys).filter(k -> k != 0);
+        return hasZero ? IntStream.concat(IntStream.of(0), table) : table;
+    }
+
+    int[] toArray() {
+        return stream().toArray();
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = keys;
+        allocate(capacity);
+        for (int key : old) {
+            if (key != 0) {
+                int i = IntCollections.slot(key, mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/*
+ RangeTable turns an if-else ladder over one int into a table that answers in a few steps,
+ however many rules the ladder has.
+
+ Run:
+   javac RangeTable.java
+   java RangeTable
+
+ The guide's grade ladder
+
+   if (score >= 90) grade = 'A'; else if (score >= 80) grade = 'B'; ... else grade = 'F';
+
+ becomes
+
+   RangeTable.<Character>builder().atLeast(90, 'A').atLeast(80, 'B') ... .otherwise('F').build()
+
+ Rules are kept in order and the first one that matches wins, exactly like the ladder.
+ build() works out which rule wins between every pair of neighbouring thresholds, merges
+ neighbours with the same answer, and stores the result in one of two forms:
+
+   SEARCH  a sorted int[] of where each range starts, searched with a branchless binary
+           search: about log2(ranges) steps, and no step the CPU has to guess
+   DENSE   one slot per value between the lowest and highest threshold, so a lookup is a
+           clamp and one array read; used when that span is at most 4096 values
+   AUTO    DENSE when the span is small enough, SEARCH otherwise
+
+ A ladder tests rule after rule, so a value near the bottom pays for every rule above it,
+ and a mispredicted branch on each random input.
+*/
+public final class RangeTable<R> {
+
+    enum Mode { SEARCH, DENSE, AUTO }
+
+    static final int DENSE_LIMIT = 4096;
+
+    // Range i covers [starts[i], starts[i + 1]); starts[0] is Integer.MIN_VALUE
+    private final int[] starts;
+    private final Object[] results;
+    // DENSE: dense[clamp(x, denseBase, denseTop) - denseBase]; null when searching
+    private final Object[] dense;
+    private final int denseBase;
+    private final int denseTop;
+
+    private RangeTable(int[] starts, Object[] results, Mode mode) {
+        this.starts = starts;
+        this.results = results;
+        // Values below the first threshold share range 0, values from the last one on share the last range
+        int base = starts.length > 1 ? starts[1] - 1 : 0;
+        int top = starts.length > 1 ? starts[starts.length - 1] : 0;
+        long span = (long) top - base + 1;
+        boolean useDense = switch (mode) {
+            case SEARCH -> false;
+            case DENSE -> {
+                if (span > DENSE_LIMIT) {
+                    throw new IllegalArgumentException("Thresholds span " + span + " values, DENSE allows " + DENSE_LIMIT);
+                }
+                yield true;
+            }
+            case AUTO -> span <= DENSE_LIMIT;
+        };
+        if (useDense) {
+            dense = new Object[(int) span];
+            for (int i = 0; i < dense.length; i++) {
+                dense[i] = results[search(base + i)];
+            }
+        } else {
+            dense = null;
+        }
+        denseBase = base;
+        denseTop = top;
+    }
+
+    public static <R> Builder<R> builder() {
+        return new Builder<>();
+    }
+
+    /** The answer of the first rule that matches value, or the otherwise() result. */
+    @SuppressWarnings("unchecked")
+    public R get(int value) {
+        if (dense != null) {
+            return (R) dense[Math.min(Math.max(value, denseBase), denseTop) - denseBase];
+        }
+        return (R) results[search(value)];
+    }
+
+    /** Number of ranges after merging neighbours with the same answer. */
+    public int ranges() {
+        return starts.length;
+    }
+
+    public boolean isDense() {
+        return dense != null;
+    }
+
+    /*
+     The last i with starts[i] <= value. Every step halves the window and moves its base
+     with a conditional move instead of a jump, so there is no branch to mispredict and the
+     loop runs the same number of times for every value.
+    */
+    private int search(int value) {
+        int[] s = starts;
+        int base = 0;
+        int length = s.length;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = s[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        return base;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(isDense() ? "RangeTable[dense" : "RangeTable[search");
+        for (int i = 0; i < starts.length; i++) {
+            text.append(i == 0 ? ": " : ", ");
+            text.append(i == 0 ? "..." : String.valueOf(starts[i])).append(" -> ").append(results[i]);
+        }
+        return text.append(']').toString();
+    }
+
+    /** Collects rules in if-else order; the first match wins. */
+    public static final class Builder<R> {
+        // [from, to) with to as a long, so a rule can run up to and including Integer.MAX_VALUE
+        private record Rule(long from, long to, Object result) {
+            boolean matches(long value) {
+                return value >= from && value < to;
+            }
+        }
+
+        private final List<Rule> rules = new ArrayList<>();
+        private R otherwise;
+
+        private Builder() {
+        }
+
+        /** if (value < bound) */
+        public Builder<R> lessThan(int bound, R result) {
+            return add(Integer.MIN_VALUE, bound, result);
+        }
+
+        /** if (value >= bound) */
+        public Builder<R> atLeast(int bound, R result) {
+            return add(bound, Integer.MAX_VALUE + 1L, result);
+        }
+
+        /** if (value >= from && value < to) */
+        public Builder<R> between(int from, int to, R result) {
+            if (from > to) {
+                throw new IllegalArgumentException("Empty range [" + from + ", " + to + ")");
+            }
+            return add(from, to, result);
+        }
+
+        /** The final else. Without it, values no rule matches get null. */
+        public Builder<R> otherwise(R result) {
+            otherwise = result;
+            return this;
+        }
+
+        private Builder<R> add(long from, long to, R result) {
+            rules.add(new Rule(from, to, result));
+            return this;
+        }
+
+        public RangeTable<R> build() {
+            return build(Mode.AUTO);
+        }
+
+        /*
+         Every rule is constant between two neighbouring thresholds, so the ladder only needs
+         to be evaluated once per gap, at the gap's first value.
+        */
+        public RangeTable<R> build(Mode mode) {
+            TreeSet<Long> points = new TreeSet<>();
+            points.add((long) Integer.MIN_VALUE);
+            for (Rule rule : rules) {
+                points.add(rule.from());
+                if (rule.to() <= Integer.MAX_VALUE) {
+                    points.add(rule.to());
+                }
+            }
+            List<Integer> starts = new ArrayList<>();
+            List<Object> results = new ArrayList<>();
+            for (long point : points) {
+                Object result = otherwise;
+                for (Rule rule : rules) {
+                    if (rule.matches(point)) {
+                        result = rule.result();
+                        break;
+                    }
+                }
+                if (results.isEmpty() || !Objects.equals(results.get(results.size() - 1), result)) {
+                    starts.add((int) point);
+                    results.add(result);
+                }
+            }
+            return new RangeTable<>(starts.stream().mapToInt(Integer::intValue).toArray(), results.toArray(), mode);
+        }
+    }
+
+    public static void main(String[] args) {
+        // TernaryOperatorDemo's decision as a one-rule table
+        RangeTable<String> outfit = RangeTable.<String>builder()
+                .lessThan(20, "Wear a jacket")
+                .otherwise("Wear a t-shirt")
+                .build();
+        int temperature = 15;
+        System.out.println("Temperature: " + temperature + "°C, decision: " + outfit.get(temperature));
+
+        // The guide's grade ladder
+        RangeTable<Character> grades = RangeTable.<Character>builder()
+                .atLeast(90, 'A').atLeast(80, 'B').atLeast(70, 'C').atLeast(60, 'D')
+                .otherwise('F')
+                .build();
+        System.out.println("Score 76 -> " + grades.get(76) + ", score 95 -> " + grades.get(95) + ", " + grades);
+
+        // A wider ladder where later rules are partly hidden by earlier ones, searched instead of dense
+        RangeTable<String> shipping = RangeTable.<String>builder()
+                .between(0, 500, "free")
+                .lessThan(0, "invalid")
+                .between(400, 50_000, "standard")
+                .atLeast(50_000, "freight")
+                .build(Mode.SEARCH);
+        for (int grams : new int[] { -5, 450, 12_000, 80_000 }) {
+            System.out.println(grams + " g -> " + shipping.get(grams));
+        }
+        System.out.println(shipping);
+
+        /*
+         🧠 Real-Life Analogy:
+         An if-else ladder is asking at every door down a corridor "is this my room?" 🚪🚪🚪.
+         RangeTable is the directory board in the lobby 🗺️ — look up the range once
+         (or read the one line for your number) and walk straight there.
+        */
+
+        // Explanation:
+        // 1. Rules are stored in order and the first match wins, just like if-else.
+        // 2. build() evaluates the ladder once per gap between thresholds and merges equal neighbours.
+        // 3. SEARCH finds the range with a branchless binary search over a sorted int[].
+        // 4. DENSE stores one answer per value in a small span, so a lookup is a clamp and one read.
+    }
+}
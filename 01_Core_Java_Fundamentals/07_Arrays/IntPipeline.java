@@ -0,0 +1,445 @@
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/*
+ IntPipeline runs the guide's stream example
+
+   Arrays.stream(nums).filter(x -> x > 7).map(x -> x * 2).sum()
+
+ as IntPipeline.start().filterGreaterThan(7).multiply(2).sum(nums), and picks how to run it.
+
+ Run:
+   javac IntPipeline.java
+   java IntPipeline
+
+ A pipeline is a list of stages, written down once and reused on any int[]:
+   filterGreaterThan / filterLessThan / filterDivisibleBy   built-in filters
+   add / multiply                                          built-in maps
+   filter(IntPredicate) / map(IntUnaryOperator)            any lambda
+ and it ends with sum, count, min or max.
+
+ Four ways to run it:
+   STREAM      builds the equivalent IntStream; one lambda call per element per stage
+   SEQUENTIAL  one element at a time through every stage, with no buffer; cheapest setup,
+               so it wins on tiny arrays
+   FUSED       copies 1024 elements into a small buffer and runs each stage over the whole
+               block in a tight loop: a filter compacts the block without branching, a map
+               rewrites it in place. The stage is looked up once per block, not per element,
+               so built-in stages never go through a lambda and the JIT can vectorise them
+   PARALLEL    splits the array across cores with ForkJoin; every piece runs FUSED
+   AUTO        asks advise(): SEQUENTIAL below SEQUENTIAL_THRESHOLD elements, PARALLEL for big
+               arrays on a multi-core machine, else FUSED
+
+ Sums are long, so they do not wrap around the way IntStream.sum() does on big inputs.
+*/
+public final class IntPipeline {
+
+    enum Mode { STREAM, SEQUENTIAL, FUSED, PARALLEL, AUTO }
+
+    static final int BLOCK = 1024;
+    // Below this many elements SEQUENTIAL beats FUSED: IntPipelineBenchmark had both pipelines
+    // faster one element at a time at n=10, split at n=30, and FUSED ahead from n=100
+    static final int SEQUENTIAL_THRESHOLD = 16;
+    // Below this many elements the fork/join overhead costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+    static final int PARALLEL_LEAF = 1 << 15;
+
+    private enum Op { GREATER_THAN, LESS_THAN, DIVISIBLE_BY, PREDICATE, ADD, MULTIPLY, OPERATOR }
+
+    private enum Reduce { SUM, COUNT, MIN, MAX }
+
+    private static final IntPipeline EMPTY = new IntPipeline(new Op[0], new int[0], new Object[0]);
+
+    private final Op[] ops;
+    private final int[] constants;
+    private final Object[] lambdas;
+
+    private IntPipeline(Op[] ops, int[] constants, Object[] lambdas) {
+        this.ops = ops;
+        this.constants = constants;
+        this.lambdas = lambdas;
+    }
+
+    /** A pipeline with no stages; every stage method returns a new, longer pipeline. */
+    public static IntPipeline start() {
+        return EMPTY;
+    }
+
+    public IntPipeline filterGreaterThan(int bound) {
+        return then(Op.GREATER_THAN, bound, null);
+    }
+
+    public IntPipeline filterLessThan(int bound) {
+        return then(Op.LESS_THAN, bound, null);
+    }
+
+    public IntPipeline filterDivisibleBy(int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("Divisor must not be 0");
+        }
+        return then(Op.DIVISIBLE_BY, divisor, null);
+    }
+
+    public IntPipeline filter(IntPredicate predicate) {
+        return then(Op.PREDICATE, 0, predicate);
+    }
+
+    public IntPipeline add(int value) {
+        return then(Op.ADD, value, null);
+    }
+
+    public IntPipeline multiply(int factor) {
+        return then(Op.MULTIPLY, factor, null);
+    }
+
+    public IntPipeline map(IntUnaryOperator operator) {
+        return then(Op.OPERATOR, 0, operator);
+    }
+
+    private IntPipeline then(Op op, int constant, Object lambda) {
+        int n = ops.length;
+        Op[] newOps = Arrays.copyOf(ops, n + 1);
+        int[] newConstants = Arrays.copyOf(constants, n + 1);
+        Object[] newLambdas = Arrays.copyOf(lambdas, n + 1);
+        newOps[n] = op;
+        newConstants[n] = constant;
+        newLambdas[n] = lambda;
+        return new IntPipeline(newOps, newConstants, newLambdas);
+    }
+
+    /** Which mode AUTO uses for this many elements with this many worker threads. */
+    public static Mode advise(int length, int parallelism) {
+        if (length < SEQUENTIAL_THRESHOLD) {
+            return Mode.SEQUENTIAL;
+        }
+        return length >= PARALLEL_THRESHOLD && parallelism > 1 ? Mode.PARALLEL : Mode.FUSED;
+    }
+
+    public long sum(int[] values) {
+        return sum(values, Mode.AUTO);
+    }
+
+    public long sum(int[] values, Mode mode) {
+        return run(values, mode, Reduce.SUM).value;
+    }
+
+    public long count(int[] values) {
+        return count(values, Mode.AUTO);
+    }
+
+    public long count(int[] values, Mode mode) {
+        return run(values, mode, Reduce.COUNT).count;
+    }
+
+    public OptionalInt min(int[] values) {
+        return min(values, Mode.AUTO);
+    }
+
+    public OptionalInt min(int[] values, Mode mode) {
+        Result result = run(values, mode, Reduce.MIN);
+        return result.count == 0 ? OptionalInt.empty() : OptionalInt.of((int) result.value);
+    }
+
+    public OptionalInt max(int[] values) {
+        return max(values, Mode.AUTO);
+    }
+
+    public OptionalInt max(int[] values, Mode mode) {
+        Result result = run(values, mode, Reduce.MAX);
+        return result.count == 0 ? OptionalInt.empty() : OptionalInt.of((int) result.value);
+    }
+
+    /** The same pipeline as an IntStream, which is what STREAM runs. */
+    public IntStream stream(int[] values) {
+        IntStream stream = Arrays.stream(values);
+        for (int s = 0; s < ops.length; s++) {
+            int c = constants[s];
+            stream = switch (ops[s]) {
+                case GREATER_THAN -> stream.filter(x -> x > c);
+                case LESS_THAN -> stream.filter(x -> x < c);
+                case DIVISIBLE_BY -> stream.filter(x -> x % c == 0);
+                case PREDICATE -> stream.filter((IntPredicate) lambdas[s]);
+                case ADD -> stream.map(x -> x + c);
+                case MULTIPLY -> stream.map(x -> x * c);
+                case OPERATOR -> stream.map((IntUnaryOperator) lambdas[s]);
+            };
+        }
+        return stream;
+    }
+
+    /** A running reduction: value holds the sum, min or max, count the elements that got through. */
+    private static final class Result {
+        long value;
+        long count;
+
+        Result(Reduce reduce) {
+            value = switch (reduce) {
+                case SUM, COUNT -> 0;
+                case MIN -> Integer.MAX_VALUE;
+                case MAX -> Integer.MIN_VALUE;
+            };
+        }
+
+        Result merge(Reduce reduce, Result other) {
+            value = switch (reduce) {
+                case SUM, COUNT -> value + other.value;
+                case MIN -> Math.min(value, other.value);
+                case MAX -> Math.max(value, other.value);
+            };
+            count += other.count;
+            return this;
+        }
+    }
+
+    private Result run(int[] values, Mode mode, Reduce reduce) {
+        Mode m = mode == Mode.AUTO ? advise(values.length, ForkJoinPool.getCommonPoolParallelism()) : mode;
+        return switch (m) {
+            case STREAM -> runStream(values, reduce);
+            case SEQUENTIAL -> runSequential(values, reduce);
+            case FUSED -> runFused(values, 0, values.length, reduce);
+            case PARALLEL -> ForkJoinPool.commonPool().invoke(new PipelineTask(this, values, 0, values.length, reduce));
+            case AUTO -> throw new AssertionError();
+        };
+    }
+
+    private Result runStream(int[] values, Reduce reduce) {
+        Result result = new Result(reduce);
+        switch (reduce) {
+            case SUM -> {
+                long[] sumAndCount = stream(values).collect(() -> new long[2],
+                        (acc, x) -> { acc[0] += x; acc[1]++; },
+                        (a, b) -> { a[0] += b[0]; a[1] += b[1]; });
+                result.value = sumAndCount[0];
+                result.count = sumAndCount[1];
+            }
+            case COUNT -> result.count = result.value = stream(values).count();
+            case MIN, MAX -> {
+                OptionalInt found = reduce == Reduce.MIN ? stream(values).min() : stream(values).max();
+                if (found.isPresent()) {
+                    result.value = found.getAsInt();
+                    result.count = 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    // One element at a time through every stage: no block to allocate or copy, which wins on tiny arrays
+    private Result runSequential(int[] values, Reduce reduce) {
+        Result result = new Result(reduce);
+        long acc = result.value;
+        long count = 0;
+        next:
+        for (int x : values) {
+            for (int s = 0; s < ops.length; s++) {
+                int c = constants[s];
+                switch (ops[s]) {
+                    case GREATER_THAN -> {
+                        if (x <= c) {
+                            continue next;
+                        }
+                    }
+                    case LESS_THAN -> {
+                        if (x >= c) {
+                            continue next;
+                        }
+                    }
+                    case DIVISIBLE_BY -> {
+                        if (x % c != 0) {
+                            continue next;
+                        }
+                    }
+                    case PREDICATE -> {
+                        if (!((IntPredicate) lambdas[s]).test(x)) {
+                            continue next;
+                        }
+                    }
+                    case ADD -> x += c;
+                    case MULTIPLY -> x *= c;
+                    case OPERATOR -> x = ((IntUnaryOperator) lambdas[s]).applyAsInt(x);
+                }
+            }
+            count++;
+            acc = switch (reduce) {
+                case SUM -> acc + x;
+                case COUNT -> acc + 1;
+                case MIN -> Math.min(acc, x);
+                case MAX -> Math.max(acc, x);
+            };
+        }
+        result.value = acc;
+        result.count = count;
+        return result;
+    }
+
+    /*
+     values[from, to) block by block. Each stage is one switch per block and then a plain
+     loop over the block, so there is no per-element dispatch for the built-in stages.
+    */
+    private Result runFused(int[] values, int from, int to, Reduce reduce) {
+        Result result = new Result(reduce);
+        int[] block = new int[Math.min(BLOCK, Math.max(1, to - from))];
+        long acc = result.value;
+        long count = 0;
+        for (int base = from; base < to; base += block.length) {
+            int length = Math.min(block.length, to - base);
+            System.arraycopy(values, base, block, 0, length);
+            for (int s = 0; s < ops.length && length > 0; s++) {
+                length = stage(s, block, length);
+            }
+            count += length;
+            switch (reduce) {
+                case SUM -> {
+                    for (int i = 0; i < length; i++) {
+                        acc += block[i];
+                    }
+                }
+                case COUNT -> acc += length;
+                case MIN -> {
+                    int min = (int) acc;
+                    for (int i = 0; i < length; i++) {
+                        min = Math.min(min, block[i]);
+                    }
+                    acc = min;
+                }
+                case MAX -> {
+                    int max = (int) acc;
+                    for (int i = 0; i < length; i++) {
+                        max = Math.max(max, block[i]);
+                    }
+                    acc = max;
+                }
+            }
+        }
+        result.value = acc;
+        result.count = count;
+        return result;
+    }
+
+    // Runs stage s over block[0, length) and returns how many elements are left
+    private int stage(int s, int[] block, int length) {
+        int c = constants[s];
+        int kept = 0;
+        switch (ops[s]) {
+            // Filters write every element and advance only past the ones that pass: no branch to mispredict
+            case GREATER_THAN -> {
+                for (int i = 0; i < length; i++) {
+                    int x = block[i];
+                    block[kept] = x;
+                    kept += x > c ? 1 : 0;
+                }
+                return kept;
+            }
+            case LESS_THAN -> {
+                for (int i = 0; i < length; i++) {
+                    int x = block[i];
+                    block[kept] = x;
+                    kept += x < c ? 1 : 0;
+                }
+                return kept;
+            }
+            case DIVISIBLE_BY -> {
+                for (int i = 0; i < length; i++) {
+                    int x = block[i];
+                    block[kept] = x;
+                    kept += x % c == 0 ? 1 : 0;
+                }
+                return kept;
+            }
+            case PREDICATE -> {
+                IntPredicate predicate = (IntPredicate) lambdas[s];
+                for (int i = 0; i < length; i++) {
+                    int x = block[i];
+                    block[kept] = x;
+                    kept += predicate.test(x) ? 1 : 0;
+                }
+                return kept;
+            }
+            case ADD -> {
+                for (int i = 0; i < length; i++) {
+                    block[i] += c;
+                }
+                return length;
+            }
+            case MULTIPLY -> {
+                for (int i = 0; i < length; i++) {
+                    block[i] *= c;
+                }
+                return length;
+            }
+            case OPERATOR -> {
+                IntUnaryOperator operator = (IntUnaryOperator) lambdas[s];
+                for (int i = 0; i < length; i++) {
+                    block[i] = operator.applyAsInt(block[i]);
+                }
+                return length;
+            }
+        }
+        throw new AssertionError(ops[s]);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class PipelineTask extends RecursiveTask<Result> {
+        private final IntPipeline pipeline;
+        private final int[] values;
+        private final int from;
+        private final int to;
+        private final Reduce reduce;
+
+        PipelineTask(IntPipeline pipeline, int[] values, int from, int to, Reduce reduce) {
+            this.pipeline = pipeline;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.reduce = reduce;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= PARALLEL_LEAF) {
+                return pipeline.runFused(values, from, to, reduce);
+            }
+            int mid = (from + to) >>> 1;
+            PipelineTask left = new PipelineTask(pipeline, values, from, mid, reduce);
+            left.fork();
+            Result right = new PipelineTask(pipeline, values, mid, to, reduce).compute();
+            return left.join().merge(reduce, right);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] nums = { 5, 10, 15 };
+        long streamSum = Arrays.stream(nums).filter(x -> x > 7).map(x -> x * 2).sum();
+        IntPipeline doubledAboveSeven = IntPipeline.start().filterGreaterThan(7).multiply(2);
+        System.out.println("Stream sum: " + streamSum + ", pipeline sum: " + doubledAboveSeven.sum(nums));
+
+        int[] big = new java.util.Random(42).ints(2_000_000, -1000, 1000).toArray();
+        for (Mode mode : Mode.values()) {
+            long start = System.nanoTime();
+            long sum = doubledAboveSeven.sum(big, mode);
+            System.out.printf("%-10s sum=%d in %d us%n", mode, sum, (System.nanoTime() - start) / 1_000);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("Advice for 10 elements: " + advise(10, cores) + ", for 1,000: " + advise(1_000, cores)
+                + ", for 10,000,000: " + advise(10_000_000, cores) + " (" + cores + " cores)");
+
+        /*
+         🧠 Real-Life Analogy:
+         A stream is an assembly line where every item visits each worker in turn 🏭.
+         FUSED hands each worker a whole tray of 1024 items 📥 — they do the same job 1024 times
+         in a row, which is what people and CPUs are fastest at.
+        */
+
+        // Explanation:
+        // 1. The pipeline is data (a list of stages), so it can be run in different ways.
+        // 2. FUSED works on blocks: one stage lookup per block, then a tight loop with no lambda call.
+        // 3. Filters compact the block without an if, so random data causes no branch mispredictions.
+        // 4. PARALLEL splits the array with ForkJoin; advise() picks it only when the array is big enough,
+        //    and SEQUENTIAL only when it is so small that setting up a block costs more than it saves.
+    }
+}
@@ -0,0 +1,371 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ Matrix stores a rows x cols grid of doubles in ONE flat array, row after row, instead of
+ the guide's int[][] "array of arrays". Element (i, j) sits at data[i * cols + j], so a
+ whole matrix is one object, one bounds check and one contiguous block for the cache.
+
+ Run (the SIMD path uses the incubating Vector API, so the module must be added):
+   javac --add-modules jdk.incubator.vector Matrix.java
+   java --add-modules jdk.incubator.vector Matrix
+
+ Five ways to multiply:
+   NAIVE     the textbook i-j-k triple loop; the inner loop walks down a column of B,
+             jumping a whole row ahead on every step
+   BLOCKED   i-k-j order over tiles of B that fit in the CPU cache, so every loop walks
+             memory left to right and a tile is reused by every row before moving on
+   VECTOR    BLOCKED, with the inner loop on jdk.incubator.vector: 4 or 8 fused
+             multiply-adds per instruction
+   PARALLEL  splits the rows of the result into bands with ForkJoin; each band runs VECTOR
+   AUTO      PARALLEL for big products, VECTOR otherwise
+
+ transpose() uses the same ideas: tiles of 32 x 32, and row bands on ForkJoin for PARALLEL.
+*/
+public final class Matrix {
+
+    enum Mode { NAIVE, BLOCKED, VECTOR, PARALLEL, AUTO }
+
+    // A BLOCK_K x BLOCK_J tile of B is 256 KB: it stays in L2 while every row of A uses it
+    static final int BLOCK_K = 64;
+    static final int BLOCK_J = 512;
+    static final int TRANSPOSE_TILE = 32;
+    // Below this many multiply-adds the fork/join overhead costs more than it saves
+    static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    public Matrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)]);
+    }
+
+    private Matrix(int rows, int cols, double[] data) {
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Matrix must be at least 1 x 1, got " + rows + " x " + cols);
+        }
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(rows + " x " + cols + " is too big for one array");
+        }
+        return (int) size;
+    }
+
+    /** Copies a rectangular int[][] (every row the same length) into a flat Matrix. */
+    public static Matrix of(int[][] grid) {
+        if (grid.length == 0 || grid[0].length == 0) {
+            throw new IllegalArgumentException("Grid is empty: it needs at least one row and one column");
+        }
+        Matrix m = new Matrix(grid.length, grid[0].length);
+        for (int i = 0; i < m.rows; i++) {
+            if (grid[i].length != m.cols) {
+                throw new IllegalArgumentException("Row " + i + " has " + grid[i].length + " columns, expected " + m.cols);
+            }
+            for (int j = 0; j < m.cols; j++) {
+                m.data[i * m.cols + j] = grid[i][j];
+            }
+        }
+        return m;
+    }
+
+    /** Copies a rectangular double[][] into a flat Matrix. */
+    public static Matrix of(double[][] grid) {
+        if (grid.length == 0 || grid[0].length == 0) {
+            throw new IllegalArgumentException("Grid is empty: it needs at least one row and one column");
+        }
+        Matrix m = new Matrix(grid.length, grid[0].length);
+        for (int i = 0; i < m.rows; i++) {
+            if (grid[i].length != m.cols) {
+                throw new IllegalArgumentException("Row " + i + " has " + grid[i].length + " columns, expected " + m.cols);
+            }
+            System.arraycopy(grid[i], 0, m.data, i * m.cols, m.cols);
+        }
+        return m;
+    }
+
+    /** A matrix of values in [-1, 1), the same for the same seed. */
+    public static Matrix random(int rows, int cols, long seed) {
+        Matrix m = new Matrix(rows, cols);
+        Random random = new Random(seed);
+        for (int i = 0; i < m.data.length; i++) {
+            m.data[i] = random.nextDouble() * 2 - 1;
+        }
+        return m;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public double get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, double value) {
+        data[index(row, col)] = value;
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") outside " + rows + " x " + cols);
+        }
+        return row * cols + col;
+    }
+
+    /** Copies the matrix back into the guide's array-of-rows form. */
+    public double[][] toArray() {
+        double[][] grid = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            grid[i] = Arrays.copyOfRange(data, i * cols, (i + 1) * cols);
+        }
+        return grid;
+    }
+
+    /** Largest absolute difference between two matrices of the same shape. */
+    public double maxDifference(Matrix other) {
+        if (rows != other.rows || cols != other.cols) {
+            throw new IllegalArgumentException(rows + " x " + cols + " vs " + other.rows + " x " + other.cols);
+        }
+        double max = 0;
+        for (int i = 0; i < data.length; i++) {
+            max = Math.max(max, Math.abs(data[i] - other.data[i]));
+        }
+        return max;
+    }
+
+    public Matrix multiply(Matrix other) {
+        return multiply(other, Mode.AUTO, ForkJoinPool.commonPool());
+    }
+
+    public Matrix multiply(Matrix other, Mode mode) {
+        return multiply(other, mode, ForkJoinPool.commonPool());
+    }
+
+    /** this x other. PARALLEL (and AUTO, when it goes parallel) runs on the given pool. */
+    public Matrix multiply(Matrix other, Mode mode, ForkJoinPool pool) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + " x " + cols + " by " + other.rows + " x " + other.cols);
+        }
+        Matrix result = new Matrix(rows, other.cols);
+        Mode m = mode;
+        if (m == Mode.AUTO) {
+            long work = (long) rows * cols * other.cols;
+            m = work >= PARALLEL_THRESHOLD && pool.getParallelism() > 1 && rows > 1 ? Mode.PARALLEL : Mode.VECTOR;
+        }
+        switch (m) {
+            case NAIVE -> multiplyNaive(other, result);
+            case BLOCKED -> multiplyBlocked(other, result, 0, rows, false);
+            case VECTOR -> multiplyBlocked(other, result, 0, rows, true);
+            case PARALLEL -> pool.invoke(new BandTask(0, rows, grain(rows, pool),
+                    (from, to) -> multiplyBlocked(other, result, from, to, true)));
+            case AUTO -> throw new AssertionError();
+        }
+        return result;
+    }
+
+    private void multiplyNaive(Matrix other, Matrix result) {
+        double[] a = data;
+        double[] b = other.data;
+        int n = cols;
+        int m = other.cols;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < m; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += a[i * n + k] * b[k * m + j];
+                }
+                result.data[i * m + j] = sum;
+            }
+        }
+    }
+
+    /*
+     Rows [from, to) of the result, in i-k-j order: A[i][k] is read once, then a whole
+     stretch of row k of B is added to row i of C. Both inner arrays are read left to right,
+     which is what the cache and the SIMD units want. The k and j loops are cut into tiles
+     so the tile of B is still cached when the next row of A needs it.
+    */
+    private void multiplyBlocked(Matrix other, Matrix result, int from, int to, boolean vector) {
+        double[] a = data;
+        double[] b = other.data;
+        double[] c = result.data;
+        int n = cols;
+        int m = other.cols;
+        for (int kk = 0; kk < n; kk += BLOCK_K) {
+            int kEnd = Math.min(n, kk + BLOCK_K);
+            for (int jj = 0; jj < m; jj += BLOCK_J) {
+                int jEnd = Math.min(m, jj + BLOCK_J);
+                for (int i = from; i < to; i++) {
+                    int cRow = i * m;
+                    for (int k = kk; k < kEnd; k++) {
+                        double aik = a[i * n + k];
+                        int bRow = k * m;
+                        if (vector) {
+                            addScaledVector(aik, b, bRow + jj, c, cRow + jj, jEnd - jj);
+                        } else {
+                            for (int j = jj; j < jEnd; j++) {
+                                c[cRow + j] += aik * b[bRow + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // c[cFrom .. cFrom + length) += scale * b[bFrom .. bFrom + length)
+    private static void addScaledVector(double scale, double[] b, int bFrom, double[] c, int cFrom, int length) {
+        DoubleVector s = DoubleVector.broadcast(SPECIES, scale);
+        int j = 0;
+        int upper = SPECIES.loopBound(length);
+        for (; j < upper; j += SPECIES.length()) {
+            DoubleVector cv = DoubleVector.fromArray(SPECIES, c, cFrom + j);
+            DoubleVector.fromArray(SPECIES, b, bFrom + j).fma(s, cv).intoArray(c, cFrom + j);
+        }
+        for (; j < length; j++) {
+            c[cFrom + j] += scale * b[bFrom + j];
+        }
+    }
+
+    public Matrix transpose() {
+        return transpose(Mode.AUTO, ForkJoinPool.commonPool());
+    }
+
+    /** NAIVE copies element by element; every other mode copies 32 x 32 tiles (PARALLEL on the pool). */
+    public Matrix transpose(Mode mode, ForkJoinPool pool) {
+        Matrix result = new Matrix(cols, rows);
+        Mode m = mode;
+        if (m == Mode.AUTO) {
+            m = (long) rows * cols >= PARALLEL_THRESHOLD && pool.getParallelism() > 1 ? Mode.PARALLEL : Mode.BLOCKED;
+        }
+        if (m == Mode.NAIVE) {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    result.data[j * rows + i] = data[i * cols + j];
+                }
+            }
+        } else if (m == Mode.PARALLEL) {
+            pool.invoke(new BandTask(0, rows, Math.max(TRANSPOSE_TILE, grain(rows, pool)),
+                    (from, to) -> transposeBlocked(result, from, to)));
+        } else {
+            transposeBlocked(result, 0, rows);
+        }
+        return result;
+    }
+
+    /*
+     Reading rows and writing columns means one side always strides through memory. Copying
+     tile by tile keeps both the 32 source rows and the 32 target rows in the cache.
+    */
+    private void transposeBlocked(Matrix result, int from, int to) {
+        double[] t = result.data;
+        for (int ii = from; ii < to; ii += TRANSPOSE_TILE) {
+            int iEnd = Math.min(to, ii + TRANSPOSE_TILE);
+            for (int jj = 0; jj < cols; jj += TRANSPOSE_TILE) {
+                int jEnd = Math.min(cols, jj + TRANSPOSE_TILE);
+                for (int i = ii; i < iEnd; i++) {
+                    for (int j = jj; j < jEnd; j++) {
+                        t[j * rows + i] = data[i * cols + j];
+                    }
+                }
+            }
+        }
+    }
+
+    // About four bands per worker, so a slow band does not leave the other cores idle
+    private static int grain(int rows, ForkJoinPool pool) {
+        return Math.max(1, rows / (pool.getParallelism() * 4));
+    }
+
+    @FunctionalInterface
+    interface Band {
+        void run(int from, int to);
+    }
+
+    /** Splits [from, to) in half until a band has at most grain rows, then runs it. */
+    @SuppressWarnings("serial")
+    private static final class BandTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final Band band;
+
+        BandTask(int from, int to, int grain, Band band) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.band = band;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                band.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BandTask(from, mid, grain, band), new BandTask(mid, to, grain, band));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            text.append(Arrays.toString(Arrays.copyOfRange(data, i * cols, (i + 1) * cols))).append('\n');
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) {
+        // The guide's 2D arrays, multiplied: a 2x3 grid times a 3x2 grid
+        int[][] left = { { 1, 2, 3 }, { 4, 5, 6 } };
+        int[][] right = { { 7, 8 }, { 9, 10 }, { 11, 12 } };
+        Matrix product = Matrix.of(left).multiply(Matrix.of(right));
+        System.out.print("Product:\n" + product);
+        System.out.print("Transposed:\n" + product.transpose());
+
+        // The same 512 x 512 product five ways; all must agree
+        Matrix a = Matrix.random(512, 512, 1);
+        Matrix b = Matrix.random(512, 512, 2);
+        Matrix expected = a.multiply(b, Mode.NAIVE);
+        for (Mode mode : Mode.values()) {
+            long start = System.nanoTime();
+            Matrix c = a.multiply(b, mode);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("%-8s %5d ms, max difference from NAIVE %.2e%n", mode, millis, c.maxDifference(expected));
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         An int[][] is a filing cabinet where every drawer is in a different room 🚪 —
+         reading a column means walking to every room. Matrix keeps all drawers in one cabinet,
+         and the blocked multiply finishes everything it needs from one shelf 📚 before walking on.
+        */
+
+        // Explanation:
+        // 1. Element (i, j) lives at data[i * cols + j]: one array, no per-row objects.
+        // 2. NAIVE reads B down a column, a cache miss per step once B is big.
+        // 3. BLOCKED reorders the loops (i-k-j) and works on cache-sized tiles of B.
+        // 4. VECTOR does 4 or 8 multiply-adds per instruction; PARALLEL gives each core a band of rows.
+        // 5. Results can differ in the last bits: fused multiply-add rounds once instead of twice.
+    }
+}
@@ -0,0 +1,251 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+ SegmentedIntArray is a growable int array that never copies its elements to grow.
+
+ Run:
+   javac SegmentedIntArray.java
+   java SegmentedIntArray
+
+ The guide's "Resizing cost" note: a full array has to be copied into a bigger one, and
+ ArrayList does the same on every capacity step. Here the values live in fixed-size
+ segments (8192 ints by default). When the last one is full, a new segment is added and
+ the old ones stay where they are:
+
+   directory ─┬─> [ 0 .. 8191 ]
+              ├─> [ 8192 .. 16383 ]
+              └─> [ 16384 .. ]        <- appends go here
+
+ Only the directory (one reference per segment) is ever copied, and it is 8192 times
+ smaller than the data. Element i is segments[i >>> shift][i & mask]: a shift and a mask,
+ because the segment size is a power of two.
+
+ clear() hands the segments back to a SegmentPool, so a buffer that fills and drains
+ over and over reuses the same memory instead of leaving work for the garbage collector.
+*/
+public final class SegmentedIntArray {
+
+    static final int DEFAULT_SEGMENT_SIZE = 8192;
+
+    /**
+     Spare segments of one size, shared by any number of arrays. Thread-safe, so arrays on
+     different threads can share it; a lock per segment is cheap next to filling 8192 ints.
+    */
+    public static final class SegmentPool {
+        private final int segmentSize;
+        private final int maxPooled;
+        private final ArrayDeque<int[]> free = new ArrayDeque<>();
+        private long created;
+
+        public SegmentPool(int segmentSize, int maxPooled) {
+            if (Integer.bitCount(segmentSize) != 1) {
+                throw new IllegalArgumentException("Segment size must be a power of two: " + segmentSize);
+            }
+            this.segmentSize = segmentSize;
+            this.maxPooled = maxPooled;
+        }
+
+        public int segmentSize() {
+            return segmentSize;
+        }
+
+        synchronized int[] take() {
+            int[] segment = free.pollLast();
+            if (segment == null) {
+                created++;
+                segment = new int[segmentSize];
+            }
+            return segment;
+        }
+
+        // Old contents are not cleared: an array only reads slots it has written
+        synchronized void give(int[] segment) {
+            if (free.size() < maxPooled) {
+                free.addLast(segment);
+            }
+        }
+
+        /** Segments allocated so far, pooled or not. */
+        public synchronized long created() {
+            return created;
+        }
+
+        public synchronized int pooled() {
+            return free.size();
+        }
+    }
+
+    private final SegmentPool pool;
+    private final int shift;
+    private final int mask;
+    private int[][] segments = new int[4][];
+    private int segmentCount;
+    private int size;
+
+    /** An array with its own pool, which keeps up to 16 spare segments after clear(). */
+    public SegmentedIntArray() {
+        this(new SegmentPool(DEFAULT_SEGMENT_SIZE, 16));
+    }
+
+    public SegmentedIntArray(SegmentPool pool) {
+        this.pool = pool;
+        this.shift = Integer.numberOfTrailingZeros(pool.segmentSize());
+        this.mask = pool.segmentSize() - 1;
+    }
+
+    public void add(int value) {
+        int offset = size & mask;
+        if (offset == 0 && size >>> shift == segmentCount) {
+            addSegment();
+        }
+        segments[size >>> shift][offset] = value;
+        size++;
+    }
+
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /** Appends values[from, from + length) with one arraycopy per segment touched. */
+    public void addAll(int[] values, int from, int length) {
+        if (from < 0 || length < 0 || length > values.length - from) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + length) + ") out of bounds for length " + values.length);
+        }
+        if ((long) size + length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Array would exceed " + Integer.MAX_VALUE + " elements");
+        }
+        while (length > 0) {
+            int offset = size & mask;
+            if (offset == 0 && size >>> shift == segmentCount) {
+                addSegment();
+            }
+            int n = Math.min(length, mask + 1 - offset);
+            System.arraycopy(values, from, segments[size >>> shift], offset, n);
+            size += n;
+            from += n;
+            length -= n;
+        }
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return segments[index >>> shift][index & mask];
+    }
+
+    public void set(int index, int value) {
+        checkIndex(index);
+        segments[index >>> shift][index & mask] = value;
+    }
+
+    public int removeLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Array is empty");
+        }
+        size--;
+        return segments[size >>> shift][size & mask];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Copies elements [from, from + length) into dest, one arraycopy per segment. */
+    public void copyTo(int from, int[] dest, int destPos, int length) {
+        if (from < 0 || length < 0 || length > size - from) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + length) + ") out of bounds for size " + size);
+        }
+        while (length > 0) {
+            int offset = from & mask;
+            int n = Math.min(length, mask + 1 - offset);
+            System.arraycopy(segments[from >>> shift], offset, dest, destPos, n);
+            from += n;
+            destPos += n;
+            length -= n;
+        }
+    }
+
+    public int[] toArray() {
+        int[] copy = new int[size];
+        copyTo(0, copy, 0, size);
+        return copy;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int s = 0, remaining = size; remaining > 0; s++) {
+            int[] segment = segments[s];
+            int n = Math.min(remaining, segment.length);
+            for (int i = 0; i < n; i++) {
+                action.accept(segment[i]);
+            }
+            remaining -= n;
+        }
+    }
+
+    /** Empties the array and returns its segments to the pool. */
+    public void clear() {
+        for (int s = 0; s < segmentCount; s++) {
+            pool.give(segments[s]);
+            segments[s] = null;
+        }
+        segmentCount = 0;
+        size = 0;
+    }
+
+    private void addSegment() {
+        if (segmentCount == segments.length) {
+            // Only the directory grows by copying: one reference per segment
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+        }
+        segments[segmentCount++] = pool.take();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return size <= 32 ? Arrays.toString(toArray()) : "SegmentedIntArray[size=" + size + ", segments=" + segmentCount + "]";
+    }
+
+    public static void main(String[] args) {
+        // Small segments so the demo shows several of them
+        SegmentPool pool = new SegmentPool(4, 8);
+        SegmentedIntArray readings = new SegmentedIntArray(pool);
+        for (int i = 1; i <= 6; i++) {
+            readings.add(i * 10);
+        }
+        readings.addAll(new int[] { 70, 80, 90, 100, 110 });
+        System.out.println("Readings: " + readings + " in " + pool.created() + " segments, none copied");
+
+        int[] lastFive = new int[5];
+        readings.copyTo(readings.size() - 5, lastFive, 0, 5);
+        System.out.println("Last five: " + Arrays.toString(lastFive));
+
+        // Drain and refill: the second batch reuses the pooled segments
+        readings.clear();
+        readings.addAll(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+        System.out.println("Refilled: " + readings + ", segments ever created: " + pool.created());
+
+        /*
+         🧠 Real-Life Analogy:
+         A doubling array is a bookshelf that is full — you buy a shelf twice as big and move every book 📚.
+         SegmentedIntArray just adds another small shelf next to the old ones and keeps going.
+         The pool is the storeroom 🏬 where empty shelves wait to be used again.
+        */
+
+        // Explanation:
+        // 1. Values live in fixed-size segments; growing adds a segment and never moves old values.
+        // 2. get(i) finds the segment with i >>> shift and the slot with i & mask.
+        // 3. addAll and copyTo move whole runs with System.arraycopy, one call per segment.
+        // 4. clear() returns segments to the pool, so refilling allocates nothing new.
+    }
+}
@@ -0,0 +1,439 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ LineServer answers every line a client sends with "Echo: <line>", the protocol of the
+ ServerSocket example in 01_Core_Java_Fundamentals/04_Input_Output/01_Input_Output.md,
+ in three concurrency models:
+
+   THREAD    one platform (OS) thread per connection, blocking reads and writes
+   VIRTUAL   one virtual thread per connection (Executors.newVirtualThreadPerTaskExecutor),
+             the same blocking code, but parked threads cost a few KB of heap instead of
+             an OS thread with its own stack
+   SELECTOR  a single thread and a java.nio Selector: non-blocking channels, and the
+             thread only touches connections that are ready to read or write
+
+ Run (Java 21+):
+   javac LineServer.java
+   java LineServer virtual 9000         (mode, port; then: nc 127.0.0.1 9000)
+   java LineServer                      (demo: starts each mode and talks to it)
+
+ Lines are handled as bytes: a connection keeps a small input buffer, finds '\n', and
+ writes all replies for one read with a single write call. A line longer than
+ MAX_LINE bytes closes the connection. The server listens on the loopback address only.
+*/
+public final class LineServer implements AutoCloseable {
+
+    enum Mode { THREAD, VIRTUAL, SELECTOR }
+
+    static final int MAX_LINE = 8 * 1024;
+    // Buffers start small and grow up to MAX_LINE, so 50,000 idle connections stay cheap
+    static final int INITIAL_BUFFER = 512;
+    // Pending connections the OS may queue before accept(); Linux caps this at net.core.somaxconn
+    static final int BACKLOG = 4096;
+    // After a failed accept (usually "Too many open files"), wait this long before trying again,
+    // doubling it for each failure in a row up to MAX_ACCEPT_PAUSE_MILLIS
+    static final long ACCEPT_PAUSE_MILLIS = 20;
+    static final long MAX_ACCEPT_PAUSE_MILLIS = 1_000;
+    private static final byte[] PREFIX = "Echo: ".getBytes(StandardCharsets.US_ASCII);
+
+    private final Mode mode;
+    private final int requestedPort;
+    private final LongAdder lines = new LongAdder();
+    private final Set<AutoCloseable> open = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private Thread acceptor;
+    private ExecutorService handlers;
+    private ServerSocket serverSocket;
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private SelectionKey acceptKey;
+    // SELECTOR only: when accepting resumes after a failed accept, or 0 while accepting normally
+    private long acceptPausedUntil;
+    private int acceptFailures;
+    private int port;
+
+    public LineServer(Mode mode, int port) {
+        this.mode = mode;
+        this.requestedPort = port;
+    }
+
+    /** Binds to 127.0.0.1 (port 0 picks a free port) and starts accepting. */
+    public LineServer start() throws IOException {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort);
+        running = true;
+        if (mode == Mode.SELECTOR) {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(address, BACKLOG);
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            port = serverChannel.socket().getLocalPort();
+            acceptor = Thread.ofPlatform().name("line-server-selector").start(this::selectLoop);
+        } else {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(address, BACKLOG);
+            port = serverSocket.getLocalPort();
+            handlers = mode == Mode.VIRTUAL
+                    ? Executors.newVirtualThreadPerTaskExecutor()
+                    : Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("line-server-", 0).factory());
+            acceptor = Thread.ofPlatform().name("line-server-acceptor").start(this::acceptLoop);
+        }
+        return this;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /** Lines answered so far. */
+    public long lines() {
+        return lines.sum();
+    }
+
+    // ---- THREAD and VIRTUAL: blocking accept, one thread per connection ----
+
+    private void acceptLoop() {
+        int failures = 0;
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+                failures = 0;
+            } catch (IOException e) {
+                if (!running || serverSocket.isClosed()) {
+                    break;
+                }
+                // A persistent error such as EMFILE would otherwise turn this into a busy loop
+                long pause = acceptFailed(++failures, e);
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                continue;
+            }
+            try {
+                handlers.execute(() -> serve(socket));
+            } catch (RuntimeException | OutOfMemoryError e) {
+                // Typically "unable to create native thread": the THREAD model has run out of OS threads
+                System.err.println(mode + " could not start a handler: " + e);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        open.add(socket);
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = socket.getInputStream();
+            OutputStream out = socket.getOutputStream();
+            Connection connection = new Connection();
+            int n;
+            while ((n = in.read(connection.in, connection.inLength, connection.in.length - connection.inLength)) > 0) {
+                connection.inLength += n;
+                if (!connection.process()) {
+                    break;
+                }
+                ByteBuffer reply = connection.out.flip();
+                out.write(reply.array(), 0, reply.limit());
+                reply.clear();
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up beyond closing the socket
+        } finally {
+            open.remove(socket);
+        }
+    }
+
+    // ---- SELECTOR: one thread, non-blocking channels ----
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                if (acceptPausedUntil != 0) {
+                    long wait = (acceptPausedUntil - System.nanoTime()) / 1_000_000;
+                    if (wait <= 0) {
+                        acceptPausedUntil = 0;
+                        acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+                    } else {
+                        selector.select(wait);
+                    }
+                }
+                if (acceptPausedUntil == 0) {
+                    selector.select();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else if (key.isReadable()) {
+                            read(key);
+                        } else if (key.isWritable()) {
+                            write(key);
+                        }
+                    } catch (IOException e) {
+                        closeKey(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                throw new UncheckedIOException(new IOException("Selector loop stopped", e));
+            }
+        } finally {
+            closeSelector();
+        }
+    }
+
+    // Runs on the selector thread once the loop ends: keys() must not be walked while another thread registers
+    private void closeSelector() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+        } catch (ClosedSelectorException e) {
+            // Already closed; its channels went with it
+        }
+        closeQuietly(selector);
+        closeQuietly(serverChannel);
+    }
+
+    // Errors are handled here, not in selectLoop's catch: that one closes the key, and for the
+    // listening channel that would stop the server accepting for good
+    private void accept() {
+        // Drain the backlog: one wake-up may stand for many new connections
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                // Usually EMFILE; the connection stays queued, so stop asking for OP_ACCEPT for a while
+                long pause = acceptFailed(++acceptFailures, e);
+                acceptKey.interestOps(0);
+                acceptPausedUntil = System.nanoTime() + pause * 1_000_000;
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            acceptFailures = 0;
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.register(selector, SelectionKey.OP_READ, new Connection());
+            } catch (IOException e) {
+                System.err.println("could not set up a connection: " + e.getMessage());
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer in = ByteBuffer.wrap(connection.in, connection.inLength, connection.in.length - connection.inLength);
+        int n = channel.read(in);
+        if (n < 0 || (n > 0 && !connection.received(n))) {
+            closeKey(key);
+            return;
+        }
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer out = ((Connection) key.attachment()).out;
+        out.flip();
+        channel.write(out);
+        if (out.hasRemaining()) {
+            // The client is not reading fast enough: stop reading from it until the replies are out
+            out.compact();
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else {
+            out.clear();
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    // Logs a failed accept and returns how long to wait before the next one
+    private static long acceptFailed(int failures, IOException e) {
+        long pause = Math.min(MAX_ACCEPT_PAUSE_MILLIS, ACCEPT_PAUSE_MILLIS << Math.min(failures - 1, 10));
+        System.err.println("accept failed (" + failures + " in a row), retrying in " + pause + " ms: " + e.getMessage());
+        return pause;
+    }
+
+    private static void closeKey(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    /** Per-connection buffers and the line protocol itself, shared by all three modes. */
+    private final class Connection {
+        byte[] in = new byte[INITIAL_BUFFER];
+        int inLength;
+        ByteBuffer out = ByteBuffer.allocate(INITIAL_BUFFER);
+
+        boolean received(int n) {
+            inLength += n;
+            return process();
+        }
+
+        /** Answers every complete line in the input buffer; false if a line is too long. */
+        boolean process() {
+            int start = 0;
+            for (int i = 0; i < inLength; i++) {
+                if (in[i] == '\n') {
+                    int end = i > start && in[i - 1] == '\r' ? i - 1 : i;
+                    ensure(PREFIX.length + (end - start) + 1);
+                    out.put(PREFIX).put(in, start, end - start).put((byte) '\n');
+                    lines.increment();
+                    start = i + 1;
+                }
+            }
+            System.arraycopy(in, start, in, 0, inLength - start);
+            inLength -= start;
+            if (inLength == in.length) {
+                if (in.length >= MAX_LINE) {
+                    return false;
+                }
+                in = Arrays.copyOf(in, Math.min(MAX_LINE, in.length * 2));
+            }
+            return true;
+        }
+
+        private void ensure(int room) {
+            if (out.remaining() < room) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + room));
+                out = bigger.put(out.flip());
+            }
+        }
+    }
+
+    /** Stops the server; safe to call even if start() never ran or failed partway. */
+    @Override
+    public void close() {
+        running = false;
+        if (mode == Mode.SELECTOR) {
+            if (acceptor != null) {
+                // The selector thread closes its own channels on the way out
+                selector.wakeup();
+            } else if (selector != null) {
+                closeSelector();
+            } else {
+                closeQuietly(serverChannel);
+            }
+        } else {
+            closeQuietly(serverSocket);
+            for (AutoCloseable socket : open) {
+                closeQuietly(socket);
+            }
+            if (handlers != null) {
+                handlers.shutdownNow();
+            }
+        }
+        if (acceptor != null) {
+            try {
+                acceptor.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            if (resource != null) {
+                resource.close();
+            }
+        } catch (Exception e) {
+            // Closing during shutdown; the other side may already be gone
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1) {
+            Mode mode = Mode.valueOf(args[0].toUpperCase());
+            int port = args.length >= 2 ? Integer.parseInt(args[1]) : 9000;
+            LineServer server = new LineServer(mode, port).start();
+            System.out.println(mode + " line server on 127.0.0.1:" + server.port() + " (Ctrl+C to stop)");
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            Thread.currentThread().join();
+        }
+
+        for (Mode mode : Mode.values()) {
+            try (LineServer server = new LineServer(mode, 0).start();
+                 Socket client = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+                OutputStream out = client.getOutputStream();
+                InputStream in = client.getInputStream();
+                out.write("Hello, server\nHow are you?\n".getBytes());
+                byte[] reply = new byte[256];
+                int length = 0;
+                while (count(reply, length, (byte) '\n') < 2) {
+                    int n = in.read(reply, length, reply.length - length);
+                    if (n < 0) {
+                        throw new IOException(mode + " server closed the connection");
+                    }
+                    length += n;
+                }
+                System.out.print(mode + " replied:\n" + new String(reply, 0, length));
+            }
+        }
+
+        /*
+         🧠 Real-Life Analogy:
+         THREAD is a restaurant with one waiter per table 🍽️ — great until there are 10,000 tables.
+         VIRTUAL gives every table a waiter who vanishes while the guests read the menu, so waiters are cheap.
+         SELECTOR is one very fast waiter who only walks to tables that have raised a hand ✋.
+        */
+
+        // Explanation:
+        // 1. All three modes share the same Connection code: find '\n', reply "Echo: <line>", one write per read.
+        // 2. THREAD blocks an OS thread per client; each costs a native stack and kernel scheduling.
+        // 3. VIRTUAL runs the same blocking code on virtual threads, which unmount from the carrier while waiting.
+        // 4. SELECTOR uses non-blocking channels and a single thread that reacts to ready events.
+        // 5. LineLoadGenerator.java in this folder measures latency and throughput for each mode.
+    }
+
+    private static int count(byte[] bytes, int length, byte value) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+}